@@ -0,0 +1,114 @@
+package com.playerdbmicroservice.service;
+
+import ch.qos.logback.classic.Level;
+import com.playerdbmicroservice.PlayerDbMicroserviceApplication;
+import com.playerdbmicroservice.csv.PlayerCsvParser;
+import com.playerdbmicroservice.entity.Player;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared fixtures of the benchmarks: the bundled player file and the application context they run against.
+ */
+final class BenchmarkSupport {
+
+    /**
+     * Number of records after the header of Player.csv, including the one with an invalid player ID.
+     */
+    static final int ROWS = 19370;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Reads the bundled player file into memory, so benchmarks measure parsing rather than I/O.
+     *
+     * @return the content of Player.csv, including its header row
+     */
+    static String readCsv() throws IOException {
+        String csv;
+        try (InputStream input = BenchmarkSupport.class.getResourceAsStream("/Player.csv")) {
+            csv = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        if (csv.split("\n").length - 1 != ROWS) {
+            throw new IllegalStateException("Player.csv no longer has " + ROWS + " records");
+        }
+        return csv;
+    }
+
+    /**
+     * Parses the valid players of the bundled player file the way a reload does.
+     *
+     * @return the players in file order
+     */
+    static List<Player> readPlayers() throws IOException {
+        silenceLoaderLogging();
+        CSVLoaderService csvLoaderService = new CSVLoaderService();
+        List<Player> players = new ArrayList<>(ROWS);
+        try (PlayerCsvParser parser = new PlayerCsvParser(new StringReader(readCsv()))) {
+            parser.next();
+            while (parser.next()) {
+                Player player = csvLoaderService.processRecord(parser);
+                if (player != null) {
+                    players.add(player);
+                }
+            }
+        }
+        return players;
+    }
+
+    /**
+     * Silences the per-record error logging of the CSV loader, which would otherwise be measured along with
+     * the single invalid record of the player file.
+     */
+    static void silenceLoaderLogging() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(CSVLoaderService.class)).setLevel(Level.OFF);
+    }
+
+    /**
+     * Starts the application with its embedded H2 database, without the web server, SQL logging or the
+     * outbox relay, so benchmarks can use its beans as configured in production without a Kafka broker.
+     * The benchmarks are compiled with the tests, so the test configurations on the classpath are excluded
+     * from component scanning as well.
+     *
+     * @param profiles the profiles to activate, e.g. {@code prod}
+     * @return the running application context, to be closed by the caller
+     */
+    static ConfigurableApplicationContext startApplication(String... profiles) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(PlayerDbMicroserviceApplication.class)
+                .profiles(profiles)
+                .web(WebApplicationType.NONE)
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .registerSingleton("benchmarkExcludeFilter", new BenchmarkExcludeFilter()))
+                .properties("spring.main.banner-mode=off",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        silenceLoaderLogging();
+        return context;
+    }
+
+    /**
+     * Excludes the outbox relay and every class compiled into the test output directory from component scanning.
+     */
+    private static final class BenchmarkExcludeFilter extends TypeExcludeFilter {
+
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) throws IOException {
+            return OutboxRelayService.class.getName().equals(metadataReader.getClassMetadata().getClassName())
+                    || metadataReader.getResource().getURL().getPath().contains("/test-classes/");
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.playerdbmicroservice.service;
+
+import com.opencsv.CSVReader;
+import com.playerdbmicroservice.csv.PlayerCsvParser;
+import com.playerdbmicroservice.entity.Handedness;
+import com.playerdbmicroservice.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing the bundled player file into {@link Player} entities with OpenCSV and the previous
+ * {@code String[]} based mapping against {@link PlayerCsvParser} and {@link CSVLoaderService#processRecord}.
+ * Scores are per CSV row; run with {@code -prof gc} to also get the bytes allocated per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvParsingBenchmark {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private String csv;
+
+    private CSVLoaderService csvLoaderService;
+
+    @Setup
+    public void setUp() throws IOException {
+        csv = BenchmarkSupport.readCsv();
+        csvLoaderService = new CSVLoaderService();
+        BenchmarkSupport.silenceLoaderLogging();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkSupport.ROWS)
+    public void openCsv(Blackhole blackhole) throws Exception {
+        try (CSVReader reader = new CSVReader(new StringReader(csv))) {
+            reader.skip(1);
+            String[] record;
+            while ((record = reader.readNext()) != null) {
+                blackhole.consume(record[0].trim().isEmpty() ? null : toPlayer(record));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkSupport.ROWS)
+    public void playerCsvParser(Blackhole blackhole) throws IOException {
+        try (PlayerCsvParser parser = new PlayerCsvParser(new StringReader(csv))) {
+            parser.next();
+            while (parser.next()) {
+                blackhole.consume(csvLoaderService.processRecord(parser));
+            }
+        }
+    }
+
+    /**
+     * The mapping used with OpenCSV before {@link PlayerCsvParser}: every field is a String and typed
+     * values are parsed from it.
+     */
+    private static Player toPlayer(String[] record) {
+        Player player = new Player();
+        player.setPlayerID(record[0]);
+        player.setBirthYear(toShort(record[1]));
+        player.setBirthMonth(toByte(record[2]));
+        player.setBirthDay(toByte(record[3]));
+        player.setBirthCountry(record[4]);
+        player.setBirthState(record[5]);
+        player.setBirthCity(record[6]);
+        player.setDeathYear(toShort(record[7]));
+        player.setDeathMonth(toByte(record[8]));
+        player.setDeathDay(toByte(record[9]));
+        player.setDeathCountry(record[10]);
+        player.setDeathState(record[11]);
+        player.setDeathCity(record[12]);
+        player.setNameFirst(record[13]);
+        player.setNameLast(record[14]);
+        player.setNameGiven(record[15]);
+        player.setWeight(toShort(record[16]));
+        player.setHeight(toShort(record[17]));
+        player.setBats(record[18].isEmpty() ? null : Handedness.valueOf(record[18]));
+        player.setThrowsHand(record[19].isEmpty() ? null : Handedness.valueOf(record[19]));
+        player.setDebut(record[20].isEmpty() ? null : LocalDate.parse(record[20]));
+        player.setFinalGame(record[21].isEmpty() ? null : LocalDate.parse(record[21]));
+        player.setRetroID(record[22]);
+        player.setBbrefID(record[23]);
+        player.setContentHash(hash(record));
+        return player;
+    }
+
+    private static Short toShort(String value) {
+        return value.isEmpty() ? null : Short.parseShort(value);
+    }
+
+    private static Byte toByte(String value) {
+        return value.isEmpty() ? null : Byte.parseByte(value);
+    }
+
+    private static long hash(String[] record) {
+        long hash = FNV_OFFSET_BASIS;
+        for (String field : record) {
+            for (int i = 0; i < field.length(); i++) {
+                hash = (hash ^ field.charAt(i)) * FNV_PRIME;
+            }
+            hash = (hash ^ field.length()) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,85 @@
+package com.playerdbmicroservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playerdbmicroservice.controller.PlayerPageResponse;
+import com.playerdbmicroservice.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serializing players to JSON with the application's configured {@link ObjectMapper}, for a single
+ * player as returned by ID and for pages of 50 and 1000 players as returned by the keyset listing. Runs with the
+ * default configuration, which indents JSON and writes null fields, and with the {@code prod} profile, which
+ * writes compact JSON without nulls through Blackbird.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private static final int LARGE_PAGE_SIZE = 1000;
+
+    @Param({"default", "prod"})
+    private String profile;
+
+    private ConfigurableApplicationContext context;
+
+    private ObjectMapper objectMapper;
+
+    private Player player;
+
+    private PlayerPageResponse page;
+
+    private PlayerPageResponse largePage;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = "default".equals(profile) ? BenchmarkSupport.startApplication() : BenchmarkSupport.startApplication(profile);
+        objectMapper = context.getBean(ObjectMapper.class);
+        List<Player> players = BenchmarkSupport.readPlayers();
+        player = players.get(0);
+        page = new PlayerPageResponse(players.subList(0, PAGE_SIZE), "next-cursor");
+        largePage = new PlayerPageResponse(players.subList(0, LARGE_PAGE_SIZE), "next-cursor");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] player() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(player);
+    }
+
+    @Benchmark
+    public byte[] page() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] largePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(largePage);
+    }
+}
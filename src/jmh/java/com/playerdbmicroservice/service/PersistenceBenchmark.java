@@ -0,0 +1,124 @@
+package com.playerdbmicroservice.service;
+
+import com.playerdbmicroservice.entity.Player;
+import com.playerdbmicroservice.repository.PlayerRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the database side of the ingest and read paths against the application's embedded H2 database,
+ * which is loaded with the bundled player file once per trial. Since the stored players match the file, a
+ * reload finds no changes. Scores of the write benchmarks and of reading the whole table are per player.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final int SLICE_SIZE = 50;
+
+    private ConfigurableApplicationContext context;
+
+    private PlayerRepository playerRepository;
+
+    private PlayerService playerService;
+
+    private CSVLoaderService csvLoaderService;
+
+    private List<Player> players;
+
+    private int nextBatch;
+
+    private int nextSlice;
+
+    private int nextLookup;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = BenchmarkSupport.startApplication();
+        playerRepository = context.getBean(PlayerRepository.class);
+        playerService = context.getBean(PlayerService.class);
+        csvLoaderService = context.getBean(CSVLoaderService.class);
+        players = BenchmarkSupport.readPlayers();
+        playerRepository.upsertAll(players);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Bulk upserts the next batch of players, cycling through the whole file, the way a reload writes changed rows.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void upsertBatch() {
+        if (nextBatch + BATCH_SIZE > players.size()) {
+            nextBatch = 0;
+        }
+        int from = nextBatch;
+        nextBatch += BATCH_SIZE;
+        playerRepository.upsertAll(players.subList(from, from + BATCH_SIZE));
+    }
+
+    /**
+     * Runs a complete incremental reload of the unchanged player file: parsing, hash comparison, ID staging
+     * and the sweep for deleted players.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkSupport.ROWS)
+    public void reloadUnchanged() {
+        csvLoaderService.reloadCSV(new ReloadJob());
+    }
+
+    /**
+     * Reads every player of the table into entities. Run with {@code -prof gc} to get the bytes allocated per
+     * player read, which include converting the typed columns.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkSupport.ROWS - 1)
+    public List<Player> readAll() {
+        return playerRepository.findAll();
+    }
+
+    /**
+     * Looks up the next player by ID, cycling through the table, as a cache miss of the player cache does.
+     */
+    @Benchmark
+    public Optional<Player> lookup() {
+        nextLookup = nextLookup + 1 == players.size() ? 0 : nextLookup + 1;
+        return playerRepository.findById(players.get(nextLookup).getPlayerID());
+    }
+
+    /**
+     * Reads the next slice of players by ID, cycling through the table, as the paginated listing does.
+     */
+    @Benchmark
+    public PlayerSlice readSlice() {
+        int from = nextSlice;
+        nextSlice = from + SLICE_SIZE >= players.size() ? 0 : from + SLICE_SIZE;
+        return playerService.getPlayersAfter(players.get(from).getPlayerID(), SLICE_SIZE);
+    }
+}
@@ -0,0 +1,99 @@
+package com.playerdbmicroservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playerdbmicroservice.entity.OutboxMessage;
+import com.playerdbmicroservice.entity.Player;
+import com.playerdbmicroservice.event.PlayerEvent;
+import com.playerdbmicroservice.event.PlayerEventCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the Kafka messages of a reload: diffing the players into a {@link PlayerEvent} and
+ * encoding it into the outbox message that is relayed to the players topic, plus decoding on the consumer side.
+ * The baseline is the JSON document of the player written by the object mapper of spring-kafka's
+ * {@code JsonSerializer}, which the players topic was sent with before. The average size of each message over
+ * all players of the bundled file is printed once per fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerEventBenchmark {
+
+    private final CSVLoaderService csvLoaderService = new CSVLoaderService();
+
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+
+    private Player player;
+
+    private Player renamed;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Player> players = BenchmarkSupport.readPlayers();
+        player = players.get(0);
+        renamed = BenchmarkSupport.readPlayers().get(0);
+        renamed.setNameLast(player.getNameLast() + "-Smith");
+        encoded = PlayerEventCodec.encode(PlayerEvent.created(player));
+        printMessageSizes(players);
+    }
+
+    /**
+     * Writes the player as the JSON document previously sent on the players topic.
+     */
+    @Benchmark
+    public byte[] jsonMessage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(player);
+    }
+
+    @Benchmark
+    public OutboxMessage createdMessage() {
+        return csvLoaderService.playerEventMessage(PlayerEvent.created(player));
+    }
+
+    @Benchmark
+    public OutboxMessage updatedMessage() {
+        return csvLoaderService.playerEventMessage(PlayerEvent.updated(player, renamed));
+    }
+
+    @Benchmark
+    public PlayerEvent decode() {
+        return PlayerEventCodec.decode(encoded);
+    }
+
+    private void printMessageSizes(List<Player> players) throws IOException {
+        List<Player> renamedPlayers = BenchmarkSupport.readPlayers();
+        long json = 0;
+        long created = 0;
+        long updated = 0;
+        for (int i = 0; i < players.size(); i++) {
+            Player original = players.get(i);
+            Player changed = renamedPlayers.get(i);
+            changed.setNameLast(original.getNameLast() + "-Smith");
+            json += objectMapper.writeValueAsBytes(original).length;
+            created += PlayerEventCodec.encode(PlayerEvent.created(original)).length;
+            updated += PlayerEventCodec.encode(PlayerEvent.updated(original, changed)).length;
+        }
+        System.out.printf("Average message bytes over %d players: JSON %d, CREATED %d, UPDATED of one field %d%n",
+                players.size(), json / players.size(), created / players.size(), updated / players.size());
+    }
+}
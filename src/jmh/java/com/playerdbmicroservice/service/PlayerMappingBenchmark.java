@@ -0,0 +1,65 @@
+package com.playerdbmicroservice.service;
+
+import com.playerdbmicroservice.csv.PlayerCsvParser;
+import com.playerdbmicroservice.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures mapping one already scanned CSV record to a {@link Player}: the field validation and conversion of
+ * {@link CSVLoaderService#processRecord} including {@code populatePlayerFields}, and the content hash.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerMappingBenchmark {
+
+    private static final String LIVING_RECORD = "aardsda01,1981,12,27,USA,CO,Denver,,,,,,,David,Aardsma,"
+            + "David Allan,215,75,R,R,2004-04-06,2015-08-23,aardd001,aardsda01";
+
+    private static final String DECEASED_RECORD = "abadijo01,1850,11,4,USA,PA,Philadelphia,1905,5,17,USA,NJ,"
+            + "Pemberton,John,Abadie,John W.,192,72,R,R,1875-04-26,1875-06-10,abadj101,abadijo01";
+
+    private final CSVLoaderService csvLoaderService = new CSVLoaderService();
+
+    private PlayerCsvParser living;
+
+    private PlayerCsvParser deceased;
+
+    @Setup
+    public void setUp() throws IOException {
+        living = scan(LIVING_RECORD);
+        deceased = scan(DECEASED_RECORD);
+    }
+
+    @Benchmark
+    public Player processRecord() {
+        return csvLoaderService.processRecord(living);
+    }
+
+    @Benchmark
+    public Player processRecordWithDeathFields() {
+        return csvLoaderService.processRecord(deceased);
+    }
+
+    private static PlayerCsvParser scan(String line) throws IOException {
+        PlayerCsvParser parser = new PlayerCsvParser(new StringReader(line));
+        parser.next();
+        return parser;
+    }
+}
@@ -0,0 +1,75 @@
+package com.playerdbmicroservice.service;
+
+import com.playerdbmicroservice.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures name searches against a {@link PlayerNameIndex} of the bundled player file repeated {@code scale}
+ * times under distinct player IDs, built the way reloads update the index. Each search returns up to 20
+ * players. Scores are sampled, so the result holds percentiles of the search latency besides the average.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class PlayerNameIndexBenchmark {
+
+    private static final int LIMIT = 20;
+
+    /**
+     * Number of copies of the player file in the index; 100 copies are about 1.9 million players.
+     */
+    @Param({"1", "100"})
+    private int scale;
+
+    @Param({"derk jetr", "rodriguez alex", "smith", "a"})
+    private String query;
+
+    private PlayerNameIndex index;
+
+    @Setup
+    public void setUp() throws IOException {
+        index = new PlayerNameIndex();
+        List<Player> players = BenchmarkSupport.readPlayers();
+        for (int copy = 0; copy < scale; copy++) {
+            PlayerNameIndex.Update update = new PlayerNameIndex.Update();
+            for (Player player : players) {
+                if (copy > 0) {
+                    Player renamed = new Player();
+                    renamed.setPlayerID(player.getPlayerID() + "_" + copy);
+                    renamed.setNameFirst(player.getNameFirst());
+                    renamed.setNameLast(player.getNameLast());
+                    renamed.setNameGiven(player.getNameGiven());
+                    update.put(renamed);
+                } else {
+                    update.put(player);
+                }
+            }
+            index.apply(update);
+        }
+    }
+
+    /**
+     * Finds the players whose names best match the query.
+     */
+    @Benchmark
+    public List<String> search() {
+        return index.search(query, LIMIT);
+    }
+}
@@ -0,0 +1,120 @@
+package com.playerdbmicroservice.service;
+
+import com.playerdbmicroservice.entity.Player;
+import com.playerdbmicroservice.repository.PlayerRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.validation.DataBinder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the attribute search against the application's embedded H2 database, loaded with the bundled player
+ * file repeated {@code scale} times under distinct player IDs. Each search reads the first page of 50 players.
+ * Scores are sampled, so the result holds percentiles of the search latency besides the average.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class PlayerSearchBenchmark {
+
+    private static final int BATCH_SIZE = 5000;
+
+    private static final int PAGE_SIZE = 50;
+
+    /**
+     * Number of copies of the player file in the database; 100 copies are about 1.9 million players.
+     */
+    @Param({"1", "100"})
+    private int scale;
+
+    /**
+     * Search parameters as in the query string of the search API.
+     */
+    @Param({
+            "nameLast=Smi",
+            "nameLast=Aaron",
+            "nameFirst=Ichiro",
+            "birthCountry=CAN&birthYearFrom=1980",
+            "birthYearFrom=1950&birthYearTo=1951",
+            "bats=L&throwsHand=L",
+            "activeFrom=2000-01-01&activeTo=2000-12-31",
+            "nameLast=Smi&birthCountry=USA&bats=R"})
+    private String query;
+
+    private ConfigurableApplicationContext context;
+
+    private PlayerService playerService;
+
+    private PlayerSearchCriteria criteria;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = BenchmarkSupport.startApplication();
+        playerService = context.getBean(PlayerService.class);
+        PlayerRepository playerRepository = context.getBean(PlayerRepository.class);
+        List<Player> batch = new ArrayList<>(BATCH_SIZE);
+        for (int copy = 0; copy < scale; copy++) {
+            for (Player player : BenchmarkSupport.readPlayers()) {
+                if (copy > 0) {
+                    player.setPlayerID(player.getPlayerID() + "_" + copy);
+                }
+                batch.add(player);
+                if (batch.size() == BATCH_SIZE) {
+                    playerRepository.upsertAll(batch);
+                    batch.clear();
+                }
+            }
+        }
+        playerRepository.upsertAll(batch);
+        criteria = parse(query);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Reads the first page of players matching the search parameters.
+     */
+    @Benchmark
+    public PlayerSlice search() {
+        return playerService.searchPlayers(criteria, null, PAGE_SIZE);
+    }
+
+    /**
+     * Binds search parameters to criteria the way the controller binds the request parameters.
+     */
+    private static PlayerSearchCriteria parse(String query) {
+        PlayerSearchCriteria criteria = new PlayerSearchCriteria();
+        DataBinder binder = new DataBinder(criteria);
+        binder.setConversionService(new DefaultFormattingConversionService());
+        binder.bind(new MutablePropertyValues(
+                UriComponentsBuilder.fromUriString("?" + query).build().getQueryParams().toSingleValueMap()));
+        if (binder.getBindingResult().hasErrors()) {
+            throw new IllegalArgumentException(binder.getBindingResult().toString());
+        }
+        return criteria;
+    }
+}
@@ -0,0 +1,78 @@
+package com.playerdbmicroservice.service;
+
+import com.playerdbmicroservice.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serving reads from the in-memory {@link PlayerSnapshot} of the bundled player file, and building it.
+ * Compare with the database reads of {@link PersistenceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerSnapshotBenchmark {
+
+    private static final int SLICE_SIZE = 50;
+
+    private List<Player> players;
+
+    private PlayerSnapshot snapshot;
+
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        players = BenchmarkSupport.readPlayers();
+        players.sort(Comparator.comparing(Player::getPlayerID));
+        snapshot = build();
+    }
+
+    /**
+     * Looks up the next player by ID, cycling through the file.
+     */
+    @Benchmark
+    public Player lookup() {
+        next = next + 1 == players.size() ? 0 : next + 1;
+        return snapshot.get(players.get(next).getPlayerID());
+    }
+
+    /**
+     * Reads the next slice of players by ID, cycling through the players, as the paginated listing does.
+     */
+    @Benchmark
+    public List<Player> readSlice() {
+        next = next + SLICE_SIZE >= players.size() ? 0 : next + SLICE_SIZE;
+        return snapshot.getAfter(players.get(next).getPlayerID(), SLICE_SIZE + 1);
+    }
+
+    /**
+     * Builds a snapshot of all players, without reading them from the database.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public PlayerSnapshot build() {
+        PlayerSnapshot.Builder builder = new PlayerSnapshot.Builder(players.size());
+        players.forEach(builder::add);
+        return builder.build();
+    }
+}
@@ -0,0 +1,126 @@
+package com.playerdbmicroservice.service;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+import com.playerdbmicroservice.csv.MappedFileReader;
+import com.playerdbmicroservice.csv.PlayerCsvParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures scanning a large reload file with {@link PlayerCsvParser} from each input a reload reads: a plain file
+ * through {@link MappedFileReader}, the same file through a buffered stream for comparison, and gzip and zstd
+ * compressed files streamed through their decompressors as reloads do. The file is the bundled player file with
+ * its records repeated {@code copies} times, written to a temporary file once per trial. Scores are per file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReloadInputBenchmark {
+
+    private static final int DECOMPRESSION_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Number of copies of the records of the player file; 200 copies are about 500 MB and 3.9 million rows.
+     */
+    @Param("200")
+    private int copies;
+
+    @Param({"mapped", "stream", "gz", "zst"})
+    private String input;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        String csv = BenchmarkSupport.readCsv();
+        int body = csv.indexOf('\n') + 1;
+        byte[] header = csv.substring(0, body).getBytes(StandardCharsets.UTF_8);
+        byte[] records = csv.substring(body).getBytes(StandardCharsets.UTF_8);
+        file = Files.createTempFile("players", ".csv");
+        try (OutputStream output = compress(new BufferedOutputStream(Files.newOutputStream(file), DECOMPRESSION_BUFFER_SIZE))) {
+            output.write(header);
+            for (int i = 0; i < copies; i++) {
+                output.write(records);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    /**
+     * Scans every record of the file, counting the records that have a player ID.
+     */
+    @Benchmark
+    public long scan() throws IOException {
+        long rows = 0;
+        try (FileChannel channel = FileChannel.open(file);
+             PlayerCsvParser parser = new PlayerCsvParser(open(channel))) {
+            while (parser.next()) {
+                if (parser.getFieldCount() > 0) {
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    private OutputStream compress(OutputStream output) throws IOException {
+        switch (input) {
+            case "gz":
+                return new GZIPOutputStream(output, DECOMPRESSION_BUFFER_SIZE);
+            case "zst":
+                return new ZstdOutputStream(output);
+            default:
+                return output;
+        }
+    }
+
+    private Reader open(FileChannel channel) throws IOException {
+        if (input.equals("mapped")) {
+            return new MappedFileReader(channel, 0, channel.size(), bytes -> { });
+        }
+        InputStream stream = Files.newInputStream(file);
+        switch (input) {
+            case "gz":
+                stream = new GZIPInputStream(stream, DECOMPRESSION_BUFFER_SIZE);
+                break;
+            case "zst":
+                stream = new ZstdInputStream(stream);
+                break;
+            default:
+                break;
+        }
+        return new InputStreamReader(stream, StandardCharsets.UTF_8);
+    }
+}
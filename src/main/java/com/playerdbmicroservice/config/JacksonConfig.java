@@ -0,0 +1,46 @@
+package com.playerdbmicroservice.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.playerdbmicroservice.entity.Player;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * ID of the property filter that selects the fields written for each {@link Player}.
+     */
+    public static final String PLAYER_FILTER = "player";
+
+    /**
+     * Marks {@link Player} for the {@value #PLAYER_FILTER} filter in the application's object mapper only, and
+     * writes all fields unless a response sets another filter. A mix-in keeps the filter off the entity, so
+     * other object mappers, which have no filter to resolve it with, still serialize players.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer playerFilterCustomizer() {
+        return builder -> builder.mixIn(Player.class, PlayerFilterMixIn.class)
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    /**
+     * Serializes beans through accessors generated at runtime instead of reflection. Boot registers every
+     * module bean with the application's object mapper.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "player.json.blackbird", havingValue = "true")
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @JsonFilter(PLAYER_FILTER)
+    interface PlayerFilterMixIn {
+    }
+}
@@ -0,0 +1,54 @@
+package com.playerdbmicroservice.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class KafkaProducerConfig {
+
+    @Value("${KAFKA_BROKER_ADDRESS:kafka:29092}")
+    private String bootstrapServers;
+
+    // Producer batching: wait up to linger.ms to fill batches of up to batch.size bytes per partition
+    @Value("${KAFKA_LINGER_MS:20}")
+    private int lingerMs;
+
+    @Value("${KAFKA_BATCH_SIZE:65536}")
+    private int batchSize;
+
+    @Value("${KAFKA_COMPRESSION_TYPE:lz4}")
+    private String compressionType;
+
+    // Player events are already encoded by PlayerEventCodec and are sent as raw bytes
+    @Bean
+    public ProducerFactory<String, byte[]> playerEventProducerFactory() {
+        Map<String, Object> configProps = producerProperties();
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> playerEventKafkaTemplate() {
+        return new KafkaTemplate<>(playerEventProducerFactory());
+    }
+
+    private Map<String, Object> producerProperties() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        return configProps;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.playerdbmicroservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.MimeType;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Infrastructure of the reactive read API, active when the application is started with
+ * {@code spring.main.web-application-type=reactive}. Boot's own R2DBC auto-configuration is excluded, as it
+ * would connect to a database of its own and add a second transaction manager next to the JPA one.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig {
+
+    private static final String H2_URL_PREFIX = "jdbc:h2:";
+
+    private static final Duration CONNECTION_LIFETIME = Duration.ofMinutes(30);
+
+    @Value("${player.reactive.pool-size:10}")
+    private int poolSize;
+
+    private ConnectionPool connectionPool;
+
+    /**
+     * Reads through a pool of R2DBC connections to the H2 database of the JPA data source, so reloads written
+     * through JPA are read by the reactive API from the same player table. The pool is not a bean of its own:
+     * Boot does not set up the JDBC data source when it finds an R2DBC connection factory bean.
+     */
+    @Bean
+    public DatabaseClient databaseClient(DataSourceProperties dataSourceProperties) {
+        String url = dataSourceProperties.determineUrl();
+        if (url == null || !url.startsWith(H2_URL_PREFIX)) {
+            throw new IllegalStateException("The reactive read API requires an H2 data source, not " + url);
+        }
+        H2ConnectionConfiguration.Builder configuration = H2ConnectionConfiguration.builder()
+                .url(url.substring(H2_URL_PREFIX.length()))
+                .username(dataSourceProperties.determineUsername());
+        String password = dataSourceProperties.determinePassword();
+        if (password != null) {
+            configuration.password(password);
+        }
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(new H2ConnectionFactory(configuration.build()))
+                .name("player-r2dbc")
+                .initialSize(poolSize)
+                .maxSize(poolSize)
+                // r2dbc-pool 0.9.0 closes every connection on release unless a lifetime is set
+                .maxLifeTime(CONNECTION_LIFETIME)
+                .maxIdleTime(CONNECTION_LIFETIME)
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    /**
+     * Writes every element of a streamed NDJSON response on a single line. The encoder Boot configures uses the
+     * application's object mapper, whose indented output would spread each player over many lines. Runs after
+     * Boot's codec customizer, which would otherwise replace this encoder.
+     */
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public CodecCustomizer streamingJsonCodecCustomizer(ObjectMapper objectMapper) {
+        return configurer -> configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper) {
+            @Override
+            protected ObjectWriter customizeWriter(ObjectWriter writer, MimeType mimeType,
+                                                   ResolvableType elementType, Map<String, Object> hints) {
+                boolean streaming = mimeType != null
+                        && getStreamingMediaTypes().stream().anyMatch(mimeType::isCompatibleWith);
+                return streaming ? writer.without(SerializationFeature.INDENT_OUTPUT) : writer;
+            }
+        });
+    }
+
+    /**
+     * Serves the reactive API on Reactor Netty's event loops. Tomcat is on the class path for the servlet API,
+     * and Boot would otherwise run the reactive API on it.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.playerdbmicroservice.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+
+@Configuration
+public class TomcatConfig {
+
+    @Autowired
+    private VirtualThreads virtualThreads;
+
+    private ExecutorService requestExecutor;
+
+    /**
+     * Hands each request to a new virtual thread when virtual threads are enabled, instead of Tomcat's pool of
+     * {@code server.tomcat.threads.max} platform threads. Concurrent requests are then bounded by
+     * {@code server.tomcat.max-connections} only, while database work still waits for a pooled connection.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (virtualThreads.isEnabled()) {
+                requestExecutor = VirtualThreads.newThreadPerTaskExecutor("http-virtual-");
+                protocolHandler.setExecutor(requestExecutor);
+            }
+        };
+    }
+
+    // Tomcat does not shut down an executor it did not create
+    @PreDestroy
+    public void shutdown() {
+        if (requestExecutor != null) {
+            requestExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.playerdbmicroservice.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the executors of request handling, reload workers and Kafka send callbacks. With
+ * {@code player.threads.virtual} set they start a virtual thread per task, otherwise they use platform threads
+ * as before. The build targets Java 17, so the virtual thread API of Java 21 is looked up reflectively; on an
+ * older runtime the setting is ignored with a warning and platform threads are used.
+ */
+@Component
+public class VirtualThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreads.class);
+
+    // Thread.ofVirtual(), Thread.Builder.name(String, long), Thread.Builder.factory() and
+    // Executors.newThreadPerTaskExecutor(ThreadFactory); all null when the runtime has no virtual threads
+    private static final Method OF_VIRTUAL;
+
+    private static final Method NAME;
+
+    private static final Method FACTORY;
+
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        Method newThreadPerTaskExecutor = null;
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+            newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            // Preview API before Java 21, which throws unless preview features are enabled
+            ofVirtual.invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    @Value("${player.threads.virtual:false}")
+    private boolean enabled = false;
+
+    @PostConstruct
+    public void logMode() {
+        if (enabled && !isSupported()) {
+            logger.warn("player.threads.virtual is set, but Java {} has no virtual threads; using platform threads",
+                    Runtime.version().feature());
+        } else if (enabled) {
+            logger.info("Running requests, reload workers and Kafka send callbacks on virtual threads");
+        }
+    }
+
+    /**
+     * @return whether the runtime supports virtual threads, i.e. runs on Java 21 or later
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * @return whether virtual threads are configured and supported by the runtime
+     */
+    public boolean isEnabled() {
+        return enabled && isSupported();
+    }
+
+    /**
+     * Returns an executor running each task on a new virtual thread when virtual threads are enabled, or else a
+     * fixed pool of platform threads. Since a virtual thread per task is unbounded, callers bound how many
+     * tasks they submit at a time.
+     *
+     * @param threadNamePrefix the prefix of the names of the threads, numbered from 1
+     * @param platformThreads the number of platform threads of the pool
+     * @return a new executor, to be shut down by the caller
+     */
+    public ExecutorService newWorkerPool(String threadNamePrefix, int platformThreads) {
+        if (isEnabled()) {
+            return newThreadPerTaskExecutor(threadNamePrefix);
+        }
+        return Executors.newFixedThreadPool(platformThreads, new CustomizableThreadFactory(threadNamePrefix));
+    }
+
+    /**
+     * Returns an executor for completion callbacks, which runs each callback on a new virtual thread when
+     * virtual threads are enabled, or else right on the thread that completed the future.
+     *
+     * @param threadNamePrefix the prefix of the names of the virtual threads, numbered from 1
+     * @return the executor
+     */
+    public Executor newCallbackExecutor(String threadNamePrefix) {
+        if (isEnabled()) {
+            return newThreadPerTaskExecutor(threadNamePrefix);
+        }
+        return Runnable::run;
+    }
+
+    /**
+     * Returns an executor starting a new virtual thread per task, named with the given prefix.
+     */
+    static ExecutorService newThreadPerTaskExecutor(String threadNamePrefix) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+        }
+        try {
+            Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), threadNamePrefix, 1L);
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, FACTORY.invoke(builder));
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Failed to create a virtual thread executor", e);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.playerdbmicroservice.controller;
 
+import com.playerdbmicroservice.exception.InvalidRequestException;
 import com.playerdbmicroservice.exception.PlayerNotFoundException;
+import com.playerdbmicroservice.exception.ReloadInProgressException;
+import com.playerdbmicroservice.exception.ReloadJobNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -15,4 +18,22 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
         ErrorResponse errorResponse = new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage());
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(value = { ReloadJobNotFoundException.class })
+    protected ResponseEntity<ErrorResponse> handleReloadJobNotFound(ReloadJobNotFoundException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(value = { ReloadInProgressException.class })
+    protected ResponseEntity<ErrorResponse> handleReloadInProgress(ReloadInProgressException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.CONFLICT.value(), ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(value = { InvalidRequestException.class })
+    protected ResponseEntity<ErrorResponse> handleInvalidRequest(InvalidRequestException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+}
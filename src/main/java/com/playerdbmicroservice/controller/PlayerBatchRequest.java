@@ -0,0 +1,16 @@
+package com.playerdbmicroservice.controller;
+
+import java.util.List;
+
+public class PlayerBatchRequest {
+    private List<String> ids;
+
+    // Getters and Setters
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,33 @@
+package com.playerdbmicroservice.controller;
+
+import com.playerdbmicroservice.entity.Player;
+
+import java.util.List;
+
+public class PlayerBatchResponse {
+    private List<Player> players;
+    private List<String> missing;
+
+    // Constructor
+    public PlayerBatchResponse(List<Player> players, List<String> missing) {
+        this.players = players;
+        this.missing = missing;
+    }
+
+    // Getters and Setters
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    public void setPlayers(List<Player> players) {
+        this.players = players;
+    }
+
+    public List<String> getMissing() {
+        return missing;
+    }
+
+    public void setMissing(List<String> missing) {
+        this.missing = missing;
+    }
+}
@@ -1,25 +1,49 @@
 package com.playerdbmicroservice.controller;
 
 import com.playerdbmicroservice.entity.Player;
-import com.playerdbmicroservice.service.CSVLoaderService;
+import com.playerdbmicroservice.service.PlayerDatasetVersion;
+import com.playerdbmicroservice.service.PlayerExportService;
+import com.playerdbmicroservice.service.PlayerSearchCriteria;
 import com.playerdbmicroservice.service.PlayerService;
+import com.playerdbmicroservice.service.PlayerSlice;
+import com.playerdbmicroservice.service.ReloadJob;
+import com.playerdbmicroservice.service.ReloadJobService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/players")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class PlayerController {
 
     @Autowired
     private PlayerService playerService;
 
     @Autowired
-    private CSVLoaderService csvLoaderService;
+    private ReloadJobService reloadJobService;
+
+    @Autowired
+    private PlayerExportService playerExportService;
+
+    @Autowired
+    private PlayerDatasetVersion playerDatasetVersion;
+
+    private static final String NDJSON = "application/x-ndjson";
 
     @GetMapping
     public List<Player> getAllPlayers(
@@ -28,17 +52,152 @@ public class PlayerController {
         return playerService.getAllPlayers(page, size);
     }
 
+    /**
+     * Lists players in player ID order using keyset pagination. Each page continues after the position
+     * encoded in the {@code after} token returned by the previous page, so deep pages are as fast as the first.
+     */
+    @GetMapping(params = "limit")
+    public PlayerPageResponse getPlayersAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam int limit) {
+        PlayerSlice slice = playerService.getPlayersAfter(PlayerCursor.decode(after), limit);
+        return new PlayerPageResponse(slice.getPlayers(), PlayerCursor.encode(slice.getLastPlayerID()));
+    }
+
+    /**
+     * Searches players by name prefix, birth country, birth year range, batting and throwing hand, and the
+     * period they were active in. Results are in player ID order and paged with continuation tokens.
+     */
+    @GetMapping("/search")
+    public PlayerPageResponse searchPlayers(
+            PlayerSearchCriteria criteria,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
+        PlayerSlice slice = playerService.searchPlayers(criteria, PlayerCursor.decode(after), limit);
+        return new PlayerPageResponse(slice.getPlayers(), PlayerCursor.encode(slice.getLastPlayerID()));
+    }
+
+    /**
+     * Finds players by partial or misspelled names, best match first.
+     */
+    @GetMapping(value = "/search", params = "q")
+    public List<Player> searchPlayersByName(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        return playerService.searchPlayersByName(q, limit);
+    }
+
+    /**
+     * Resolves the players with the given IDs in one request. Found players are returned in the order of the
+     * requested IDs, and unknown IDs are listed as missing.
+     */
+    @PostMapping("/batch")
+    public PlayerBatchResponse getPlayersBatch(@RequestBody PlayerBatchRequest request) {
+        return getPlayersByIds(request.getIds() == null ? Collections.emptyList() : request.getIds());
+    }
+
+    @GetMapping(params = "ids")
+    public PlayerBatchResponse getPlayersByIds(@RequestParam List<String> ids) {
+        Map<String, Player> players = playerService.getPlayersByIds(ids);
+        List<String> missing = ids.stream()
+                .distinct()
+                .filter(id -> !players.containsKey(id))
+                .collect(Collectors.toList());
+        return new PlayerBatchResponse(new ArrayList<>(players.values()), missing);
+    }
+
+    /**
+     * Streams all players as NDJSON in a single response. The body is compressed with gzip when the client
+     * accepts it.
+     */
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportNdjson(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return export(NDJSON, acceptEncoding, playerExportService::exportNdjson);
+    }
+
+    /**
+     * Streams all players as CSV in the layout of the source file in a single response. The body is
+     * compressed with gzip when the client accepts it.
+     */
+    @GetMapping(value = "/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return export("text/csv", acceptEncoding, playerExportService::exportCsv);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String contentType, String acceptEncoding, StreamingResponseBody body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(contentType + ";charset=UTF-8"));
+        if (acceptEncoding == null || !acceptEncoding.contains("gzip")) {
+            return response.body(body);
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .body(out -> {
+                    GZIPOutputStream gzip = new GZIPOutputStream(out, 64 * 1024);
+                    body.writeTo(gzip);
+                    gzip.finish();
+                });
+    }
+
+    /**
+     * Returns a player with a strong ETag and the start of the current dataset version as Last-Modified, to be
+     * revalidated on every use. An If-None-Match tag issued for the player under the current dataset version is
+     * answered with 304 before the player is looked up. Otherwise the player is looked up first, so a missing
+     * player is answered with 404 whatever the request's conditions. If-None-Match is then answered with 304,
+     * without serializing the player, if a tag holds the player's content hash, whichever dataset version it was
+     * issued under; without If-None-Match, an If-Modified-Since not before the start of the current version is
+     * answered with 304.
+     */
     @GetMapping("/{playerID}")
-    public ResponseEntity<Player> getPlayerById(@PathVariable String playerID) {
+    public ResponseEntity<Player> getPlayerById(@PathVariable String playerID, @RequestHeader HttpHeaders headers) {
+        PlayerDatasetVersion.Version version = playerDatasetVersion.current();
+        List<String> ifNoneMatch = headers.getIfNoneMatch();
+        String currentETag = PlayerETag.findCurrent(ifNoneMatch, version.getId(), playerID);
+        if (currentETag != null) {
+            return notModified(currentETag, version);
+        }
         Optional<Player> player = playerService.getPlayerById(playerID);
-        return player.map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        if (player.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        Long contentHash = player.get().getContentHash();
+        String eTag = PlayerETag.of(version.getId(), playerID, contentHash);
+        if (ifNoneMatch.isEmpty()
+                ? headers.getIfModifiedSince() >= version.getLastModified().toEpochMilli()
+                : PlayerETag.matches(ifNoneMatch, eTag, playerID, contentHash)) {
+            return notModified(eTag, version);
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(version.getLastModified())
+                .cacheControl(CacheControl.noCache())
+                .body(player.get());
+    }
+
+    private ResponseEntity<Player> notModified(String eTag, PlayerDatasetVersion.Version version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .lastModified(version.getLastModified())
+                .cacheControl(CacheControl.noCache())
+                .build();
     }
 
     @PostMapping("/reload")
-    public ResponseEntity<ReloadResponse> reloadCSV() {
-        csvLoaderService.reloadCSV();
-        ReloadResponse response = new ReloadResponse("success", "CSV reloaded successfully");
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public ResponseEntity<ReloadResponse> reloadCSV(@RequestParam(required = false) String file) {
+        ReloadJob job = reloadJobService.startReload(file);
+        ReloadResponse response = new ReloadResponse("accepted", "CSV reload started", job.getId());
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/reload/{jobId}")
+    public ReloadStatusResponse getReloadStatus(@PathVariable String jobId) {
+        return ReloadStatusResponse.from(reloadJobService.getJob(jobId));
+    }
+
+    @DeleteMapping("/reload/{jobId}")
+    public ReloadStatusResponse cancelReload(@PathVariable String jobId) {
+        return ReloadStatusResponse.from(reloadJobService.cancel(jobId));
     }
 }
\ No newline at end of file
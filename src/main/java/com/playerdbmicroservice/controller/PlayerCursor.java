@@ -0,0 +1,32 @@
+package com.playerdbmicroservice.controller;
+
+import com.playerdbmicroservice.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the position in the player listing as an opaque, URL-safe continuation token, so clients do not
+ * depend on the listing being keyed by player ID.
+ */
+final class PlayerCursor {
+
+    private PlayerCursor() {
+    }
+
+    static String encode(String playerID) {
+        return playerID == null ? null
+                : Base64.getUrlEncoder().withoutPadding().encodeToString(playerID.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid continuation token: " + token);
+        }
+    }
+}
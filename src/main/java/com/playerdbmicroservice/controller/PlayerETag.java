@@ -0,0 +1,91 @@
+package com.playerdbmicroservice.controller;
+
+import java.util.List;
+
+/**
+ * Builds and matches the strong entity tags of single players. A tag holds the dataset version it was issued
+ * under, a hash of the player ID and the content hash of the player's source CSV row, all in hex:
+ * {@code "<version>-<id hash>-<content hash>"}, or {@code "<version>-<id hash>"} for a player without a content
+ * hash. A tag issued under the current dataset version is current without looking the player up, since the
+ * players only change with the version. A tag issued under an older version is current while the player's
+ * content hash is unchanged; a tag without a content hash is only current under its own version.
+ */
+final class PlayerETag {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private PlayerETag() {
+    }
+
+    static String of(long version, String playerID, Long contentHash) {
+        return '"' + prefix(version, playerID) + (contentHash == null ? "" : "-" + Long.toHexString(contentHash)) + '"';
+    }
+
+    /**
+     * Returns the first of the given If-None-Match tags that was issued for the player under the given dataset
+     * version, which is then still the player's current tag, or null if there is none. {@code *} is not
+     * returned, as it only matches a player that exists.
+     *
+     * @param ifNoneMatch the tags of the request
+     * @param version the current dataset version
+     * @param playerID the ID of the requested player
+     */
+    static String findCurrent(List<String> ifNoneMatch, long version, String playerID) {
+        String prefix = prefix(version, playerID);
+        for (String tag : ifNoneMatch) {
+            String value = value(tag);
+            if (value.startsWith(prefix) && (value.length() == prefix.length() || value.charAt(prefix.length()) == '-')) {
+                return '"' + value + '"';
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tells whether any of the given If-None-Match tags is the current tag of a player, holds the player's ID
+     * and content hash under any dataset version, or is {@code *}.
+     *
+     * @param ifNoneMatch the tags of the request
+     * @param eTag the current tag of the player
+     * @param playerID the ID of the player
+     * @param contentHash the content hash of the player, or null if it has none
+     */
+    static boolean matches(List<String> ifNoneMatch, String eTag, String playerID, Long contentHash) {
+        String current = value(eTag);
+        String suffix = contentHash == null ? null
+                : "-" + Long.toHexString(idHash(playerID)) + "-" + Long.toHexString(contentHash);
+        for (String tag : ifNoneMatch) {
+            String value = value(tag);
+            if (tag.equals("*") || value.equals(current) || (suffix != null && value.endsWith(suffix))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String prefix(long version, String playerID) {
+        return Long.toHexString(version) + "-" + Long.toHexString(idHash(playerID));
+    }
+
+    /**
+     * Returns the 64-bit FNV-1a hash of a player ID, which ties a tag to one player.
+     */
+    private static long idHash(String playerID) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < playerID.length(); i++) {
+            hash = (hash ^ playerID.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the value of a tag without quotes, ignoring the weak indicator as If-None-Match does.
+     */
+    private static String value(String tag) {
+        String value = tag.startsWith("W/") ? tag.substring(2) : tag;
+        return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")
+                ? value.substring(1, value.length() - 1) : value;
+    }
+}
@@ -0,0 +1,77 @@
+package com.playerdbmicroservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.playerdbmicroservice.config.JacksonConfig;
+import com.playerdbmicroservice.entity.Player;
+import com.playerdbmicroservice.exception.InvalidRequestException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Writes only the requested fields of each player in a JSON response when the request has a {@code fields}
+ * parameter, e.g. {@code ?fields=nameFirst,nameLast,debut}. The player ID is always written, so players can
+ * still be told apart and listings continued.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PlayerFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    private static final String FIELDS_PARAM = "fields";
+
+    private static final String PLAYER_ID = "playerID";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Set<String> playerFields;
+
+    /**
+     * Collects the names of the fields the application's object mapper writes for a player.
+     */
+    @PostConstruct
+    public void init() {
+        playerFields = objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(Player.class))
+                .findProperties().stream()
+                .filter(BeanPropertyDefinition::couldSerialize)
+                .map(BeanPropertyDefinition::getName)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request, ServerHttpResponse response) {
+        String fields = ((ServletServerHttpRequest) request).getServletRequest().getParameter(FIELDS_PARAM);
+        // Error responses, including the one for an unknown field, are written as they are
+        if (fields == null || fields.isEmpty() || bodyContainer.getValue() instanceof ErrorResponse) {
+            return;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add(PLAYER_ID);
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!playerFields.contains(name)) {
+                throw new InvalidRequestException("Unknown player field: " + name);
+            }
+            selected.add(name);
+        }
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .addFilter(JacksonConfig.PLAYER_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(selected)));
+    }
+}
@@ -0,0 +1,36 @@
+package com.playerdbmicroservice.controller;
+
+import com.playerdbmicroservice.entity.Player;
+
+import java.util.List;
+
+public class PlayerPageResponse {
+    private List<Player> players;
+    private String next;
+
+    // Constructor
+    public PlayerPageResponse(List<Player> players, String next) {
+        this.players = players;
+        this.next = next;
+    }
+
+    // Getters and Setters
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    public void setPlayers(List<Player> players) {
+        this.players = players;
+    }
+
+    /**
+     * Returns the continuation token to pass as {@code after} for the next page, or null on the last page.
+     */
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+}
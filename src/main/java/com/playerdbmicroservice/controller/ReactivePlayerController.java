@@ -0,0 +1,108 @@
+package com.playerdbmicroservice.controller;
+
+import com.playerdbmicroservice.entity.Player;
+import com.playerdbmicroservice.exception.InvalidRequestException;
+import com.playerdbmicroservice.repository.ReactivePlayerRepository;
+import com.playerdbmicroservice.service.PlayerService;
+import com.playerdbmicroservice.service.PlayerSlice;
+import com.playerdbmicroservice.service.ReloadJob;
+import com.playerdbmicroservice.service.ReloadJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * The read API of {@link PlayerController} on WebFlux and R2DBC, served when the application is started with
+ * {@code spring.main.web-application-type=reactive}. The listing can also be streamed as NDJSON, read from the
+ * database only as fast as the client consumes it. r2dbc-h2 runs the embedded database synchronously on the
+ * subscribing thread, so each query still occupies the event loop while it runs; waiting for the client does not.
+ * Reloads are started and tracked as in the servlet API; searches, batch lookups and exports are only served by it.
+ */
+@RestController
+@RequestMapping("/api/players")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePlayerController {
+
+    @Autowired
+    private ReactivePlayerRepository reactivePlayerRepository;
+
+    @Autowired
+    private ReloadJobService reloadJobService;
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    // Players read per query while streaming the listing
+    private static final int STREAM_PAGE_SIZE = 500;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<Player> getAllPlayers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        if (page < 0 || size < 1) {
+            throw new InvalidRequestException("page must not be negative and size must be at least 1");
+        }
+        return reactivePlayerRepository.findPage(page, size);
+    }
+
+    /**
+     * Lists players in player ID order using keyset pagination, with the same continuation tokens as the
+     * servlet API.
+     */
+    @GetMapping(params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<PlayerPageResponse> getPlayersAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam int limit) {
+        if (limit < 1 || limit > PlayerService.MAX_SLICE_SIZE) {
+            throw new InvalidRequestException("limit must be between 1 and " + PlayerService.MAX_SLICE_SIZE);
+        }
+        return reactivePlayerRepository.findAfter(PlayerCursor.decode(after), limit + 1)
+                .collectList()
+                .map(players -> toPage(players, limit));
+    }
+
+    /**
+     * Streams all players in player ID order as NDJSON, optionally continuing after a continuation token. Players
+     * are read from the database a page at a time as the client consumes the response.
+     */
+    @GetMapping(produces = NDJSON)
+    public Flux<Player> streamPlayers(@RequestParam(required = false) String after) {
+        return reactivePlayerRepository.streamAfter(PlayerCursor.decode(after), STREAM_PAGE_SIZE);
+    }
+
+    @GetMapping("/{playerID}")
+    public Mono<ResponseEntity<Player>> getPlayerById(@PathVariable String playerID) {
+        return reactivePlayerRepository.findById(playerID)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @PostMapping("/reload")
+    public ResponseEntity<ReloadResponse> reloadCSV(@RequestParam(required = false) String file) {
+        ReloadJob job = reloadJobService.startReload(file);
+        ReloadResponse response = new ReloadResponse("accepted", "CSV reload started", job.getId());
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/reload/{jobId}")
+    public ReloadStatusResponse getReloadStatus(@PathVariable String jobId) {
+        return ReloadStatusResponse.from(reloadJobService.getJob(jobId));
+    }
+
+    @DeleteMapping("/reload/{jobId}")
+    public ReloadStatusResponse cancelReload(@PathVariable String jobId) {
+        return ReloadStatusResponse.from(reloadJobService.cancel(jobId));
+    }
+
+    private static PlayerPageResponse toPage(List<Player> players, int limit) {
+        boolean hasMore = players.size() > limit;
+        PlayerSlice slice = new PlayerSlice(hasMore ? players.subList(0, limit) : players, hasMore);
+        return new PlayerPageResponse(slice.getPlayers(), PlayerCursor.encode(slice.getLastPlayerID()));
+    }
+}
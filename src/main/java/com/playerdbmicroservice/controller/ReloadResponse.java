@@ -3,6 +3,7 @@ package com.playerdbmicroservice.controller;
 public class ReloadResponse {
     private String status;
     private String message;
+    private String jobId;
     private long timestamp;
 
     // Constructor
@@ -12,6 +13,11 @@ public class ReloadResponse {
         this.timestamp = System.currentTimeMillis();
     }
 
+    public ReloadResponse(String status, String message, String jobId) {
+        this(status, message);
+        this.jobId = jobId;
+    }
+
     // Getters and Setters
     public String getStatus() {
         return status;
@@ -29,6 +35,14 @@ public class ReloadResponse {
         this.message = message;
     }
 
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
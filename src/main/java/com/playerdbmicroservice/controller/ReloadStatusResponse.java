@@ -0,0 +1,126 @@
+package com.playerdbmicroservice.controller;
+
+import com.playerdbmicroservice.service.ReloadJob;
+
+public class ReloadStatusResponse {
+    private String jobId;
+    private String file;
+    private String status;
+    private long rowsParsed;
+    private long rowsWritten;
+    private long invalidRows;
+    private double rowsPerSecond;
+    private long etaSeconds;
+    private long startedAt;
+    private long finishedAt;
+    private String error;
+
+    public ReloadStatusResponse() {
+    }
+
+    // Snapshot of the job's progress at the time of the request
+    public static ReloadStatusResponse from(ReloadJob job) {
+        ReloadStatusResponse response = new ReloadStatusResponse();
+        response.jobId = job.getId();
+        response.file = job.getFile();
+        response.status = job.getStatus().name();
+        response.rowsParsed = job.getRowsParsed();
+        response.rowsWritten = job.getRowsWritten();
+        response.invalidRows = job.getInvalidRows();
+        response.rowsPerSecond = job.getRowsPerSecond();
+        response.etaSeconds = job.getEtaSeconds();
+        response.startedAt = job.getStartedAt();
+        response.finishedAt = job.getFinishedAt();
+        response.error = job.getError();
+        return response;
+    }
+
+    // Getters and Setters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getRowsParsed() {
+        return rowsParsed;
+    }
+
+    public void setRowsParsed(long rowsParsed) {
+        this.rowsParsed = rowsParsed;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public void setRowsWritten(long rowsWritten) {
+        this.rowsWritten = rowsWritten;
+    }
+
+    public long getInvalidRows() {
+        return invalidRows;
+    }
+
+    public void setInvalidRows(long invalidRows) {
+        this.invalidRows = invalidRows;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public long getEtaSeconds() {
+        return etaSeconds;
+    }
+
+    public void setEtaSeconds(long etaSeconds) {
+        this.etaSeconds = etaSeconds;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(long finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
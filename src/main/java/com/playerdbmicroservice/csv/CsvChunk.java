@@ -0,0 +1,28 @@
+package com.playerdbmicroservice.csv;
+
+/**
+ * A byte range of a CSV file that starts at the beginning of a record and ends right after a record
+ * terminator, so it can be parsed independently of the rest of the file.
+ */
+public class CsvChunk {
+
+    private final long start;
+    private final long end;
+
+    public CsvChunk(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    public int length() {
+        return (int) (end - start);
+    }
+}
@@ -0,0 +1,129 @@
+package com.playerdbmicroservice.csv;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a CSV file into record-aligned chunks of roughly equal size for parallel parsing.
+ * <p>
+ * The split is quote-aware: the file is scanned once while tracking quoted fields the way
+ * {@link PlayerCsvParser} does, and chunks only end on a line feed outside quotes, so a field containing
+ * embedded newlines is never cut in half. As in the parser, only a quote at the start of a field opens a quoted
+ * field; a quote inside an unquoted field is an ordinary character, and so is an opening quote that is not
+ * closed within {@link PlayerCsvParser#MAX_QUOTED_LENGTH} characters, after which the field is scanned again
+ * as unquoted. The scan works on raw bytes, which is safe for UTF-8 because quote, comma and line feed bytes
+ * never occur inside multi-byte sequences; characters are counted from the UTF-8 lead bytes. The header line
+ * is excluded from all chunks.
+ */
+public final class CsvChunkSplitter {
+
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    private static final int FIELD_START = 0;
+
+    private static final int UNQUOTED = 1;
+
+    private static final int QUOTED = 2;
+
+    // A quote inside a quoted field: closes the field unless another quote follows
+    private static final int QUOTE_IN_QUOTED = 3;
+
+    private CsvChunkSplitter() {
+    }
+
+    /**
+     * Splits the file behind the given channel into chunks of at least {@code targetChunkSize} bytes
+     * (except for the last one), skipping the header line.
+     *
+     * @param channel the channel of the CSV file
+     * @param targetChunkSize the minimum size of a chunk in bytes
+     * @return the chunks in file order
+     */
+    public static List<CsvChunk> split(FileChannel channel, long targetChunkSize) throws IOException {
+        List<CsvChunk> chunks = new ArrayList<>();
+        long size = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        int state = FIELD_START;
+        long quoteStart = 0;
+        int quotedChars = 0;
+        boolean headerSkipped = false;
+        long chunkStart = 0;
+        long position = 0;
+
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            long next = position + read;
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                boolean recordEnd = false;
+                if ((state == QUOTED || state == QUOTE_IN_QUOTED) && (b & 0xC0) != 0x80) {
+                    int index = quotedChars;
+                    // A character outside the basic multilingual plane is two chars to the parser
+                    quotedChars += (b & 0xF8) == 0xF0 ? 2 : 1;
+                    if (state == QUOTED && index >= PlayerCsvParser.MAX_QUOTED_LENGTH) {
+                        state = UNQUOTED;
+                        next = quoteStart + 1;
+                        break;
+                    }
+                }
+                switch (state) {
+                    case FIELD_START:
+                    case UNQUOTED:
+                        if (b == ',') {
+                            state = FIELD_START;
+                        } else if (b == '\n') {
+                            state = FIELD_START;
+                            recordEnd = true;
+                        } else if (b == '"' && state == FIELD_START) {
+                            state = QUOTED;
+                            quoteStart = position + i;
+                            quotedChars = 0;
+                        } else {
+                            state = UNQUOTED;
+                        }
+                        break;
+                    case QUOTED:
+                        if (b == '"') {
+                            state = QUOTE_IN_QUOTED;
+                        }
+                        break;
+                    default:
+                        if (b == '"') {
+                            state = QUOTED;
+                        } else if (b == ',') {
+                            state = FIELD_START;
+                        } else if (b == '\n') {
+                            state = FIELD_START;
+                            recordEnd = true;
+                        } else {
+                            // The parser skips what follows the closing quote up to the next comma or line feed
+                            state = UNQUOTED;
+                        }
+                        break;
+                }
+                if (recordEnd) {
+                    long end = position + i + 1;
+                    if (!headerSkipped) {
+                        headerSkipped = true;
+                        chunkStart = end;
+                    } else if (end - chunkStart >= targetChunkSize) {
+                        chunks.add(new CsvChunk(chunkStart, end));
+                        chunkStart = end;
+                    }
+                }
+            }
+            position = next;
+        }
+        if (headerSkipped && chunkStart < size) {
+            chunks.add(new CsvChunk(chunkStart, size));
+        }
+        return chunks;
+    }
+}
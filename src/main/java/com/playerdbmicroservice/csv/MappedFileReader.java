@@ -0,0 +1,174 @@
+package com.playerdbmicroservice.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.function.LongConsumer;
+
+/**
+ * A reader that decodes a byte range of a file as UTF-8 straight from memory-mapped windows of the file, so
+ * the bytes are never copied onto the heap. The range is mapped one window at a time; a multi-byte character
+ * that straddles two windows is decoded once the next window is mapped. Runs of ASCII bytes, which make up
+ * nearly all of a player CSV, are copied to the caller's buffer directly, since the JDK decoder is much slower
+ * on direct buffers than on heap buffers; only other bytes go through the decoder. Malformed input is
+ * replaced with U+FFFD, like {@link java.io.InputStreamReader} does. The channel is not closed by this reader.
+ */
+public class MappedFileReader extends Reader {
+
+    private static final long DEFAULT_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    // Longest UTF-8 encoding of a character; fewer bytes left in a window may be an incomplete character
+    private static final int MAX_BYTES_PER_CHAR = 4;
+
+    // Bytes handed to the decoder at a time once the ASCII fast path stops at a non-ASCII byte
+    private static final int DECODER_SLICE = 64;
+
+    private final FileChannel channel;
+
+    private final long end;
+
+    private final long windowSize;
+
+    private final LongConsumer bytesRead;
+
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private long windowStart;
+
+    private MappedByteBuffer window;
+
+    private boolean endOfInput;
+
+    // Second half of a surrogate pair that did not fit into the caller's buffer
+    private char pendingLowSurrogate;
+
+    private boolean hasPendingLowSurrogate;
+
+    /**
+     * @param channel the channel of the file
+     * @param start the offset of the first byte to read
+     * @param end the offset right after the last byte to read
+     * @param bytesRead notified of the number of bytes decoded, to track progress
+     */
+    public MappedFileReader(FileChannel channel, long start, long end, LongConsumer bytesRead) {
+        this(channel, start, end, bytesRead, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedFileReader(FileChannel channel, long start, long end, LongConsumer bytesRead, long windowSize) {
+        this.channel = channel;
+        this.end = end;
+        this.windowSize = Math.max(windowSize, MAX_BYTES_PER_CHAR);
+        this.bytesRead = bytesRead;
+        this.windowStart = start;
+        this.endOfInput = start >= end;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+        if (hasPendingLowSurrogate) {
+            out.put(pendingLowSurrogate);
+            hasPendingLowSurrogate = false;
+        }
+        boolean incomplete = false;
+        while (out.hasRemaining() && !endOfInput) {
+            if (window == null || (incomplete || window.remaining() < MAX_BYTES_PER_CHAR)
+                    && windowStart + window.limit() < end) {
+                map();
+                incomplete = false;
+            }
+            boolean lastWindow = windowStart + window.limit() == end;
+            int before = window.position();
+            copyAscii(out);
+            if (out.hasRemaining() && window.hasRemaining()) {
+                int produced = out.position();
+                CoderResult result = decodeSlice(out, lastWindow);
+                if (result.isOverflow() && out.position() == produced) {
+                    // Only one char of room left for a surrogate pair
+                    if (produced == off) {
+                        decodeSurrogatePair(out);
+                    }
+                    bytesRead.accept(window.position() - before);
+                    break;
+                }
+                incomplete = result.isUnderflow() && out.position() == produced;
+            }
+            bytesRead.accept(window.position() - before);
+            if (lastWindow && !window.hasRemaining()) {
+                decoder.decode(window, out, true);
+                decoder.flush(out);
+                endOfInput = true;
+            }
+        }
+        int read = out.position() - off;
+        return read == 0 ? -1 : read;
+    }
+
+    @Override
+    public void close() {
+        window = null;
+        endOfInput = true;
+        hasPendingLowSurrogate = false;
+    }
+
+    /**
+     * Copies bytes from the window to the output up to the first non-ASCII byte.
+     */
+    private void copyAscii(CharBuffer out) {
+        char[] chars = out.array();
+        int offset = out.arrayOffset() + out.position();
+        int position = window.position();
+        int count = Math.min(window.remaining(), out.remaining());
+        int i = 0;
+        for (byte b; i < count && (b = window.get(position + i)) >= 0; i++) {
+            chars[offset + i] = (char) b;
+        }
+        window.position(position + i);
+        out.position(out.position() + i);
+    }
+
+    /**
+     * Decodes a few bytes starting at a non-ASCII byte. A character cut off at the end of the slice is left in
+     * the window and decoded with the next slice.
+     *
+     * @return underflow if the slice was decoded or ends in an incomplete character, overflow if the output is full
+     */
+    private CoderResult decodeSlice(CharBuffer out, boolean lastWindow) {
+        int limit = window.limit();
+        window.limit(Math.min(limit, window.position() + DECODER_SLICE));
+        CoderResult result = decoder.decode(window, out, lastWindow && window.limit() == limit);
+        window.limit(limit);
+        return result;
+    }
+
+    /**
+     * Decodes a surrogate pair into a buffer with room for only one char, keeping the second half for the next read.
+     */
+    private void decodeSurrogatePair(CharBuffer out) {
+        CharBuffer pair = CharBuffer.allocate(2);
+        decodeSlice(pair, windowStart + window.limit() == end);
+        out.put(pair.get(0));
+        pendingLowSurrogate = pair.get(1);
+        hasPendingLowSurrogate = true;
+    }
+
+    /**
+     * Maps the next window, starting at the first byte not decoded yet.
+     */
+    private void map() throws IOException {
+        long position = window == null ? windowStart : windowStart + window.position();
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, end - position));
+        windowStart = position;
+    }
+}
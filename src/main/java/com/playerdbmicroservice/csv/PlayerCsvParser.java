@@ -0,0 +1,361 @@
+package com.playerdbmicroservice.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.util.Arrays;
+
+/**
+ * Streaming parser for the player CSV file. Each record is scanned in place in a reusable character buffer
+ * and its fields are kept as offset ranges into that buffer, so numbers, dates and single-letter codes are
+ * decoded straight from the characters, and a {@link String} is only created for a field that is read as
+ * text. Malformed numbers and dates are reported as sentinel values instead of exceptions.
+ * <p>
+ * Fields follow RFC 4180: a field may be enclosed in double quotes, in which case it can contain commas,
+ * line breaks and doubled double quotes. Records end with LF or CRLF. Unlike OpenCSV's default parser,
+ * backslash is not an escape character. A quote that opens a field but is not closed within
+ * {@value #MAX_QUOTED_LENGTH} characters is taken as an ordinary character and the field is read as unquoted,
+ * so a single stray quote cannot turn the rest of the file into one field.
+ */
+public class PlayerCsvParser implements Closeable {
+
+    /**
+     * The columns of the player CSV file, in file order.
+     */
+    public static final String[] COLUMNS = {"playerID", "birthYear", "birthMonth", "birthDay", "birthCountry",
+            "birthState", "birthCity", "deathYear", "deathMonth", "deathDay", "deathCountry", "deathState",
+            "deathCity", "nameFirst", "nameLast", "nameGiven", "weight", "height", "bats", "throwsHand", "debut",
+            "finalGame", "retroID", "bbrefID"};
+
+    /**
+     * Returned by {@link #getInt(int)} for a field that is empty or not an integer.
+     */
+    public static final int NOT_A_NUMBER = Integer.MIN_VALUE;
+
+    /**
+     * The maximum number of characters between the quotes of a quoted field. Player fields are far shorter.
+     */
+    public static final int MAX_QUOTED_LENGTH = 16 * 1024;
+
+    private static final int MORE_INPUT = -1;
+
+    private static final int NOT_CLOSED = -2;
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Reader reader;
+
+    private char[] buffer;
+
+    private int position;
+
+    private int limit;
+
+    private boolean endOfInput;
+
+    private int fieldCount;
+
+    private int[] starts = new int[COLUMNS.length];
+
+    private int[] ends = new int[COLUMNS.length];
+
+    private boolean[] escaped = new boolean[COLUMNS.length];
+
+    private boolean quoteHasEscapes;
+
+    public PlayerCsvParser(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    PlayerCsvParser(Reader reader, int bufferSize) {
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+    }
+
+    /**
+     * Advances to the next record. The fields of the previous record are no longer accessible afterwards.
+     *
+     * @return true if a record was read, false at the end of the input
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            if (position == limit && endOfInput) {
+                return false;
+            }
+            int end = scanRecord(position);
+            if (end >= 0) {
+                position = end;
+                return true;
+            }
+            fill();
+        }
+    }
+
+    /**
+     * Returns the number of fields of the current record.
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns whether a field of the current record is empty.
+     *
+     * @param field the index of the field
+     */
+    public boolean isEmpty(int field) {
+        return starts[field] == ends[field];
+    }
+
+    /**
+     * Returns a field of the current record as a new string, with doubled quotes unescaped.
+     *
+     * @param field the index of the field
+     */
+    public String getString(int field) {
+        int start = starts[field];
+        int end = ends[field];
+        if (!escaped[field]) {
+            return new String(buffer, start, end - start);
+        }
+        StringBuilder value = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            value.append(buffer[i]);
+            if (buffer[i] == '"') {
+                i++;
+            }
+        }
+        return value.toString();
+    }
+
+    /**
+     * Parses a field of the current record as a decimal integer with an optional sign.
+     *
+     * @param field the index of the field
+     * @return the value, or {@link #NOT_A_NUMBER} if the field is empty, not a number or out of range
+     */
+    public int getInt(int field) {
+        int i = starts[field];
+        int end = ends[field];
+        boolean negative = i < end && buffer[i] == '-';
+        if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+            i++;
+        }
+        if (i == end || end - i > 10) {
+            return NOT_A_NUMBER;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return NOT_A_NUMBER;
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        return value <= NOT_A_NUMBER || value > Integer.MAX_VALUE ? NOT_A_NUMBER : (int) value;
+    }
+
+    /**
+     * Parses a field of the current record as an ISO {@code yyyy-MM-dd} date.
+     *
+     * @param field the index of the field
+     * @return the date, or null if the field is empty or not a valid date
+     */
+    public LocalDate getDate(int field) {
+        int start = starts[field];
+        if (ends[field] - start != 10 || buffer[start + 4] != '-' || buffer[start + 7] != '-') {
+            return null;
+        }
+        int year = digits(start, 4);
+        int month = digits(start + 5, 2);
+        int day = digits(start + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Returns the character of a single-character field of the current record.
+     *
+     * @param field the index of the field
+     * @return the character, or {@code 0} if the field does not have exactly one character
+     */
+    public char getChar(int field) {
+        return ends[field] - starts[field] == 1 ? buffer[starts[field]] : 0;
+    }
+
+    /**
+     * Computes a 64-bit FNV-1a hash over the unescaped fields of the current record. Each field is followed
+     * by its length so that shifting characters between adjacent fields changes the hash.
+     *
+     * @return the content hash of the record
+     */
+    public long contentHash() {
+        long hash = FNV_OFFSET_BASIS;
+        for (int field = 0; field < fieldCount; field++) {
+            int length = 0;
+            for (int i = starts[field], end = ends[field]; i < end; i++, length++) {
+                hash = (hash ^ buffer[i]) * FNV_PRIME;
+                if (escaped[field] && buffer[i] == '"') {
+                    i++;
+                }
+            }
+            hash = (hash ^ length) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns all fields of the current record as strings, e.g. to report an invalid record.
+     */
+    public String[] toArray() {
+        String[] fields = new String[fieldCount];
+        for (int field = 0; field < fieldCount; field++) {
+            fields[field] = getString(field);
+        }
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Scans the record starting at the given buffer offset and records the ranges of its fields.
+     *
+     * @param from the offset of the first character of the record
+     * @return the offset right after the record terminator, or -1 if the record is not complete in the
+     *         buffer and more input is available
+     */
+    private int scanRecord(int from) {
+        fieldCount = 0;
+        int i = from;
+        while (true) {
+            int start;
+            int end;
+            int closingQuote = i < limit && buffer[i] == '"' ? closingQuote(i + 1) : NOT_CLOSED;
+            if (closingQuote == MORE_INPUT) {
+                return -1;
+            }
+            boolean quoted = closingQuote >= 0;
+            boolean hasEscapes = false;
+            if (quoted) {
+                start = i + 1;
+                end = closingQuote;
+                hasEscapes = quoteHasEscapes;
+                i = closingQuote + 1;
+                while (i < limit && buffer[i] != ',' && buffer[i] != '\n') {
+                    i++;
+                }
+            } else {
+                start = i;
+                while (i < limit && buffer[i] != ',' && buffer[i] != '\n') {
+                    i++;
+                }
+                end = i;
+            }
+            if (i >= limit && !endOfInput) {
+                return -1;
+            }
+            if (!quoted && end > start && (i >= limit || buffer[i] == '\n') && buffer[end - 1] == '\r') {
+                end--;
+            }
+            addField(start, end, hasEscapes);
+            if (i >= limit) {
+                return limit;
+            }
+            if (buffer[i] == '\n') {
+                return i + 1;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Finds the quote closing a quoted field and tells whether the field has doubled quotes in
+     * {@link #quoteHasEscapes}.
+     *
+     * @param start the offset of the first character after the opening quote
+     * @return the offset of the closing quote, {@link #MORE_INPUT} if more input is needed to find it, or
+     *         {@link #NOT_CLOSED} if the field is not closed within {@link #MAX_QUOTED_LENGTH} characters or
+     *         before the end of the input
+     */
+    private int closingQuote(int start) {
+        quoteHasEscapes = false;
+        int i = start;
+        while (true) {
+            if (i - start >= MAX_QUOTED_LENGTH) {
+                return NOT_CLOSED;
+            }
+            if (i >= limit) {
+                return endOfInput ? NOT_CLOSED : MORE_INPUT;
+            }
+            if (buffer[i] == '"') {
+                if (i + 1 >= limit && !endOfInput) {
+                    return MORE_INPUT;
+                }
+                if (i + 1 < limit && buffer[i + 1] == '"') {
+                    quoteHasEscapes = true;
+                    i += 2;
+                    continue;
+                }
+                return i;
+            }
+            i++;
+        }
+    }
+
+    private void addField(int start, int end, boolean hasEscapes) {
+        if (fieldCount == starts.length) {
+            starts = Arrays.copyOf(starts, fieldCount * 2);
+            ends = Arrays.copyOf(ends, fieldCount * 2);
+            escaped = Arrays.copyOf(escaped, fieldCount * 2);
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = end;
+        escaped[fieldCount] = hasEscapes;
+        fieldCount++;
+    }
+
+    /**
+     * Moves the pending partial record to the front of the buffer, growing the buffer if the record fills it
+     * entirely, and reads more input after it.
+     */
+    private void fill() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        } else if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    private int digits(int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
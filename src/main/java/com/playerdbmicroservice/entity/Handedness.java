@@ -0,0 +1,15 @@
+package com.playerdbmicroservice.entity;
+
+/**
+ * The hand a player bats or throws with, stored by its one-letter code from the player CSV.
+ */
+public enum Handedness {
+    /** Right-handed. */
+    R,
+    /** Left-handed. */
+    L,
+    /** Both hands: a switch hitter. */
+    B,
+    /** Both hands: a switch pitcher. */
+    S
+}
@@ -0,0 +1,95 @@
+package com.playerdbmicroservice.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+
+/**
+ * A Kafka record waiting in the transactional outbox. Outbox messages are written in the same transaction
+ * as the data change they describe and relayed to Kafka after it commits, in ID order. A message the relay
+ * failed to deliver too many times is kept as a dead letter and no longer relayed.
+ */
+@Entity
+public class OutboxMessage {
+
+    /**
+     * The maximum length of a payload in bytes.
+     */
+    public static final int MAX_PAYLOAD_LENGTH = 65536;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false)
+    private String topic;
+    private String messageKey;
+    @Column(nullable = false, length = MAX_PAYLOAD_LENGTH)
+    private byte[] payload;
+    @Column(nullable = false)
+    private int attempts;
+    @Column(nullable = false)
+    private boolean deadLetter;
+
+    public OutboxMessage() {
+    }
+
+    public OutboxMessage(String topic, String messageKey, byte[] payload) {
+        this.topic = topic;
+        this.messageKey = messageKey;
+        this.payload = payload;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public String getMessageKey() {
+        return messageKey;
+    }
+
+    public void setMessageKey(String messageKey) {
+        this.messageKey = messageKey;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+
+    /**
+     * Returns the number of failed attempts to deliver this message.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public boolean isDeadLetter() {
+        return deadLetter;
+    }
+
+    public void setDeadLetter(boolean deadLetter) {
+        this.deadLetter = deadLetter;
+    }
+}
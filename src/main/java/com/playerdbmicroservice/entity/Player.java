@@ -1,35 +1,58 @@
 package com.playerdbmicroservice.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDate;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_player_name_last", columnList = "nameLast, nameFirst"),
+        @Index(name = "idx_player_name_first", columnList = "nameFirst"),
+        @Index(name = "idx_player_birth_country", columnList = "birthCountry, birthYear"),
+        @Index(name = "idx_player_birth_country_name_last", columnList = "birthCountry, nameLast"),
+        @Index(name = "idx_player_birth_year", columnList = "birthYear"),
+        @Index(name = "idx_player_debut", columnList = "debut"),
+        @Index(name = "idx_player_final_game", columnList = "finalGame")
+})
 public class Player {
     @Id
     private String playerID;
-    private Integer birthYear;
-    private Integer birthMonth;
-    private Integer birthDay;
+    private Short birthYear;
+    private Byte birthMonth;
+    private Byte birthDay;
     private String birthCountry;
     private String birthState;
     private String birthCity;
-    private Integer deathYear;
-    private Integer deathMonth;
-    private Integer deathDay;
+    private Short deathYear;
+    private Byte deathMonth;
+    private Byte deathDay;
     private String deathCountry;
     private String deathState;
     private String deathCity;
     private String nameFirst;
     private String nameLast;
     private String nameGiven;
-    private Integer weight;
-    private Integer height;
-    private String bats;
-    private String throwsHand; // Changed from "throws" to "throwsHand"
-    private String debut;
-    private String finalGame;
+    private Short weight;
+    private Short height;
+    @Enumerated(EnumType.STRING)
+    @Column(length = 1)
+    private Handedness bats;
+    @Enumerated(EnumType.STRING)
+    @Column(length = 1)
+    private Handedness throwsHand; // Changed from "throws" to "throwsHand"
+    private LocalDate debut;
+    private LocalDate finalGame;
     private String retroID;
     private String bbrefID;
+    @JsonIgnore
+    private Long contentHash; // Hash of the source CSV row, used to skip unchanged rows on reload
 
     // Getters and Setters
     public String getPlayerID() {
@@ -40,27 +63,27 @@ public class Player {
         this.playerID = playerID;
     }
 
-    public Integer getBirthYear() {
+    public Short getBirthYear() {
         return birthYear;
     }
 
-    public void setBirthYear(Integer birthYear) {
+    public void setBirthYear(Short birthYear) {
         this.birthYear = birthYear;
     }
 
-    public Integer getBirthMonth() {
+    public Byte getBirthMonth() {
         return birthMonth;
     }
 
-    public void setBirthMonth(Integer birthMonth) {
+    public void setBirthMonth(Byte birthMonth) {
         this.birthMonth = birthMonth;
     }
 
-    public Integer getBirthDay() {
+    public Byte getBirthDay() {
         return birthDay;
     }
 
-    public void setBirthDay(Integer birthDay) {
+    public void setBirthDay(Byte birthDay) {
         this.birthDay = birthDay;
     }
 
@@ -88,27 +111,27 @@ public class Player {
         this.birthCity = birthCity;
     }
 
-    public Integer getDeathYear() {
+    public Short getDeathYear() {
         return deathYear;
     }
 
-    public void setDeathYear(Integer deathYear) {
+    public void setDeathYear(Short deathYear) {
         this.deathYear = deathYear;
     }
 
-    public Integer getDeathMonth() {
+    public Byte getDeathMonth() {
         return deathMonth;
     }
 
-    public void setDeathMonth(Integer deathMonth) {
+    public void setDeathMonth(Byte deathMonth) {
         this.deathMonth = deathMonth;
     }
 
-    public Integer getDeathDay() {
+    public Byte getDeathDay() {
         return deathDay;
     }
 
-    public void setDeathDay(Integer deathDay) {
+    public void setDeathDay(Byte deathDay) {
         this.deathDay = deathDay;
     }
 
@@ -160,51 +183,51 @@ public class Player {
         this.nameGiven = nameGiven;
     }
 
-    public Integer getWeight() {
+    public Short getWeight() {
         return weight;
     }
 
-    public void setWeight(Integer weight) {
+    public void setWeight(Short weight) {
         this.weight = weight;
     }
 
-    public Integer getHeight() {
+    public Short getHeight() {
         return height;
     }
 
-    public void setHeight(Integer height) {
+    public void setHeight(Short height) {
         this.height = height;
     }
 
-    public String getBats() {
+    public Handedness getBats() {
         return bats;
     }
 
-    public void setBats(String bats) {
+    public void setBats(Handedness bats) {
         this.bats = bats;
     }
 
-    public String getThrowsHand() {
+    public Handedness getThrowsHand() {
         return throwsHand;
     }
 
-    public void setThrowsHand(String throwsHand) {
+    public void setThrowsHand(Handedness throwsHand) {
         this.throwsHand = throwsHand;
     }
 
-    public String getDebut() {
+    public LocalDate getDebut() {
         return debut;
     }
 
-    public void setDebut(String debut) {
+    public void setDebut(LocalDate debut) {
         this.debut = debut;
     }
 
-    public String getFinalGame() {
+    public LocalDate getFinalGame() {
         return finalGame;
     }
 
-    public void setFinalGame(String finalGame) {
+    public void setFinalGame(LocalDate finalGame) {
         this.finalGame = finalGame;
     }
 
@@ -223,4 +246,12 @@ public class Player {
     public void setBbrefID(String bbrefID) {
         this.bbrefID = bbrefID;
     }
+
+    public Long getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(Long contentHash) {
+        this.contentHash = contentHash;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.playerdbmicroservice.event;
+
+import com.playerdbmicroservice.entity.Player;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A change to a player published on the players topic.
+ * <ul>
+ *     <li>{@link Type#CREATED} carries every non-null field of the new player.</li>
+ *     <li>{@link Type#UPDATED} carries only the fields whose value changed, including fields that became null.</li>
+ *     <li>{@link Type#DELETED} carries no fields.</li>
+ * </ul>
+ */
+public class PlayerEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final String playerID;
+    private final Map<PlayerField, Object> fields;
+
+    public PlayerEvent(Type type, String playerID, Map<PlayerField, Object> fields) {
+        this.type = type;
+        this.playerID = playerID;
+        this.fields = fields;
+    }
+
+    public static PlayerEvent created(Player player) {
+        Map<PlayerField, Object> fields = new EnumMap<>(PlayerField.class);
+        for (PlayerField field : PlayerField.values()) {
+            Object value = field.get(player);
+            if (value != null) {
+                fields.put(field, value);
+            }
+        }
+        return new PlayerEvent(Type.CREATED, player.getPlayerID(), fields);
+    }
+
+    public static PlayerEvent updated(Player before, Player after) {
+        Map<PlayerField, Object> fields = new EnumMap<>(PlayerField.class);
+        for (PlayerField field : PlayerField.values()) {
+            Object value = field.get(after);
+            if (!Objects.equals(field.get(before), value)) {
+                fields.put(field, value);
+            }
+        }
+        return new PlayerEvent(Type.UPDATED, after.getPlayerID(), fields);
+    }
+
+    public static PlayerEvent deleted(String playerID) {
+        return new PlayerEvent(Type.DELETED, playerID, Collections.emptyMap());
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getPlayerID() {
+        return playerID;
+    }
+
+    /**
+     * Returns the fields carried by this event. A field mapped to null was cleared.
+     */
+    public Map<PlayerField, Object> getFields() {
+        return Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * Applies the fields of this event to a player, e.g. a consumer's local copy.
+     *
+     * @param player the player to update
+     */
+    public void applyTo(Player player) {
+        player.setPlayerID(playerID);
+        fields.forEach((field, value) -> field.set(player, value));
+    }
+}
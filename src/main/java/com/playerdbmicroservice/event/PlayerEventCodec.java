@@ -0,0 +1,141 @@
+package com.playerdbmicroservice.event;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of {@link PlayerEvent}s.
+ * <p>
+ * Layout, all integers as unsigned LEB128 varints:
+ * <pre>
+ * byte     header: format version (high nibble) | event type ordinal (low nibble)
+ * varint   playerID length, followed by its UTF-8 bytes
+ * varint   field mask: bit n set if {@link PlayerField} with ordinal n is present
+ * ...      for each present field in ordinal order:
+ *            INT    varint, 0 for null, otherwise zigzag(value) + 1
+ *            STRING varint, 0 for null, otherwise byte length + 1, followed by the UTF-8 bytes
+ * </pre>
+ * Absent fields cost nothing, so an update of a single field is typically under 20 bytes.
+ */
+public final class PlayerEventCodec {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private static final PlayerField[] FIELDS = PlayerField.values();
+
+    private static final PlayerEvent.Type[] TYPES = PlayerEvent.Type.values();
+
+    private PlayerEventCodec() {
+    }
+
+    public static byte[] encode(PlayerEvent event) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(FORMAT_VERSION << 4 | event.getType().ordinal());
+        writeBytes(out, event.getPlayerID().getBytes(StandardCharsets.UTF_8));
+
+        Map<PlayerField, Object> fields = event.getFields();
+        long mask = 0;
+        for (PlayerField field : fields.keySet()) {
+            mask |= 1L << field.ordinal();
+        }
+        writeVarint(out, mask);
+
+        for (PlayerField field : FIELDS) {
+            if ((mask & 1L << field.ordinal()) == 0) {
+                continue;
+            }
+            Object value = fields.get(field);
+            if (value == null) {
+                writeVarint(out, 0);
+            } else if (field.getKind() == PlayerField.Kind.INT) {
+                int v = (Integer) value;
+                writeVarint(out, ((long) (v << 1 ^ v >> 31) & 0xFFFFFFFFL) + 1);
+            } else {
+                byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                writeVarint(out, bytes.length + 1L);
+                out.write(bytes, 0, bytes.length);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static PlayerEvent decode(byte[] data) {
+        Reader in = new Reader(data);
+        int header = in.readByte();
+        if (header >>> 4 != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported player event format version " + (header >>> 4));
+        }
+        PlayerEvent.Type type = TYPES[header & 0x0F];
+        String playerID = in.readString((int) in.readVarint());
+
+        long mask = in.readVarint();
+        Map<PlayerField, Object> fields = new EnumMap<>(PlayerField.class);
+        for (PlayerField field : FIELDS) {
+            if ((mask & 1L << field.ordinal()) == 0) {
+                continue;
+            }
+            long raw = in.readVarint();
+            if (raw == 0) {
+                fields.put(field, null);
+            } else if (field.getKind() == PlayerField.Kind.INT) {
+                int zigzag = (int) (raw - 1);
+                fields.put(field, zigzag >>> 1 ^ -(zigzag & 1));
+            } else {
+                fields.put(field, in.readString((int) (raw - 1)));
+            }
+        }
+        return new PlayerEvent(type, playerID, fields);
+    }
+
+    private static void writeBytes(ByteArrayOutputStream out, byte[] bytes) {
+        writeVarint(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+
+        private Reader(byte[] data) {
+            this.data = data;
+        }
+
+        private int readByte() {
+            if (position >= data.length) {
+                throw new IllegalArgumentException("Truncated player event");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        private long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in player event");
+        }
+
+        private String readString(int length) {
+            if (length < 0 || position + length > data.length) {
+                throw new IllegalArgumentException("Truncated player event");
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.playerdbmicroservice.event;
+
+import com.playerdbmicroservice.entity.Handedness;
+import com.playerdbmicroservice.entity.Player;
+
+import java.time.LocalDate;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * The attributes of a {@link Player} carried by a {@link PlayerEvent}, in wire order. The ordinal of each
+ * constant is its bit in the field mask of the binary encoding, so constants must only ever be appended.
+ * <p>
+ * Values are exchanged in their wire form, independent of how the entity stores them: {@link Kind#INT} fields
+ * as {@link Integer}, {@link Kind#STRING} fields as {@link String}, with dates as ISO {@code yyyy-MM-dd} and
+ * hands as their one-letter code.
+ */
+public enum PlayerField {
+    BIRTH_YEAR(Kind.INT, p -> toInt(p.getBirthYear()), (p, v) -> p.setBirthYear(toShort(v))),
+    BIRTH_MONTH(Kind.INT, p -> toInt(p.getBirthMonth()), (p, v) -> p.setBirthMonth(toByte(v))),
+    BIRTH_DAY(Kind.INT, p -> toInt(p.getBirthDay()), (p, v) -> p.setBirthDay(toByte(v))),
+    BIRTH_COUNTRY(Kind.STRING, Player::getBirthCountry, (p, v) -> p.setBirthCountry((String) v)),
+    BIRTH_STATE(Kind.STRING, Player::getBirthState, (p, v) -> p.setBirthState((String) v)),
+    BIRTH_CITY(Kind.STRING, Player::getBirthCity, (p, v) -> p.setBirthCity((String) v)),
+    DEATH_YEAR(Kind.INT, p -> toInt(p.getDeathYear()), (p, v) -> p.setDeathYear(toShort(v))),
+    DEATH_MONTH(Kind.INT, p -> toInt(p.getDeathMonth()), (p, v) -> p.setDeathMonth(toByte(v))),
+    DEATH_DAY(Kind.INT, p -> toInt(p.getDeathDay()), (p, v) -> p.setDeathDay(toByte(v))),
+    DEATH_COUNTRY(Kind.STRING, Player::getDeathCountry, (p, v) -> p.setDeathCountry((String) v)),
+    DEATH_STATE(Kind.STRING, Player::getDeathState, (p, v) -> p.setDeathState((String) v)),
+    DEATH_CITY(Kind.STRING, Player::getDeathCity, (p, v) -> p.setDeathCity((String) v)),
+    NAME_FIRST(Kind.STRING, Player::getNameFirst, (p, v) -> p.setNameFirst((String) v)),
+    NAME_LAST(Kind.STRING, Player::getNameLast, (p, v) -> p.setNameLast((String) v)),
+    NAME_GIVEN(Kind.STRING, Player::getNameGiven, (p, v) -> p.setNameGiven((String) v)),
+    WEIGHT(Kind.INT, p -> toInt(p.getWeight()), (p, v) -> p.setWeight(toShort(v))),
+    HEIGHT(Kind.INT, p -> toInt(p.getHeight()), (p, v) -> p.setHeight(toShort(v))),
+    BATS(Kind.STRING, p -> toCode(p.getBats()), (p, v) -> p.setBats(toHandedness(v))),
+    THROWS_HAND(Kind.STRING, p -> toCode(p.getThrowsHand()), (p, v) -> p.setThrowsHand(toHandedness(v))),
+    DEBUT(Kind.STRING, p -> toIsoDate(p.getDebut()), (p, v) -> p.setDebut(toLocalDate(v))),
+    FINAL_GAME(Kind.STRING, p -> toIsoDate(p.getFinalGame()), (p, v) -> p.setFinalGame(toLocalDate(v))),
+    RETRO_ID(Kind.STRING, Player::getRetroID, (p, v) -> p.setRetroID((String) v)),
+    BBREF_ID(Kind.STRING, Player::getBbrefID, (p, v) -> p.setBbrefID((String) v));
+
+    /**
+     * How a field value is encoded on the wire.
+     */
+    public enum Kind {
+        INT, STRING
+    }
+
+    private final Kind kind;
+    private final Function<Player, Object> getter;
+    private final BiConsumer<Player, Object> setter;
+
+    PlayerField(Kind kind, Function<Player, Object> getter, BiConsumer<Player, Object> setter) {
+        this.kind = kind;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Object get(Player player) {
+        return getter.apply(player);
+    }
+
+    public void set(Player player, Object value) {
+        setter.accept(player, value);
+    }
+
+    private static Integer toInt(Number value) {
+        return value == null ? null : value.intValue();
+    }
+
+    private static Short toShort(Object value) {
+        return value == null ? null : ((Integer) value).shortValue();
+    }
+
+    private static Byte toByte(Object value) {
+        return value == null ? null : ((Integer) value).byteValue();
+    }
+
+    private static String toCode(Handedness value) {
+        return value == null ? null : value.name();
+    }
+
+    private static Handedness toHandedness(Object value) {
+        return value == null ? null : Handedness.valueOf((String) value);
+    }
+
+    private static String toIsoDate(LocalDate value) {
+        return value == null ? null : value.toString();
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value == null ? null : LocalDate.parse((String) value);
+    }
+}
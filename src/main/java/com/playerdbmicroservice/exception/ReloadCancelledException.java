@@ -0,0 +1,8 @@
+package com.playerdbmicroservice.exception;
+
+public class ReloadCancelledException extends RuntimeException {
+
+    public ReloadCancelledException(String message) {
+        super(message);
+    }
+}
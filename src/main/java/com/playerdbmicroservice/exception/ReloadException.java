@@ -0,0 +1,8 @@
+package com.playerdbmicroservice.exception;
+
+public class ReloadException extends RuntimeException {
+
+    public ReloadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
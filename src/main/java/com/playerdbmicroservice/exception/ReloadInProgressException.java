@@ -0,0 +1,8 @@
+package com.playerdbmicroservice.exception;
+
+public class ReloadInProgressException extends RuntimeException {
+
+    public ReloadInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.playerdbmicroservice.exception;
+
+public class ReloadJobNotFoundException extends RuntimeException {
+
+    public ReloadJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.playerdbmicroservice.repository;
+
+import com.playerdbmicroservice.entity.OutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long>, OutboxMessageRepositoryCustom {
+
+    /**
+     * Returns the oldest pending outbox messages, in the order they were written, skipping dead letters.
+     */
+    List<OutboxMessage> findAllByDeadLetterFalseOrderByIdAsc(Pageable pageable);
+
+    /**
+     * Returns those of the given message keys that have a dead letter in the outbox.
+     */
+    @Query("select distinct m.messageKey from OutboxMessage m where m.deadLetter = true and m.messageKey in :keys")
+    List<String> findDeadLetterKeys(@Param("keys") Collection<String> keys);
+}
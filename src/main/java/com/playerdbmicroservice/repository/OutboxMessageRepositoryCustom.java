@@ -0,0 +1,19 @@
+package com.playerdbmicroservice.repository;
+
+import com.playerdbmicroservice.entity.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Bulk write operations on the outbox that bypass the per-entity JPA lifecycle.
+ */
+public interface OutboxMessageRepositoryCustom {
+
+    /**
+     * Appends messages to the outbox using a single JDBC batch. Must be called within the transaction
+     * of the data change the messages describe, so they are committed or rolled back together with it.
+     *
+     * @param messages the messages to append, in publishing order
+     */
+    void appendAll(List<OutboxMessage> messages);
+}
@@ -0,0 +1,28 @@
+package com.playerdbmicroservice.repository;
+
+import com.playerdbmicroservice.entity.OutboxMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link OutboxMessageRepositoryCustom}. Identity-generated IDs disable Hibernate's
+ * insert batching, so messages are inserted with a plain JDBC batch instead.
+ */
+public class OutboxMessageRepositoryImpl implements OutboxMessageRepositoryCustom {
+
+    private static final String APPEND_SQL = "INSERT INTO outbox_message (topic, message_key, payload, attempts, dead_letter) VALUES (?, ?, ?, 0, FALSE)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void appendAll(List<OutboxMessage> messages) {
+        jdbcTemplate.batchUpdate(APPEND_SQL, messages, messages.size(), (ps, message) -> {
+            ps.setString(1, message.getTopic());
+            ps.setString(2, message.getMessageKey());
+            ps.setBytes(3, message.getPayload());
+        });
+    }
+}
@@ -0,0 +1,11 @@
+package com.playerdbmicroservice.repository;
+
+/**
+ * Projection of a player onto its ID and the hash of the CSV row it was last loaded from.
+ */
+public interface PlayerContentHash {
+
+    String getPlayerID();
+
+    Long getContentHash();
+}
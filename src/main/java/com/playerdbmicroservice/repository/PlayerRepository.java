@@ -2,10 +2,39 @@ package com.playerdbmicroservice.repository;
 
 
 import com.playerdbmicroservice.entity.Player;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
-public interface  PlayerRepository extends JpaRepository<Player, String> {
 
-}
\ No newline at end of file
+
+public interface  PlayerRepository extends JpaRepository<Player, String>, JpaSpecificationExecutor<Player>, PlayerRepositoryCustom {
+
+    /**
+     * Returns the stored content hashes of the given players without loading the full entities.
+     */
+    List<PlayerContentHash> findByPlayerIDIn(Collection<String> playerIDs);
+
+    /**
+     * Returns the players with an ID greater than the given one, in ID order. Limited by the pageable
+     * without running a count query.
+     */
+    List<Player> findByPlayerIDGreaterThanOrderByPlayerIDAsc(String playerID, Pageable pageable);
+
+    /**
+     * Streams all players in ID order from a database cursor. Must be consumed within a transaction, and
+     * the caller should detach each player once processed so the persistence context does not grow.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select p from Player p order by p.playerID")
+    Stream<Player> streamAllByOrderByPlayerID();
+}
@@ -0,0 +1,50 @@
+package com.playerdbmicroservice.repository;
+
+import com.playerdbmicroservice.entity.Player;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bulk write operations on players that bypass the per-entity JPA lifecycle.
+ */
+public interface PlayerRepositoryCustom {
+
+    /**
+     * Inserts or updates all given players using batched JDBC statements.
+     * Existing rows are matched on playerID and overwritten with the given values.
+     *
+     * @param players the players to write
+     */
+    void upsertAll(List<Player> players);
+
+    /**
+     * Prepares an empty, transaction-scoped staging table for the player IDs of a reload.
+     * Must be called within the reload transaction, before {@link #stagePlayerIds(Collection)}.
+     */
+    void resetStagedPlayerIds();
+
+    /**
+     * Adds player IDs to the staging table. Duplicate IDs are ignored.
+     *
+     * @param playerIds the IDs to stage
+     */
+    void stagePlayerIds(Collection<String> playerIds);
+
+    /**
+     * Returns the IDs of stored players that are not present in the staging table.
+     *
+     * @return the IDs of players missing from the staged set
+     */
+    List<String> findUnstagedPlayerIds();
+
+    /**
+     * Returns the first players matching a specification in player ID order, without counting all matches.
+     *
+     * @param spec the search predicate
+     * @param limit the maximum number of players to return
+     * @return the matching players
+     */
+    List<Player> findAllOrderedById(Specification<Player> spec, int limit);
+}
@@ -0,0 +1,101 @@
+package com.playerdbmicroservice.repository;
+
+import com.playerdbmicroservice.entity.Player;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link PlayerRepositoryCustom}, picked up by Spring Data as a fragment of
+ * {@link PlayerRepository}. Uses H2's {@code MERGE INTO ... KEY} so an upsert is one statement per row
+ * with no preceding SELECT, and sends the rows to the database as a single JDBC batch. Searches use the
+ * JPA criteria API so they can be limited without the count query of a {@code Page}.
+ */
+public class PlayerRepositoryImpl implements PlayerRepositoryCustom {
+
+    private static final String UPSERT_SQL = "MERGE INTO player (playerid, birth_year, birth_month, birth_day, "
+            + "birth_country, birth_state, birth_city, death_year, death_month, death_day, death_country, "
+            + "death_state, death_city, name_first, name_last, name_given, weight, height, bats, throws_hand, "
+            + "debut, final_game, retroid, bbrefid, content_hash) KEY (playerid) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String CREATE_STAGING_SQL = "CREATE LOCAL TEMPORARY TABLE IF NOT EXISTS player_reload_id "
+            + "(playerid VARCHAR(255) PRIMARY KEY) TRANSACTIONAL";
+
+    private static final String STAGE_ID_SQL = "MERGE INTO player_reload_id (playerid) KEY (playerid) VALUES (?)";
+
+    private static final String FIND_UNSTAGED_SQL = "SELECT p.playerid FROM player p WHERE NOT EXISTS "
+            + "(SELECT 1 FROM player_reload_id s WHERE s.playerid = p.playerid)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void upsertAll(List<Player> players) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, players, players.size(), (ps, player) -> {
+            ps.setString(1, player.getPlayerID());
+            ps.setObject(2, player.getBirthYear());
+            ps.setObject(3, player.getBirthMonth());
+            ps.setObject(4, player.getBirthDay());
+            ps.setString(5, player.getBirthCountry());
+            ps.setString(6, player.getBirthState());
+            ps.setString(7, player.getBirthCity());
+            ps.setObject(8, player.getDeathYear());
+            ps.setObject(9, player.getDeathMonth());
+            ps.setObject(10, player.getDeathDay());
+            ps.setString(11, player.getDeathCountry());
+            ps.setString(12, player.getDeathState());
+            ps.setString(13, player.getDeathCity());
+            ps.setString(14, player.getNameFirst());
+            ps.setString(15, player.getNameLast());
+            ps.setString(16, player.getNameGiven());
+            ps.setObject(17, player.getWeight());
+            ps.setObject(18, player.getHeight());
+            ps.setString(19, player.getBats() == null ? null : player.getBats().name());
+            ps.setString(20, player.getThrowsHand() == null ? null : player.getThrowsHand().name());
+            ps.setObject(21, player.getDebut());
+            ps.setObject(22, player.getFinalGame());
+            ps.setString(23, player.getRetroID());
+            ps.setString(24, player.getBbrefID());
+            ps.setObject(25, player.getContentHash());
+        });
+    }
+
+    @Override
+    public void resetStagedPlayerIds() {
+        // Local temporary tables are private to the connection, so concurrent sessions never see each other's IDs
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        jdbcTemplate.update("DELETE FROM player_reload_id");
+    }
+
+    @Override
+    public void stagePlayerIds(Collection<String> playerIds) {
+        jdbcTemplate.batchUpdate(STAGE_ID_SQL, playerIds, playerIds.size(), (ps, playerId) -> ps.setString(1, playerId));
+    }
+
+    @Override
+    public List<String> findUnstagedPlayerIds() {
+        return jdbcTemplate.queryForList(FIND_UNSTAGED_SQL, String.class);
+    }
+
+    @Override
+    public List<Player> findAllOrderedById(Specification<Player> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Player> query = cb.createQuery(Player.class);
+        Root<Player> root = query.from(Player.class);
+        query.where(spec.toPredicate(root, query, cb)).orderBy(cb.asc(root.get("playerID")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,52 @@
+package com.playerdbmicroservice.repository;
+
+import com.playerdbmicroservice.entity.Player;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Search predicates on players. Each predicate compares a column directly, without wrapping it in a
+ * function, so that the database can use the secondary indexes declared on {@link Player}.
+ */
+public final class PlayerSpecifications {
+
+    private PlayerSpecifications() {
+    }
+
+    public static Specification<Player> hasPrefix(String attribute, String prefix) {
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(root.get(attribute), pattern, '\\');
+    }
+
+    public static Specification<Player> equalTo(String attribute, Object value) {
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    public static Specification<Player> bornFrom(short year) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("birthYear"), year);
+    }
+
+    public static Specification<Player> bornUntil(short year) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("birthYear"), year);
+    }
+
+    /**
+     * Matches players whose career did not end before the given date.
+     */
+    public static Specification<Player> activeSince(LocalDate date) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("finalGame"), date);
+    }
+
+    /**
+     * Matches players who debuted on or before the given date. Players who never debuted have no debut
+     * date and do not match.
+     */
+    public static Specification<Player> activeUntil(LocalDate date) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("debut"), date);
+    }
+
+    public static Specification<Player> idAfter(String playerID) {
+        return (root, query, cb) -> cb.greaterThan(root.get("playerID"), playerID);
+    }
+}
@@ -0,0 +1,113 @@
+package com.playerdbmicroservice.repository;
+
+import com.playerdbmicroservice.entity.Handedness;
+import com.playerdbmicroservice.entity.Player;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Reads players over R2DBC for the reactive read API. Queries the player table that JPA maps for {@link Player},
+ * so both stacks share one schema, and maps the rows by the column names the JPA mapping uses. Only active when
+ * the application runs as a reactive web application.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePlayerRepository {
+
+    private static final String SELECT_PLAYERS = "SELECT playerid, birth_year, birth_month, birth_day, "
+            + "birth_country, birth_state, birth_city, death_year, death_month, death_day, death_country, "
+            + "death_state, death_city, name_first, name_last, name_given, weight, height, bats, throws_hand, "
+            + "debut, final_game, retroid, bbrefid FROM player ";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Mono<Player> findById(String playerID) {
+        return databaseClient.sql(SELECT_PLAYERS + "WHERE playerid = :playerID")
+                .bind("playerID", playerID)
+                .map((row, metadata) -> toPlayer(row))
+                .one();
+    }
+
+    /**
+     * Returns up to {@code limit} players with an ID greater than {@code afterPlayerID}, in ID order, with a
+     * seek on the primary key.
+     *
+     * @param afterPlayerID the ID to continue after, or null to start from the beginning
+     * @param limit the maximum number of players to return
+     * @return the players
+     */
+    public Flux<Player> findAfter(String afterPlayerID, int limit) {
+        return databaseClient.sql(SELECT_PLAYERS + "WHERE playerid > :after ORDER BY playerid LIMIT :limit")
+                .bind("after", afterPlayerID == null ? "" : afterPlayerID)
+                .bind("limit", limit)
+                .map((row, metadata) -> toPlayer(row))
+                .all();
+    }
+
+    public Flux<Player> findPage(int page, int size) {
+        return databaseClient.sql(SELECT_PLAYERS + "ORDER BY playerid LIMIT :limit OFFSET :offset")
+                .bind("limit", size)
+                .bind("offset", (long) page * size)
+                .map((row, metadata) -> toPlayer(row))
+                .all();
+    }
+
+    /**
+     * Streams all players with an ID greater than {@code afterPlayerID}, in ID order. The players are read with
+     * one {@link #findAfter} query per {@code pageSize} players, following the subscriber's demand: at most one
+     * page is read ahead of what it requested, so a slow client holds at most two pages in memory and no
+     * open cursor.
+     *
+     * @param afterPlayerID the ID to continue after, or null to start from the beginning
+     * @param pageSize the number of players read per query
+     * @return the players
+     */
+    public Flux<Player> streamAfter(String afterPlayerID, int pageSize) {
+        return findAfter(afterPlayerID, pageSize).collectList()
+                .expand(page -> page.size() < pageSize
+                        ? Mono.empty()
+                        : findAfter(page.get(page.size() - 1).getPlayerID(), pageSize).collectList())
+                .concatMapIterable(page -> page, 1);
+    }
+
+    private static Player toPlayer(Row row) {
+        Player player = new Player();
+        player.setPlayerID(row.get("playerid", String.class));
+        player.setBirthYear(row.get("birth_year", Short.class));
+        player.setBirthMonth(row.get("birth_month", Byte.class));
+        player.setBirthDay(row.get("birth_day", Byte.class));
+        player.setBirthCountry(row.get("birth_country", String.class));
+        player.setBirthState(row.get("birth_state", String.class));
+        player.setBirthCity(row.get("birth_city", String.class));
+        player.setDeathYear(row.get("death_year", Short.class));
+        player.setDeathMonth(row.get("death_month", Byte.class));
+        player.setDeathDay(row.get("death_day", Byte.class));
+        player.setDeathCountry(row.get("death_country", String.class));
+        player.setDeathState(row.get("death_state", String.class));
+        player.setDeathCity(row.get("death_city", String.class));
+        player.setNameFirst(row.get("name_first", String.class));
+        player.setNameLast(row.get("name_last", String.class));
+        player.setNameGiven(row.get("name_given", String.class));
+        player.setWeight(row.get("weight", Short.class));
+        player.setHeight(row.get("height", Short.class));
+        player.setBats(handedness(row.get("bats", String.class)));
+        player.setThrowsHand(handedness(row.get("throws_hand", String.class)));
+        player.setDebut(row.get("debut", LocalDate.class));
+        player.setFinalGame(row.get("final_game", LocalDate.class));
+        player.setRetroID(row.get("retroid", String.class));
+        player.setBbrefID(row.get("bbrefid", String.class));
+        return player;
+    }
+
+    private static Handedness handedness(String value) {
+        return value == null ? null : Handedness.valueOf(value);
+    }
+}
@@ -1,21 +1,67 @@
 package com.playerdbmicroservice.service;
 
+import com.playerdbmicroservice.config.VirtualThreads;
+import com.playerdbmicroservice.csv.CountingInputStream;
+import com.playerdbmicroservice.csv.CsvChunk;
+import com.playerdbmicroservice.csv.CsvChunkSplitter;
+import com.playerdbmicroservice.csv.MappedFileReader;
+import com.playerdbmicroservice.csv.PlayerCsvParser;
+import com.playerdbmicroservice.entity.Handedness;
+import com.playerdbmicroservice.entity.OutboxMessage;
 import com.playerdbmicroservice.entity.Player;
+import com.playerdbmicroservice.event.PlayerEvent;
+import com.playerdbmicroservice.event.PlayerEventCodec;
+import com.playerdbmicroservice.exception.InvalidRequestException;
+import com.playerdbmicroservice.exception.ReloadCancelledException;
+import com.playerdbmicroservice.exception.ReloadException;
+import com.playerdbmicroservice.repository.OutboxMessageRepository;
+import com.playerdbmicroservice.repository.PlayerContentHash;
 import com.playerdbmicroservice.repository.PlayerRepository;
-import com.opencsv.CSVReader;
+import com.github.luben.zstd.ZstdInputStream;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import javax.transaction.Transactional;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 @Service
 public class CSVLoaderService {
@@ -26,55 +72,532 @@ public class CSVLoaderService {
     private PlayerRepository playerRepository;
 
     @Autowired
-    private KafkaProducerService kafkaProducerService;
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private PlayerNameIndex playerNameIndex;
+
+    @Autowired
+    private PlayerSnapshotLoader playerSnapshotLoader;
+
+    @Autowired
+    private PlayerDatasetVersion playerDatasetVersion;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private VirtualThreads virtualThreads;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${player.reload.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${player.reload.incremental:true}")
+    private boolean incremental;
+
+    @Value("${player.reload.parallelism:1}")
+    private int parallelism;
+
+    @Value("${player.reload.chunk-size-bytes:4194304}")
+    private long chunkSizeBytes;
+
+    @Value("${player.reload.directory:}")
+    private String reloadDirectory;
+
+    @Value("${player.reload.file:}")
+    private String defaultFile;
 
     private static final String INVALID_PLAYER_TOPIC = "invalid-players";
 
+    private static final String CSV_RESOURCE = "/Player.csv";
+
+    private static final long MIN_CHUNK_SIZE = 64 * 1024;
+
+    private static final String RELOAD_TIMER = "player.reload.duration";
+
+    private static final String PHASE_TIMER = "player.reload.phase";
+
+    private static final String ROWS_COUNTER = "player.reload.rows";
+
+    private static final String INVALID_ROWS_COUNTER = "player.reload.rows.invalid";
+
+    private static final String WRITTEN_ROWS_COUNTER = "player.reload.rows.written";
+
+    private static final String GZIP_SUFFIX = ".gz";
+
+    private static final String ZSTD_SUFFIX = ".zst";
+
+    private static final int DECOMPRESSION_BUFFER_SIZE = 64 * 1024;
+
     /**
-     * Reloads the player data from the CSV file into the database.
+     * Reloads the player data from the CSV file into the database, reporting progress to the given job.
+     * The file is the one requested by the job, else the configured {@code player.reload.file}, else the
+     * bundled {@code Player.csv}; files are resolved in {@code player.reload.directory}. A CSV on disk is read
+     * by {@link #reloadFile}; the bundled file is streamed from the jar when it is not on disk. Any failure,
+     * including a cancellation requested through the job, is rethrown so that the reload transaction is rolled back.
+     *
+     * @param job the job tracking this reload
      */
     @Transactional
-    public void reloadCSV() {
-        try (CSVReader reader = new CSVReader(new InputStreamReader(getClass().getResourceAsStream("/Player.csv")))) {
-            logger.info("Started reloading player data from CSV");
+    public void reloadCSV(ReloadJob job) {
+        try {
+            String file = job.getFile() != null ? job.getFile() : defaultFile.isBlank() ? null : defaultFile;
+            Path csvFile = file != null ? resolveReloadFile(file) : getCsvFile();
+            if (csvFile != null) {
+                reloadFile(csvFile, job);
+            } else {
+                URL url = getClass().getResource(CSV_RESOURCE);
+                if (url == null) {
+                    throw new FileNotFoundException("CSV resource not found: " + CSV_RESOURCE);
+                }
+                URLConnection connection = url.openConnection();
+                job.setTotalBytes(connection.getContentLengthLong());
+                try (Reader reader = new InputStreamReader(new CountingInputStream(connection.getInputStream(), job::addBytesRead),
+                        StandardCharsets.UTF_8)) {
+                    reload(reader, job);
+                }
+            }
+        } catch (ReloadCancelledException e) {
+            logger.info("Reload job {} cancelled", job.getId());
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReloadException("Reload interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ReloadCancelledException) {
+                throw (ReloadCancelledException) e.getCause();
+            }
+            logger.error("Error reading CSV file", e.getCause());
+            throw new ReloadException("Error reading CSV file", e.getCause());
+        } catch (IOException | URISyntaxException e) {
+            logger.error("Error reading CSV file", e);
+            throw new ReloadException("Error reading CSV file", e);
+        }
+    }
+
+    /**
+     * Resolves a file to reload from against the reload directory. The file must be a regular file inside the
+     * directory after symbolic links are followed, so a request cannot read anything else on the host.
+     *
+     * @param file the path of the file, relative to {@code player.reload.directory}
+     * @return the real path of the file
+     * @throws InvalidRequestException if reloading from files is disabled or the file is not in the directory
+     */
+    public Path resolveReloadFile(String file) {
+        if (reloadDirectory.isBlank()) {
+            throw new InvalidRequestException("Reloading from a file is disabled, player.reload.directory is not set");
+        }
+        try {
+            Path directory = Paths.get(reloadDirectory).toRealPath();
+            Path path = directory.resolve(file).normalize();
+            if (path.startsWith(directory) && Files.exists(path)) {
+                Path realPath = path.toRealPath();
+                if (realPath.startsWith(directory) && Files.isRegularFile(realPath)) {
+                    return realPath;
+                }
+            }
+        } catch (IOException | InvalidPathException e) {
+            logger.warn("Cannot resolve reload file {}", file, e);
+        }
+        throw new InvalidRequestException("No such file in the reload directory: " + file);
+    }
 
-            List<String[]> records = reader.readAll();
-            Set<String> csvPlayerIds = getCsvPlayerIds(records);
+    /**
+     * Reloads from a CSV file on disk. A plain file is memory-mapped and decoded as UTF-8 straight from the
+     * mapping, so even a large file is not copied onto the heap, or split into chunks that are parsed
+     * concurrently when parallel ingestion is enabled. {@code .gz} and {@code .zst} files are decompressed as a
+     * stream. Progress is tracked against the size of the file as stored.
+     *
+     * @param csvFile the CSV file, including its header row
+     * @param job the job tracking this reload
+     */
+    private void reloadFile(Path csvFile, ReloadJob job) throws IOException, InterruptedException, ExecutionException {
+        String name = csvFile.getFileName().toString();
+        if (name.endsWith(GZIP_SUFFIX) || name.endsWith(ZSTD_SUFFIX)) {
+            job.setTotalBytes(Files.size(csvFile));
+            try (InputStream compressed = new CountingInputStream(Files.newInputStream(csvFile), job::addBytesRead);
+                 Reader reader = new InputStreamReader(decompress(name, compressed), StandardCharsets.UTF_8)) {
+                reload(reader, job);
+            }
+        } else if (parallelism > 1) {
+            reloadParallel(csvFile, job);
+        } else {
+            try (FileChannel channel = FileChannel.open(csvFile, StandardOpenOption.READ)) {
+                job.setTotalBytes(channel.size());
+                reload(new MappedFileReader(channel, 0, channel.size(), job::addBytesRead), job);
+            }
+        }
+    }
 
-            deleteNonExistingPlayers(csvPlayerIds);
+    private InputStream decompress(String name, InputStream compressed) throws IOException {
+        return name.endsWith(GZIP_SUFFIX)
+                ? new GZIPInputStream(compressed, DECOMPRESSION_BUFFER_SIZE)
+                : new ZstdInputStream(compressed);
+    }
 
-            records.stream().skip(1).forEach(record -> processRecord(record));
+    /**
+     * Streams the CSV records from the given source and reads, validates and upserts them in a single pass.
+     * Valid players are collected into batches of {@code batchSize} rows and written with one bulk upsert per
+     * batch, so only a single batch of rows is held in memory at a time. In incremental mode only rows whose
+     * content differs from the stored player are written and published. Events and invalid records are
+     * appended to the outbox in the reload transaction and relayed to Kafka only after it commits. The IDs of
+     * all rows are staged in the database so that players missing from the CSV can be deleted with a
+     * set-based sweep afterwards.
+     *
+     * @param source the character stream of the CSV file, including its header row
+     * @param job the job tracking this reload
+     */
+    void reload(Reader source, ReloadJob job) throws IOException {
+        ReloadState state = startReload(job);
+        try (PlayerCsvParser parser = new PlayerCsvParser(source)) {
+            parser.next(); // Skip header row
 
-            logger.info("Finished reloading player data from CSV");
-        } catch (Exception e) {
-            logger.error("Error reading CSV file", e);
+            while (parser.next()) {
+                Player player = processRecord(parser);
+                if (player == null) {
+                    queue(state, invalidPlayerMessage(parser));
+                }
+                accept(state, player != null ? player.getPlayerID() : parser.getString(0), player);
+            }
         }
+        finishReload(state);
     }
 
     /**
-     * Processes a single CSV record: validates it, updates or creates a player, and logs errors if any.
+     * Reloads a CSV file by splitting it into record-aligned byte ranges that are parsed and validated on a
+     * pool of {@code parallelism} workers. Parsed chunks are consumed in file order on the calling thread,
+     * which funnels them into the same batched writer as the sequential path, so all database work stays in
+     * the reload transaction. At most two chunks per worker are in flight to keep memory bounded. With virtual
+     * threads enabled each chunk is parsed on its own virtual thread instead, which the in-flight bound limits
+     * the same way.
      *
-     * @param record the CSV record as a String array
+     * @param csvFile the CSV file, including its header row
+     * @param job the job tracking this reload
      */
-    private void processRecord(String[] record) {
-        try {
-            String playerID = record[0];
-            if(isInvalidPlayerID(playerID)) {
-                sendInvalidPlayer(record);
-                return;  // Skip the invalid record
+    void reloadParallel(Path csvFile, ReloadJob job) throws IOException, InterruptedException, ExecutionException {
+        ReloadState state = startReload(job);
+        ExecutorService workers = virtualThreads.newWorkerPool("csv-reload-", parallelism);
+        Deque<Future<ParsedChunk>> inFlight = new ArrayDeque<>();
+        try (FileChannel channel = FileChannel.open(csvFile, StandardOpenOption.READ)) {
+            job.setTotalBytes(channel.size());
+            long targetChunkSize = Math.max(MIN_CHUNK_SIZE,
+                    Math.min(chunkSizeBytes, channel.size() / (parallelism * 4L) + 1));
+            for (CsvChunk chunk : CsvChunkSplitter.split(channel, targetChunkSize)) {
+                if (inFlight.size() >= parallelism * 2) {
+                    accept(state, inFlight.removeFirst().get());
+                }
+                inFlight.addLast(workers.submit(() -> parseChunk(channel, chunk)));
+            }
+            while (!inFlight.isEmpty()) {
+                accept(state, inFlight.removeFirst().get());
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+            workers.shutdownNow();
+        }
+        finishReload(state);
+    }
+
+    /**
+     * Reads and parses one chunk of the CSV file, decoding it straight from a mapping of its byte range.
+     * Runs on a worker thread and does not touch the database.
+     *
+     * @param channel the channel of the CSV file
+     * @param chunk the record-aligned byte range to parse
+     * @return the player IDs of all records in the chunk, the players of its valid records and the outbox
+     *         messages reporting its invalid records
+     */
+    private ParsedChunk parseChunk(FileChannel channel, CsvChunk chunk) throws IOException {
+        ParsedChunk parsed = new ParsedChunk(chunk.length());
+        try (PlayerCsvParser parser = new PlayerCsvParser(
+                new MappedFileReader(channel, chunk.getStart(), chunk.getEnd(), bytes -> { }))) {
+            while (parser.next()) {
+                Player player = processRecord(parser);
+                if (player == null) {
+                    parsed.invalidMessages.add(invalidPlayerMessage(parser));
+                }
+                parsed.playerIds.add(player != null ? player.getPlayerID() : parser.getString(0));
+                parsed.players.add(player);
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Prepares the staging table and the batches of a new reload.
+     *
+     * @param job the job tracking this reload
+     * @return the state of the reload
+     */
+    private ReloadState startReload(ReloadJob job) {
+        logger.info("Started reloading player data from CSV (job {})", job.getId());
+        playerRepository.resetStagedPlayerIds();
+        return new ReloadState(job, batchSize);
+    }
+
+    /**
+     * Adds all records of a parsed chunk to the reload, in the order they appeared in the file.
+     */
+    private void accept(ReloadState state, ParsedChunk chunk) {
+        for (int i = 0; i < chunk.playerIds.size(); i++) {
+            accept(state, chunk.playerIds.get(i), chunk.players.get(i));
+        }
+        chunk.invalidMessages.forEach(message -> queue(state, message));
+        state.job.addBytesRead(chunk.bytes);
+    }
+
+    /**
+     * Adds one CSV record to the reload: stages its player ID and queues the player for writing,
+     * flushing the ID chunk or player batch when they are full.
+     *
+     * @param state the state of the reload
+     * @param playerID the raw player ID of the record
+     * @param player the player parsed from the record, or null if the record is invalid
+     */
+    private void accept(ReloadState state, String playerID, Player player) {
+        state.job.checkCancelled();
+        state.job.addRowsParsed(1);
+        state.rows++;
+        state.playerIds.add(playerID);
+        if (state.playerIds.size() >= batchSize) {
+            stagePlayerIds(state);
+        }
+        if (player == null) {
+            state.job.addInvalidRows(1);
+            state.invalid++;
+        } else {
+            state.batch.add(player);
+            if (state.batch.size() >= batchSize) {
+                write(state);
+            }
+        }
+    }
+
+    /**
+     * Writes the pending batch of a reload and counts the players written.
+     */
+    private void write(ReloadState state) {
+        long start = System.nanoTime();
+        long outboxNanos = state.outboxNanos();
+        int written = writeBatch(state);
+        state.endPhase(ReloadPhase.UPSERT, start, outboxNanos);
+        state.written += written;
+        state.job.addRowsWritten(written);
+        countRows(state);
+    }
+
+    /**
+     * Adds the rows parsed, rejected and written since the previous call to the reload counters, so their rate
+     * follows a long reload batch by batch rather than jumping when it finishes.
+     */
+    private void countRows(ReloadState state) {
+        meterRegistry.counter(ROWS_COUNTER).increment(state.rows - state.countedRows);
+        meterRegistry.counter(INVALID_ROWS_COUNTER).increment(state.invalid - state.countedInvalid);
+        meterRegistry.counter(WRITTEN_ROWS_COUNTER).increment(state.written - state.countedWritten);
+        state.countedRows = state.rows;
+        state.countedInvalid = state.invalid;
+        state.countedWritten = state.written;
+    }
+
+    /**
+     * Queues a message for the outbox, appending the pending messages once a full batch has accumulated.
+     */
+    private void queue(ReloadState state, OutboxMessage message) {
+        state.outbox.add(message);
+        state.messages++;
+        if (state.outbox.size() >= batchSize) {
+            appendOutbox(state);
+        }
+    }
+
+    /**
+     * Appends the pending messages of a reload to the outbox table and clears them so the list can be reused.
+     *
+     * @param state the state of the reload holding the messages
+     */
+    private void appendOutbox(ReloadState state) {
+        if (!state.outbox.isEmpty()) {
+            long start = System.nanoTime();
+            outboxMessageRepository.appendAll(state.outbox);
+            state.outbox.clear();
+            state.addPhase(ReloadPhase.OUTBOX, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Writes the remaining batch, deletes players missing from the CSV, appends the remaining outbox messages
+     * and records the reload duration and the time spent in each {@link ReloadPhase}. Publishing the messages
+     * is left to the outbox relay, so the reload does not wait for the broker.
+     *
+     * @param state the state of the reload
+     */
+    private void finishReload(ReloadState state) {
+        state.job.checkCancelled();
+        write(state);
+        stagePlayerIds(state);
+
+        long deleteStart = System.nanoTime();
+        long outboxNanos = state.outboxNanos();
+        int deleted = deleteNonExistingPlayers(state);
+        state.endPhase(ReloadPhase.DELETE, deleteStart, outboxNanos);
+        appendOutbox(state);
+        afterCommit(state.changedIds, state.nameIndexUpdate);
+
+        long elapsed = System.nanoTime() - state.startNanos;
+        meterRegistry.timer(RELOAD_TIMER).record(elapsed, TimeUnit.NANOSECONDS);
+        recordPhases(state, elapsed);
+        logger.info("Finished reloading player data from CSV ({} rows, {} changed, {} deleted, {} messages queued, in {} ms)",
+                state.rows, state.written, deleted, state.messages, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    /**
+     * Evicts the changed and deleted players from the player cache, applies the name changes to the player
+     * name index, starts a new dataset version and starts rebuilding the player snapshot once the reload
+     * transaction commits, so that readers cannot re-cache the old version between the eviction and the
+     * commit, nor find players or validate responses against data that is not visible yet. Nothing happens if
+     * the reload is rolled back. Outside a transaction all of it is done right away.
+     *
+     * @param playerIds the IDs of the existing players changed or deleted by the reload
+     * @param nameIndexUpdate the players added, changed and deleted by the reload
+     */
+    private void afterCommit(List<String> playerIds, PlayerNameIndex.Update nameIndexUpdate) {
+        if (playerIds.isEmpty() && nameIndexUpdate.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishChanges(playerIds, nameIndexUpdate);
+                }
+            });
+        } else {
+            publishChanges(playerIds, nameIndexUpdate);
+        }
+    }
+
+    private void publishChanges(List<String> playerIds, PlayerNameIndex.Update nameIndexUpdate) {
+        if (!playerIds.isEmpty()) {
+            playerService.evictPlayers(playerIds);
+        }
+        playerNameIndex.apply(nameIndexUpdate);
+        playerDatasetVersion.bump();
+        playerSnapshotLoader.refresh();
+    }
+
+    /**
+     * Returns the CSV resource as a file on disk, or null if it is packaged inside an archive.
+     */
+    private Path getCsvFile() throws URISyntaxException {
+        URL url = getClass().getResource(CSV_RESOURCE);
+        return url != null && "file".equals(url.getProtocol()) ? Paths.get(url.toURI()) : null;
+    }
+
+    /**
+     * Upserts the players of a batch and queues a {@link PlayerEvent} for each player whose data changed:
+     * {@code CREATED} for new players, {@code UPDATED} with only the changed fields for existing ones.
+     * In incremental mode, players whose stored content hash matches the CSV row are not written at all.
+     * The batch is cleared afterwards so it can be reused for the next rows.
+     *
+     * @param state the state of the reload holding the batch
+     * @return the number of players written
+     */
+    private int writeBatch(ReloadState state) {
+        List<Player> batch = state.batch;
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Map<String, Long> storedHashes = findStoredHashes(batch);
+        List<Player> changed = batch.stream()
+                .filter(player -> !Objects.equals(storedHashes.get(player.getPlayerID()), player.getContentHash()))
+                .collect(Collectors.toList());
+        List<Player> toWrite = incremental ? changed : batch;
+        if (!toWrite.isEmpty()) {
+            Map<String, Player> previous = findPreviousVersions(changed, storedHashes);
+            playerRepository.upsertAll(toWrite);
+            for (Player player : changed) {
+                logger.debug("Loaded/Updated player: {}", player);
+                Player before = previous.get(player.getPlayerID());
+                if (before != null) {
+                    state.changedIds.add(player.getPlayerID());
+                }
+                state.nameIndexUpdate.put(player);
+                queue(state, playerEventMessage(before == null ? PlayerEvent.created(player) : PlayerEvent.updated(before, player)));
             }
+        }
+        int written = toWrite.size();
+        batch.clear();
+        return written;
+    }
 
-            Player player = getPlayerOrCreateNew(playerID);
-            populatePlayerFields(player, record);
+    /**
+     * Returns the stored content hashes of the players of a batch, keyed by player ID. Players that do not
+     * exist yet are absent from the map.
+     *
+     * @param batch the players read from the CSV
+     * @return the stored hashes of the existing players
+     */
+    private Map<String, Long> findStoredHashes(List<Player> batch) {
+        List<String> playerIds = batch.stream().map(Player::getPlayerID).collect(Collectors.toList());
+        Map<String, Long> storedHashes = new HashMap<>();
+        for (PlayerContentHash stored : playerRepository.findByPlayerIDIn(playerIds)) {
+            storedHashes.put(stored.getPlayerID(), stored.getContentHash());
+        }
+        return storedHashes;
+    }
 
-            playerRepository.save(player);
-            logger.debug("Loaded/Updated player: {}", player);
+    /**
+     * Loads the stored version of the changed players that already exist, so update events can carry only
+     * the fields that differ. The loaded entities are detached right away to keep the persistence context empty.
+     *
+     * @param changed the players whose CSV row changed
+     * @param storedHashes the stored hashes of the existing players
+     * @return the stored players keyed by player ID
+     */
+    private Map<String, Player> findPreviousVersions(List<Player> changed, Map<String, Long> storedHashes) {
+        List<String> existingIds = changed.stream()
+                .map(Player::getPlayerID)
+                .filter(storedHashes::containsKey)
+                .collect(Collectors.toList());
+        if (existingIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Player> previous = playerRepository.findAllById(existingIds).stream()
+                .collect(Collectors.toMap(Player::getPlayerID, Function.identity()));
+        entityManager.clear();
+        return previous;
+    }
 
-            kafkaProducerService.sendMessage("Player loaded/updated: " + player.toString());
-        } catch (Exception e) {
-            logger.error("Error parsing record: {}", (Object) record, e);
-            sendInvalidPlayer(record);
+    /**
+     * Processes the current CSV record of a parser: validates it and maps it to a player, and logs errors if any.
+     * Only the text columns are materialized as strings; numbers, dates and hand codes are decoded from the
+     * parser's buffer. Does not touch the database or Kafka, so it can run on parallel workers.
+     *
+     * @param record the parser positioned on the CSV record
+     * @return the populated Player, or null if the record is invalid
+     */
+    Player processRecord(PlayerCsvParser record) {
+        if (record.getFieldCount() < PlayerCsvParser.COLUMNS.length) {
+            logger.error("Error parsing record, expected {} fields: {}", PlayerCsvParser.COLUMNS.length,
+                    (Object) record.toArray());
+            return null;
         }
+        String playerID = record.getString(0);
+        if(isInvalidPlayerID(playerID)) {
+            return null;  // Skip the invalid record
+        }
+
+        Player player = new Player();
+        player.setPlayerID(playerID);
+        populatePlayerFields(player, record);
+        player.setContentHash(record.contentHash());
+        return player;
     }
 
     /**
@@ -92,138 +615,309 @@ public class CSVLoaderService {
     }
 
     /**
-     * Retrieves an existing player by ID or creates a new instance if not found.
+     * Populates the fields of a Player object from a CSV record.
+     * @param player the Player object to populate
+     * @param record the parser positioned on the CSV record
+     */
+    private void populatePlayerFields(Player player, PlayerCsvParser record) {
+        player.setBirthYear(validateShort(record, 1));
+        player.setBirthMonth(validateByte(record, 2));
+        player.setBirthDay(validateByte(record, 3));
+        player.setBirthCountry(toText(record, 4));
+        player.setBirthState(toText(record, 5));
+        player.setBirthCity(toText(record, 6));
+        player.setDeathYear(validateShort(record, 7));
+        player.setDeathMonth(validateByte(record, 8));
+        player.setDeathDay(validateByte(record, 9));
+        player.setDeathCountry(toText(record, 10));
+        player.setDeathState(toText(record, 11));
+        player.setDeathCity(toText(record, 12));
+        player.setNameFirst(toText(record, 13));
+        player.setNameLast(toText(record, 14));
+        player.setNameGiven(toText(record, 15));
+        player.setWeight(validateShort(record, 16));
+        player.setHeight(validateShort(record, 17));
+        player.setBats(validateHandedness(record, 18));
+        player.setThrowsHand(validateHandedness(record, 19));
+        player.setDebut(validateDate(record, 20));
+        player.setFinalGame(validateDate(record, 21));
+        player.setRetroID(toText(record, 22));
+        player.setBbrefID(toText(record, 23));
+    }
+
+    /**
+     * Returns a text field of a CSV record as a String. Empty fields are missing values, such as the death
+     * fields of living players, and are stored as null like empty numbers and dates.
      *
-     * @param playerID the ID of the player to retrieve or create
-     * @return the Player object retrieved or created
+     * @param record the parser positioned on the CSV record
+     * @param field the index of the field
+     * @return the String value, or null if the field is empty
      */
-    private Player getPlayerOrCreateNew(String playerID) {
-        Optional<Player> optionalPlayer = playerRepository.findById(playerID);
-        Player player = optionalPlayer.orElseGet(Player::new);
-        player.setPlayerID(playerID); // Set the playerID for the new player
-        return player;
+    private String toText(PlayerCsvParser record, int field) {
+        return record.isEmpty(field) ? null : record.getString(field);
     }
 
     /**
-     * Populates the fields of a Player object from a CSV record.
-     * @param player the Player object to populate
-     * @param record the CSV record
-     */
-    private void populatePlayerFields(Player player, String[] record) {
-        player.setBirthYear(validateInteger(record[1], "BirthYear"));
-        player.setBirthMonth(validateInteger(record[2], "BirthMonth"));
-        player.setBirthDay(validateInteger(record[3], "BirthDay"));
-        player.setBirthCountry(record[4]);
-        player.setBirthState(record[5]);
-        player.setBirthCity(record[6]);
-        player.setDeathYear(validateInteger(record[7], "DeathYear"));
-        player.setDeathMonth(validateInteger(record[8], "DeathMonth"));
-        player.setDeathDay(validateInteger(record[9], "DeathDay"));
-        player.setDeathCountry(record[10]);
-        player.setDeathState(record[11]);
-        player.setDeathCity(record[12]);
-        player.setNameFirst(record[13]);
-        player.setNameLast(record[14]);
-        player.setNameGiven(record[15]);
-        player.setWeight(validateInteger(record[16], "Weight"));
-        player.setHeight(validateInteger(record[17], "Height"));
-        player.setBats(record[18]);
-        player.setThrowsHand(record[19]);
-        player.setDebut(record[20]);
-        player.setFinalGame(record[21]);
-        player.setRetroID(record[22]);
-        player.setBbrefID(record[23]);
-    }
-
-    /**
-     * Validates and converts a String to an Integer, logging an error if the conversion fails.
-     *
-     * @param value the String value to validate and convert
-     * @param fieldName the name of the field for logging purposes
-     * @return the Integer value or null if validation/conversion fails
-     */
-    private Integer validateInteger(String value, String fieldName) {
-        try {
-            return value.isEmpty() ? null : Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            logger.error("Invalid value for {}: {}", fieldName, value);
+     * Validates and converts a field to a Short, logging an error if the conversion fails.
+     *
+     * @param record the parser positioned on the CSV record
+     * @param field the index of the field
+     * @return the Short value or null if validation/conversion fails
+     */
+    private Short validateShort(PlayerCsvParser record, int field) {
+        if (record.isEmpty(field)) {
             return null;
         }
+        int value = record.getInt(field);
+        if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+            return invalidValue(record, field);
+        }
+        return (short) value;
     }
 
     /**
-     * Sends an invalid player record to a Kafka topic for potential later correction.
+     * Validates and converts a field to a Byte, logging an error if the conversion fails.
      *
-     * @param record the invalid player record as a String array
+     * @param record the parser positioned on the CSV record
+     * @param field the index of the field
+     * @return the Byte value or null if validation/conversion fails
      */
-    private void sendInvalidPlayer(String[] record) {
-        try {
-            Map<String, String> invalidRecord = mapCsvRecordToMap(record);
+    private Byte validateByte(PlayerCsvParser record, int field) {
+        if (record.isEmpty(field)) {
+            return null;
+        }
+        int value = record.getInt(field);
+        if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+            return invalidValue(record, field);
+        }
+        return (byte) value;
+    }
 
-            kafkaProducerService.sendMessage(INVALID_PLAYER_TOPIC, invalidRecord.toString());
-            logger.info("Sent invalid player record to Kafka: {}", invalidRecord);
-        } catch (Exception e) {
-            logger.error("Error sending invalid player record to Kafka: {}", (Object) record, e);
+    /**
+     * Validates and converts a one-letter hand code to a {@link Handedness}, logging an error if the code is unknown.
+     *
+     * @param record the parser positioned on the CSV record
+     * @param field the index of the field
+     * @return the Handedness value or null if validation/conversion fails
+     */
+    private Handedness validateHandedness(PlayerCsvParser record, int field) {
+        if (record.isEmpty(field)) {
+            return null;
+        }
+        switch (record.getChar(field)) {
+            case 'R':
+                return Handedness.R;
+            case 'L':
+                return Handedness.L;
+            case 'B':
+                return Handedness.B;
+            case 'S':
+                return Handedness.S;
+            default:
+                return invalidValue(record, field);
         }
     }
 
     /**
-     * Maps the CSV record to a Map for easier processing and logging.
+     * Validates and converts an ISO {@code yyyy-MM-dd} field to a LocalDate, logging an error if the conversion fails.
      *
-     * @param record the CSV record as a String array
-     * @return a Map representing the CSV record
+     * @param record the parser positioned on the CSV record
+     * @param field the index of the field
+     * @return the LocalDate value or null if validation/conversion fails
      */
-    private Map<String, String> mapCsvRecordToMap(String[] record) {
-        Map<String, String> invalidRecord = new HashMap<>();
-        invalidRecord.put("playerID", record[0]);
-        invalidRecord.put("birthYear", record[1]);
-        invalidRecord.put("birthMonth", record[2]);
-        invalidRecord.put("birthDay", record[3]);
-        invalidRecord.put("birthCountry", record[4]);
-        invalidRecord.put("birthState", record[5]);
-        invalidRecord.put("birthCity", record[6]);
-        invalidRecord.put("deathYear", record[7]);
-        invalidRecord.put("deathMonth", record[8]);
-        invalidRecord.put("deathDay", record[9]);
-        invalidRecord.put("deathCountry", record[10]);
-        invalidRecord.put("deathState", record[11]);
-        invalidRecord.put("deathCity", record[12]);
-        invalidRecord.put("nameFirst", record[13]);
-        invalidRecord.put("nameLast", record[14]);
-        invalidRecord.put("nameGiven", record[15]);
-        invalidRecord.put("weight", record[16]);
-        invalidRecord.put("height", record[17]);
-        invalidRecord.put("bats", record[18]);
-        invalidRecord.put("throwsHand", record[19]);
-        invalidRecord.put("debut", record[20]);
-        invalidRecord.put("finalGame", record[21]);
-        invalidRecord.put("retroID", record[22]);
-        invalidRecord.put("bbrefID", record[23]);
-        return invalidRecord;
+    private LocalDate validateDate(PlayerCsvParser record, int field) {
+        if (record.isEmpty(field)) {
+            return null;
+        }
+        LocalDate value = record.getDate(field);
+        return value != null ? value : invalidValue(record, field);
     }
 
     /**
-     * Extracts player IDs from the CSV records.
+     * Logs an invalid field value of a CSV record.
      *
-     * @param records the list of CSV records
-     * @return a set of player IDs
+     * @return always null, the value stored for the field
      */
-    private Set<String> getCsvPlayerIds(List<String[]> records) {
-        return records.stream()
-                .skip(1) // Skip header row
-                .map(record -> record[0]) // Extract playerID
-                .collect(Collectors.toSet());
+    private <T> T invalidValue(PlayerCsvParser record, int field) {
+        logger.error("Invalid value for {}: {}", PlayerCsvParser.COLUMNS[field], record.getString(field));
+        return null;
     }
 
     /**
-     * Deletes players from the database that are not present in the CSV file anymore.
+     * Creates the outbox message publishing a player event on the players topic, keyed by player ID.
      *
-     * @param csvPlayerIds the set of player IDs present in the CSV file
+     * @param event the event to publish
+     * @return the outbox message
      */
-    private void deleteNonExistingPlayers(Set<String> csvPlayerIds) {
-        List<Player> playersToDelete = playerRepository.findAll().stream()
-                .filter(player -> !csvPlayerIds.contains(player.getPlayerID()))
-                .collect(Collectors.toList());
-        playerRepository.deleteAll(playersToDelete);
+    OutboxMessage playerEventMessage(PlayerEvent event) {
+        return new OutboxMessage(KafkaProducerService.TOPIC, event.getPlayerID(), PlayerEventCodec.encode(event));
+    }
+
+    /**
+     * Creates the outbox message reporting an invalid player record on a Kafka topic for potential later correction.
+     * A record too long for an outbox message is cut off, so that it cannot fail the reload.
+     *
+     * @param record the parser positioned on the invalid player record
+     * @return the outbox message
+     */
+    private OutboxMessage invalidPlayerMessage(PlayerCsvParser record) {
+        String invalidRecord = formatRecord(record);
+        logger.info("Queued invalid player record for Kafka: {}", invalidRecord);
+        byte[] payload = invalidRecord.getBytes(StandardCharsets.UTF_8);
+        if (payload.length > OutboxMessage.MAX_PAYLOAD_LENGTH) {
+            payload = Arrays.copyOf(payload, OutboxMessage.MAX_PAYLOAD_LENGTH);
+        }
+        return new OutboxMessage(INVALID_PLAYER_TOPIC, null, payload);
+    }
+
+    /**
+     * Formats a CSV record for logging: as {@code {column=value, ...}} in column order if it has all columns,
+     * or as a plain list of its values otherwise.
+     *
+     * @param record the parser positioned on the CSV record
+     * @return the formatted record
+     */
+    private String formatRecord(PlayerCsvParser record) {
+        boolean complete = record.getFieldCount() >= PlayerCsvParser.COLUMNS.length;
+        int fields = complete ? PlayerCsvParser.COLUMNS.length : record.getFieldCount();
+        StringBuilder formatted = new StringBuilder(complete ? "{" : "[");
+        for (int field = 0; field < fields; field++) {
+            if (field > 0) {
+                formatted.append(", ");
+            }
+            if (complete) {
+                formatted.append(PlayerCsvParser.COLUMNS[field]).append('=');
+            }
+            formatted.append(record.getString(field));
+        }
+        return formatted.append(complete ? '}' : ']').toString();
+    }
+
+    /**
+     * Records the time a reload spent in each phase in the {@code player.reload.phase} timer. Parsing is
+     * interleaved with the database work, so it is what remains of the reload duration after the other phases.
+     *
+     * @param state the state of the finished reload
+     * @param elapsed the duration of the whole reload in nanoseconds
+     */
+    private void recordPhases(ReloadState state, long elapsed) {
+        long database = 0;
+        for (ReloadPhase phase : ReloadPhase.values()) {
+            database += state.phaseNanos[phase.ordinal()];
+        }
+        state.addPhase(ReloadPhase.PARSE, Math.max(0, elapsed - database));
+        for (ReloadPhase phase : ReloadPhase.values()) {
+            meterRegistry.timer(PHASE_TIMER, "phase", phase.tag)
+                    .record(state.phaseNanos[phase.ordinal()], TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Stages the pending chunk of CSV player IDs of a reload in the database and clears the chunk so it can be reused.
+     *
+     * @param state the state of the reload holding the player IDs read from the CSV
+     */
+    private void stagePlayerIds(ReloadState state) {
+        if (!state.playerIds.isEmpty()) {
+            long start = System.nanoTime();
+            playerRepository.stagePlayerIds(state.playerIds);
+            state.playerIds.clear();
+            state.addPhase(ReloadPhase.STAGE, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Deletes players from the database that are not present in the CSV file anymore and queues a
+     * {@code DELETED} event for each. Only the IDs of the players to delete are read, and they are removed
+     * with chunked bulk deletes without loading any entity.
+     *
+     * @param state the state of the reload
+     * @return the number of players deleted
+     */
+    private int deleteNonExistingPlayers(ReloadState state) {
+        List<String> missingIds = playerRepository.findUnstagedPlayerIds();
+        for (int from = 0; from < missingIds.size(); from += batchSize) {
+            playerRepository.deleteAllByIdInBatch(missingIds.subList(from, Math.min(from + batchSize, missingIds.size())));
+        }
+        missingIds.forEach(playerID -> queue(state, playerEventMessage(PlayerEvent.deleted(playerID))));
+        state.changedIds.addAll(missingIds);
+        missingIds.forEach(state.nameIndexUpdate::remove);
+        return missingIds.size();
+    }
+
+    /**
+     * The phases a reload spends its time in, as tagged in the {@code player.reload.phase} timer: reading,
+     * parsing and validating the CSV, staging the player IDs, comparing and upserting batches of players,
+     * the sweep deleting players missing from the CSV, and appending events to the outbox.
+     */
+    private enum ReloadPhase {
+        PARSE("parse"), STAGE("stage"), UPSERT("upsert"), DELETE("delete"), OUTBOX("outbox");
+
+        private final String tag;
+
+        ReloadPhase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * Mutable state of a reload in progress: its job, the pending ID chunk, player batch and outbox messages,
+     * the IDs of the existing players it changed or deleted, the pending name index changes, the row counters
+     * and the time spent in each phase.
+     */
+    private static final class ReloadState {
+        private final long startNanos = System.nanoTime();
+        private final long[] phaseNanos = new long[ReloadPhase.values().length];
+        private final ReloadJob job;
+        private final List<String> playerIds;
+        private final List<Player> batch;
+        private final List<OutboxMessage> outbox;
+        private final List<String> changedIds = new ArrayList<>();
+        private final PlayerNameIndex.Update nameIndexUpdate = new PlayerNameIndex.Update();
+        private int rows;
+        private int invalid;
+        private int written;
+        private int messages;
+        private int countedRows;
+        private int countedInvalid;
+        private int countedWritten;
+
+        private ReloadState(ReloadJob job, int batchSize) {
+            this.job = job;
+            this.playerIds = new ArrayList<>(batchSize);
+            this.batch = new ArrayList<>(batchSize);
+            this.outbox = new ArrayList<>(batchSize);
+        }
+
+        private void addPhase(ReloadPhase phase, long nanos) {
+            phaseNanos[phase.ordinal()] += nanos;
+        }
+
+        private long outboxNanos() {
+            return phaseNanos[ReloadPhase.OUTBOX.ordinal()];
+        }
+
+        /**
+         * Adds the time since {@code start} to a phase, except for the outbox appends made in the meantime,
+         * which count towards the outbox phase.
+         */
+        private void endPhase(ReloadPhase phase, long start, long outboxNanosAtStart) {
+            addPhase(phase, System.nanoTime() - start - (outboxNanos() - outboxNanosAtStart));
+        }
+    }
+
+    /**
+     * The result of parsing one chunk on a worker: the raw player ID of every record and, at the same
+     * index, the parsed player or null for an invalid record, plus the outbox messages of the invalid records.
+     */
+    private static final class ParsedChunk {
+        private final int bytes;
+        private final List<String> playerIds = new ArrayList<>();
+        private final List<Player> players = new ArrayList<>();
+        private final List<OutboxMessage> invalidMessages = new ArrayList<>();
+
+        private ParsedChunk(int bytes) {
+            this.bytes = bytes;
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,32 +1,142 @@
 package com.playerdbmicroservice.service;
 
 
+import com.playerdbmicroservice.config.VirtualThreads;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 @Service
 public class KafkaProducerService {
 
+    private static final Logger logger = LoggerFactory.getLogger(KafkaProducerService.class);
+
+    public static final String TOPIC = "players_topic";
 
+    private static final String SEND_TIMER = "player.kafka.send";
 
-    private static final String TOPIC = "players_topic";
+    @Autowired
+    private KafkaTemplate<String, byte[]> playerEventKafkaTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     @Autowired
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private VirtualThreads virtualThreads;
 
+    // Logs failed deliveries; on the producer's network thread unless virtual threads are enabled
+    private Executor callbackExecutor = Runnable::run;
 
-    public void sendMessage(String message) {
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong acknowledged = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
 
-        kafkaTemplate.send(TOPIC, message);
 
+    /**
+     * Moves the logging of failed deliveries off the producer's network thread onto virtual threads when they
+     * are enabled, so a burst of failures never holds up the producer while the log is written.
+     */
+    @PostConstruct
+    public void initCallbackExecutor() {
+        callbackExecutor = virtualThreads.newCallbackExecutor("kafka-callback-");
     }
 
-    public void sendMessage(String topicName, String message) {
+    /**
+     * Sends a keyed binary record, e.g. an encoded {@link com.playerdbmicroservice.event.PlayerEvent} relayed
+     * from the outbox. Keying by player routes all events of a player to the same partition, preserving their
+     * order. The send is asynchronous: the producer batches records according to its linger and batch size
+     * settings, and the delivery outcome is counted when the broker acknowledges or rejects the record.
+     *
+     * @param topicName the topic to send to
+     * @param key the record key
+     * @param payload the record value
+     * @return the future completed when the broker acknowledges or rejects the record
+     */
+    public ListenableFuture<SendResult<String, byte[]>> sendRecord(String topicName, String key, byte[] payload) {
+        sent.incrementAndGet();
+        ListenableFuture<SendResult<String, byte[]>> future = playerEventKafkaTemplate.send(topicName, key, payload);
+        track(future, topicName, key);
+        return future;
+    }
 
-        kafkaTemplate.send(topicName, message);
+    /**
+     * Counts the delivery outcome of a sent message and records the time from the send until the broker
+     * acknowledged or rejected it in the {@code player.kafka.send} timer, tagged with the topic and outcome.
+     * Counting stays on the completing thread so that the counters are final after {@link #flush()}; failed
+     * deliveries are logged on the callback executor.
+     */
+    private void track(ListenableFuture<?> future, String topicName, String key) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        future.addCallback(
+                result -> {
+                    acknowledged.incrementAndGet();
+                    sample.stop(meterRegistry.timer(SEND_TIMER, "topic", topicName, "outcome", "acknowledged"));
+                },
+                ex -> {
+                    failed.incrementAndGet();
+                    sample.stop(meterRegistry.timer(SEND_TIMER, "topic", topicName, "outcome", "failed"));
+                    callbackExecutor.execute(
+                            () -> logger.error("Failed to deliver message with key {} to {}", key, topicName, ex));
+                });
+    }
 
+    /**
+     * Blocks until every message sent so far has been acknowledged or has failed, so that delivery
+     * counters are final for all previously sent messages.
+     *
+     * @return the delivery counters after the flush
+     */
+    public DeliveryStats flush() {
+        playerEventKafkaTemplate.flush();
+        return getDeliveryStats();
     }
 
-}
\ No newline at end of file
+    public DeliveryStats getDeliveryStats() {
+        return new DeliveryStats(sent.get(), acknowledged.get(), failed.get());
+    }
+
+    /**
+     * Cumulative counts of tracked messages sent, acknowledged by the broker and failed.
+     */
+    public static final class DeliveryStats {
+        private final long sent;
+        private final long acknowledged;
+        private final long failed;
+
+        public DeliveryStats(long sent, long acknowledged, long failed) {
+            this.sent = sent;
+            this.acknowledged = acknowledged;
+            this.failed = failed;
+        }
+
+        public long getSent() {
+            return sent;
+        }
+
+        public long getAcknowledged() {
+            return acknowledged;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        /**
+         * Returns the counts accumulated since an earlier snapshot.
+         */
+        public DeliveryStats since(DeliveryStats earlier) {
+            return new DeliveryStats(sent - earlier.sent, acknowledged - earlier.acknowledged, failed - earlier.failed);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.playerdbmicroservice.service;
+
+import com.playerdbmicroservice.entity.OutboxMessage;
+import com.playerdbmicroservice.repository.OutboxMessageRepository;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Relays committed outbox messages to Kafka in the background. Each pass sends a large batch of the oldest
+ * messages, waits for the broker to acknowledge them and then deletes the delivered ones. Delivery is
+ * at-least-once: a message is only deleted after it has been acknowledged. Messages with the same key are
+ * delivered in order: a pass sends only the oldest pending message of each key and holds back the others, so a
+ * message is never sent before the one ahead of it was acknowledged. A message that fails is kept and retried
+ * on a later pass; once it has failed {@code player.outbox.max-attempts} times it is kept as a dead letter and
+ * no longer relayed, and so are the later messages of its key, which consumers could not apply without it.
+ * Broker timeouts say nothing about the message and are not counted; on the first one the rest of the batch is
+ * left for the next pass instead of waiting for the timeout once per message.
+ */
+@Service
+public class OutboxRelayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelayService.class);
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private KafkaProducerService kafkaProducerService;
+
+    @Value("${player.outbox.relay-batch-size:5000}")
+    private int relayBatchSize = 5000;
+
+    @Value("${player.outbox.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    /**
+     * Drains the outbox until it is empty or a batch cannot be fully settled.
+     */
+    @Scheduled(fixedDelayString = "${player.outbox.relay-interval-ms:500}")
+    public synchronized void relay() {
+        int settled;
+        do {
+            settled = relayBatch();
+        } while (settled == relayBatchSize);
+    }
+
+    /**
+     * Sends one batch of the oldest pending outbox messages, deletes those delivered and counts a failed attempt
+     * for each of the others that did not time out, turning it into a dead letter after the last attempt. Only
+     * the oldest message of each key is sent; the later ones are held back for the next pass, or turned into dead
+     * letters if their key already has one. Sending stops at the first message the broker timed out on; the
+     * unsent rest of the batch is left as it is.
+     *
+     * @return the number of messages delivered, turned into dead letters or held back behind their key
+     */
+    int relayBatch() {
+        List<OutboxMessage> messages = outboxMessageRepository.findAllByDeadLetterFalseOrderByIdAsc(PageRequest.of(0, relayBatchSize));
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        Set<String> keys = new HashSet<>();
+        for (OutboxMessage message : messages) {
+            if (message.getMessageKey() != null) {
+                keys.add(message.getMessageKey());
+            }
+        }
+        Set<String> deadLetterKeys = keys.isEmpty()
+                ? Collections.emptySet() : new HashSet<>(outboxMessageRepository.findDeadLetterKeys(keys));
+
+        List<OutboxMessage> sentMessages = new ArrayList<>(messages.size());
+        List<ListenableFuture<SendResult<String, byte[]>>> futures = new ArrayList<>(messages.size());
+        List<OutboxMessage> failedMessages = new ArrayList<>();
+        Set<String> sentKeys = new HashSet<>();
+        int heldBack = 0;
+        int deadLetters = 0;
+        for (OutboxMessage message : messages) {
+            String key = message.getMessageKey();
+            if (key != null && deadLetterKeys.contains(key)) {
+                message.setDeadLetter(true);
+                failedMessages.add(message);
+                deadLetters++;
+                logger.error("Outbox message {} is kept as a dead letter behind an earlier dead letter of key {}",
+                        message.getId(), key);
+                continue;
+            }
+            if (key != null && !sentKeys.add(key)) {
+                heldBack++;
+                continue;
+            }
+            ListenableFuture<SendResult<String, byte[]>> future = send(message);
+            sentMessages.add(message);
+            futures.add(future);
+            if (future.isDone() && isTimeout(failure(future))) {
+                logger.warn("Broker timed out on outbox message {}; the unsent messages are left for the next pass",
+                        message.getId());
+                break;
+            }
+        }
+        kafkaProducerService.flush();
+
+        List<Long> deliveredIds = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            OutboxMessage message = sentMessages.get(i);
+            Throwable failure = failure(futures.get(i));
+            if (failure == null) {
+                deliveredIds.add(message.getId());
+            } else if (failure instanceof InterruptedException) {
+                break;
+            } else if (!isTimeout(failure)) {
+                message.setAttempts(message.getAttempts() + 1);
+                if (message.getAttempts() >= maxAttempts) {
+                    message.setDeadLetter(true);
+                    deadLetters++;
+                    logger.error("Outbox message {} failed {} times and is kept as a dead letter", message.getId(),
+                            message.getAttempts(), failure);
+                } else {
+                    logger.warn("Outbox message {} failed on attempt {} of {} and will be retried", message.getId(),
+                            message.getAttempts(), maxAttempts, failure);
+                }
+                failedMessages.add(message);
+            }
+        }
+        if (!deliveredIds.isEmpty()) {
+            outboxMessageRepository.deleteAllByIdInBatch(deliveredIds);
+            logger.debug("Relayed {} outbox messages to Kafka", deliveredIds.size());
+        }
+        if (!failedMessages.isEmpty()) {
+            outboxMessageRepository.saveAll(failedMessages);
+        }
+        return deliveredIds.size() + deadLetters + heldBack;
+    }
+
+    /**
+     * Sends a message, turning an exception thrown by the send into a failed future.
+     */
+    private ListenableFuture<SendResult<String, byte[]>> send(OutboxMessage message) {
+        try {
+            return kafkaProducerService.sendRecord(message.getTopic(), message.getMessageKey(), message.getPayload());
+        } catch (RuntimeException e) {
+            SettableListenableFuture<SendResult<String, byte[]>> failed = new SettableListenableFuture<>();
+            failed.setException(e);
+            return failed;
+        }
+    }
+
+    /**
+     * Waits for a send to complete and returns why it failed, or null if it was delivered.
+     */
+    private Throwable failure(ListenableFuture<?> future) {
+        try {
+            future.get();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return e;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+
+    private boolean isTimeout(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,61 @@
+package com.playerdbmicroservice.service;
+
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Tracks the version of the player data set that reads are served from, so that responses can be validated
+ * with conditional requests. A new version is started each time a reload that changed players has committed
+ * and each time a new player snapshot is swapped in, always after the new data became visible to readers:
+ * a response that read the version before the data can therefore never be tagged with a newer version than
+ * the data it holds. Versions start at a random number, so versions of another run or another instance do not
+ * match by accident.
+ */
+@Component
+public class PlayerDatasetVersion {
+
+    private volatile Version current = new Version(new SecureRandom().nextLong(), Instant.now().truncatedTo(ChronoUnit.SECONDS));
+
+    /**
+     * Returns the current version. Read it before reading the players it is meant to describe.
+     */
+    public Version current() {
+        return current;
+    }
+
+    /**
+     * Starts a new version once changed players are visible to readers. HTTP dates have a resolution of one
+     * second, so the modification time of the new version is at least one second after the previous one, even
+     * if both are started within the same second.
+     */
+    public synchronized void bump() {
+        Version previous = current;
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Instant nextSecond = previous.getLastModified().plusSeconds(1);
+        current = new Version(previous.getId() + 1, now.isBefore(nextSecond) ? nextSecond : now);
+    }
+
+    /**
+     * One version of the player data set and the time it was started, in whole seconds.
+     */
+    public static final class Version {
+        private final long id;
+        private final Instant lastModified;
+
+        Version(long id, Instant lastModified) {
+            this.id = id;
+            this.lastModified = lastModified;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public Instant getLastModified() {
+            return lastModified;
+        }
+    }
+}
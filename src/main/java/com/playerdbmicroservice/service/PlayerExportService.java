@@ -0,0 +1,103 @@
+package com.playerdbmicroservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.opencsv.CSVWriter;
+import com.opencsv.ICSVWriter;
+import com.playerdbmicroservice.csv.PlayerCsvParser;
+import com.playerdbmicroservice.entity.Player;
+import com.playerdbmicroservice.event.PlayerField;
+import com.playerdbmicroservice.repository.PlayerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams the whole player table to an output stream in player ID order. Players are read from a database
+ * cursor and detached one by one as they are written, so memory use does not depend on the table size.
+ */
+@Service
+public class PlayerExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Writes every player as one compact JSON object per line (NDJSON).
+     *
+     * @param out the stream to write to; it is flushed but not closed
+     */
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Player.class)
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        Writer text = newWriter(out);
+        try (Stream<Player> players = playerRepository.streamAllByOrderByPlayerID()) {
+            Iterator<Player> iterator = players.iterator();
+            while (iterator.hasNext()) {
+                Player player = iterator.next();
+                writer.writeValue(text, player);
+                text.write('\n');
+                entityManager.detach(player);
+            }
+        }
+        text.flush();
+    }
+
+    /**
+     * Writes every player as a CSV row in the column layout of the source CSV file, including its header row,
+     * so an export can be loaded again by a reload.
+     *
+     * @param out the stream to write to; it is flushed but not closed
+     */
+    @Transactional(readOnly = true)
+    public void exportCsv(OutputStream out) throws IOException {
+        ICSVWriter writer = new CSVWriter(newWriter(out));
+        writer.writeNext(PlayerCsvParser.COLUMNS, false);
+        String[] row = new String[PlayerCsvParser.COLUMNS.length];
+        try (Stream<Player> players = playerRepository.streamAllByOrderByPlayerID()) {
+            Iterator<Player> iterator = players.iterator();
+            while (iterator.hasNext()) {
+                Player player = iterator.next();
+                row[0] = player.getPlayerID();
+                // Player fields are declared in the column order of the source CSV, after the player ID
+                for (PlayerField field : PlayerField.values()) {
+                    Object value = field.get(player);
+                    row[field.ordinal() + 1] = value == null ? "" : value.toString();
+                }
+                writer.writeNext(row, false);
+                entityManager.detach(player);
+            }
+        }
+        writer.flush();
+        if (writer.checkError()) {
+            throw new IOException("Error writing CSV export", writer.getException());
+        }
+    }
+
+    private Writer newWriter(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+}
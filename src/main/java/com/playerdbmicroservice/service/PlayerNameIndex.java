@@ -0,0 +1,466 @@
+package com.playerdbmicroservice.service;
+
+import com.playerdbmicroservice.entity.Player;
+import com.playerdbmicroservice.repository.PlayerRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index over the first, last and given names of all players, used for fuzzy name search.
+ * <p>
+ * Names are folded to lower-case letters and digits without accents and split into words. Each word is padded
+ * with two blanks in front and one behind and contributes all its trigrams, so that matching word starts and
+ * ends counts. A trigram is encoded as an int over a {@value #SYMBOLS}-symbol alphabet: the trigram table is a
+ * plain array, and each posting list is a sorted int array of document numbers. Player IDs are interned so
+ * that reloads re-adding a player do not keep extra copies of its ID.
+ * <p>
+ * The index is built from the player table once the application is ready and updated with the players
+ * changed and deleted by each reload. Removed players leave holes in the posting lists, which are compacted
+ * once there are more holes than live players.
+ */
+@Service
+public class PlayerNameIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlayerNameIndex.class);
+
+    private static final int IGNORED = -1;
+
+    private static final int BLANK = 0;
+
+    private static final int OTHER_LETTER = 37;
+
+    private static final int SYMBOLS = 38;
+
+    private static final int TRIGRAMS = SYMBOLS * SYMBOLS * SYMBOLS;
+
+    private static final int MIN_COMPACTION_HOLES = 1024;
+
+    private static final int INITIAL_POSTINGS_CAPACITY = 4;
+
+    private static final String MEMORY_GAUGE = "player.name.index.memory";
+
+    private static final String SIZE_GAUGE = "player.name.index.players";
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final int[][] postings = new int[TRIGRAMS][];
+
+    private final int[] postingSizes = new int[TRIGRAMS];
+
+    private final Map<String, Integer> docsByPlayerId = new HashMap<>();
+
+    private String[] playerIds = new String[1024];
+
+    private int[] trigramCounts = new int[1024];
+
+    private int docCount;
+
+    // Per-document match counters of searches, one array per concurrent search and at most one kept per core
+    private final BlockingQueue<int[]> matchCounts = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Publishes the size and the estimated memory footprint of the index as gauges.
+     */
+    @PostConstruct
+    public void registerGauges() {
+        Gauge.builder(MEMORY_GAUGE, this, PlayerNameIndex::getMemoryBytes)
+                .description("Estimated heap used by the player name index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder(SIZE_GAUGE, this, PlayerNameIndex::size)
+                .description("Number of players in the player name index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rebuilds the index from all players in the database. Runs once the application is ready; searches wait
+     * until the rebuild is done.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(postings, null);
+            Arrays.fill(postingSizes, 0);
+            docsByPlayerId.clear();
+            Arrays.fill(playerIds, 0, docCount, null);
+            docCount = 0;
+            try (Stream<Player> players = playerRepository.streamAllByOrderByPlayerID()) {
+                players.forEach(player -> {
+                    add(player.getPlayerID(), indexTrigrams(player));
+                    entityManager.detach(player);
+                });
+            }
+            trimPostings();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Built player name index ({} players, {} KB) in {} ms",
+                size(), getMemoryBytes() / 1024, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Applies the players added, changed and removed by a reload to the index.
+     *
+     * @param update the changes to apply
+     */
+    public void apply(Update update) {
+        if (update.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < update.playerIds.size(); i++) {
+                int[] trigrams = update.trigrams.get(i);
+                if (trigrams == null) {
+                    remove(update.playerIds.get(i));
+                } else {
+                    add(update.playerIds.get(i), trigrams);
+                }
+            }
+            if (docCount - size() > Math.max(MIN_COMPACTION_HOLES, size())) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the players whose names best match the query. The words of the query are treated as prefixes, so
+     * partially typed names match. Players sharing at least half of the query trigrams are candidates; they
+     * are ranked by the number of shared trigrams, then by the number of trigrams of their names so that the
+     * closest names come first, then by index order.
+     *
+     * @param query the name or names to search for
+     * @param limit the maximum number of players to return
+     * @return the IDs of the best matching players, best match first
+     */
+    public List<String> search(String query, int limit) {
+        int[] queryTrigrams = trigrams(query, false);
+        if (queryTrigrams.length == 0) {
+            return Collections.emptyList();
+        }
+        int minMatches = (queryTrigrams.length + 1) / 2;
+
+        lock.readLock().lock();
+        try {
+            int[] counts = matchCounts.poll();
+            if (counts == null || counts.length < docCount) {
+                counts = new int[playerIds.length];
+            }
+            int[] candidates = new int[16];
+            int candidateCount = 0;
+            for (int trigram : queryTrigrams) {
+                int[] docs = postings[trigram];
+                for (int i = 0, n = postingSizes[trigram]; i < n; i++) {
+                    int doc = docs[i];
+                    if (++counts[doc] == minMatches && playerIds[doc] != null) {
+                        if (candidateCount == candidates.length) {
+                            candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                        }
+                        candidates[candidateCount++] = doc;
+                    }
+                }
+            }
+
+            long[] ranked = new long[candidateCount];
+            for (int i = 0; i < candidateCount; i++) {
+                int doc = candidates[i];
+                ranked[i] = (long) (queryTrigrams.length - counts[doc]) << 48
+                        | (long) Math.min(trigramCounts[doc], 0xFFFF) << 32
+                        | doc;
+            }
+            for (int trigram : queryTrigrams) {
+                int[] docs = postings[trigram];
+                for (int i = 0, n = postingSizes[trigram]; i < n; i++) {
+                    counts[docs[i]] = 0;
+                }
+            }
+            matchCounts.offer(counts);
+
+            Arrays.sort(ranked);
+            List<String> result = new ArrayList<>(Math.min(limit, ranked.length));
+            for (int i = 0; i < ranked.length && result.size() < limit; i++) {
+                result.add(playerIds[(int) ranked[i]]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of players in the index.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docsByPlayerId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the heap used by the index, assuming compressed object pointers: the trigram table, the
+     * posting lists, the document arrays, the match counters kept for searches and the player ID lookup map
+     * with its IDs.
+     *
+     * @return the estimated size of the index in bytes
+     */
+    public long getMemoryBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = arrayBytes(TRIGRAMS, 4) + arrayBytes(TRIGRAMS, 4)
+                    + arrayBytes(playerIds.length, 4) + arrayBytes(trigramCounts.length, 4);
+            for (int[] docs : postings) {
+                if (docs != null) {
+                    bytes += arrayBytes(docs.length, 4);
+                }
+            }
+            for (int[] counts : matchCounts) {
+                bytes += arrayBytes(counts.length, 4);
+            }
+            bytes += arrayBytes(Integer.highestOneBit(Math.max(1, docsByPlayerId.size() * 4 / 3)) * 2, 4);
+            for (String playerID : docsByPlayerId.keySet()) {
+                // map node, boxed document number, and the ID string with its byte array
+                bytes += 32 + 16 + 24 + arrayBytes(playerID.length(), 1);
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(String playerID, int[] trigrams) {
+        remove(playerID);
+        if (docCount == playerIds.length) {
+            playerIds = Arrays.copyOf(playerIds, docCount * 2);
+            trigramCounts = Arrays.copyOf(trigramCounts, docCount * 2);
+        }
+        int doc = docCount++;
+        playerIds[doc] = playerID.intern();
+        trigramCounts[doc] = trigrams.length;
+        for (int trigram : trigrams) {
+            int[] docs = postings[trigram];
+            int size = postingSizes[trigram];
+            if (docs == null) {
+                docs = new int[INITIAL_POSTINGS_CAPACITY];
+            } else if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+            }
+            docs[size] = doc;
+            postings[trigram] = docs;
+            postingSizes[trigram] = size + 1;
+        }
+        docsByPlayerId.put(playerIds[doc], doc);
+    }
+
+    private void remove(String playerID) {
+        Integer doc = docsByPlayerId.remove(playerID);
+        if (doc != null) {
+            playerIds[doc] = null;
+        }
+    }
+
+    /**
+     * Renumbers the live documents densely and drops the removed ones from the posting lists. Renumbering
+     * keeps document order, so the posting lists stay sorted.
+     */
+    private void compact() {
+        int[] renumbered = new int[docCount];
+        int live = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (playerIds[doc] == null) {
+                renumbered[doc] = -1;
+                continue;
+            }
+            renumbered[doc] = live;
+            playerIds[live] = playerIds[doc];
+            trigramCounts[live] = trigramCounts[doc];
+            docsByPlayerId.put(playerIds[live], live);
+            live++;
+        }
+        Arrays.fill(playerIds, live, docCount, null);
+        docCount = live;
+
+        for (int trigram = 0; trigram < TRIGRAMS; trigram++) {
+            int[] docs = postings[trigram];
+            if (docs == null) {
+                continue;
+            }
+            int size = 0;
+            for (int i = 0, n = postingSizes[trigram]; i < n; i++) {
+                int doc = renumbered[docs[i]];
+                if (doc >= 0) {
+                    docs[size++] = doc;
+                }
+            }
+            postings[trigram] = size == 0 ? null : Arrays.copyOf(docs, size);
+            postingSizes[trigram] = size;
+        }
+    }
+
+    /**
+     * Shrinks every posting list to its size, dropping the spare capacity left by appending.
+     */
+    private void trimPostings() {
+        for (int trigram = 0; trigram < TRIGRAMS; trigram++) {
+            if (postings[trigram] != null && postings[trigram].length > postingSizes[trigram]) {
+                postings[trigram] = Arrays.copyOf(postings[trigram], postingSizes[trigram]);
+            }
+        }
+    }
+
+    private static long arrayBytes(long length, int elementBytes) {
+        return (16 + length * elementBytes + 7) & ~7L;
+    }
+
+    private static int[] indexTrigrams(Player player) {
+        return trigrams(Stream.of(player.getNameFirst(), player.getNameLast(), player.getNameGiven())
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" ")), true);
+    }
+
+    /**
+     * Returns the distinct trigrams of the words of a text, in ascending order. Words of indexed names are
+     * padded on both sides; words of a query are only padded in front, so that they match as prefixes.
+     *
+     * @param text the text to split into trigrams, or null
+     * @param padEnd whether to pad the end of each word
+     * @return the encoded trigrams
+     */
+    static int[] trigrams(String text, boolean padEnd) {
+        if (text == null) {
+            return new int[0];
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD);
+        int[] trigrams = new int[folded.length() * 2 + 2];
+        int count = 0;
+        int previous2 = BLANK;
+        int previous1 = BLANK;
+        boolean inWord = false;
+        for (int i = 0; i <= folded.length(); i++) {
+            char c = i < folded.length() ? folded.charAt(i) : ' ';
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            int symbol = symbol(c);
+            if (symbol == IGNORED) {
+                continue;
+            }
+            if (symbol == BLANK) {
+                if (inWord && padEnd) {
+                    trigrams[count++] = (previous2 * SYMBOLS + previous1) * SYMBOLS;
+                }
+                previous2 = BLANK;
+                previous1 = BLANK;
+                inWord = false;
+                continue;
+            }
+            trigrams[count++] = (previous2 * SYMBOLS + previous1) * SYMBOLS + symbol;
+            previous2 = previous1;
+            previous1 = symbol;
+            inWord = true;
+        }
+        int[] distinct = Arrays.copyOf(trigrams, count);
+        Arrays.sort(distinct);
+        int size = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (size == 0 || distinct[size - 1] != distinct[i]) {
+                distinct[size++] = distinct[i];
+            }
+        }
+        return Arrays.copyOf(distinct, size);
+    }
+
+    private static int symbol(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 1;
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 1;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 27;
+        }
+        if (c == '\'' || c == '.') {
+            return IGNORED;
+        }
+        return Character.isLetter(c) ? OTHER_LETTER : BLANK;
+    }
+
+    /**
+     * Players added, changed and removed by a reload, collected while the reload runs and applied to the index
+     * once it commits, in the order they were made. Only the player ID and the trigrams of the names are kept;
+     * a removal has no trigrams.
+     */
+    public static final class Update {
+        private final List<String> playerIds = new ArrayList<>();
+        private final List<int[]> trigrams = new ArrayList<>();
+
+        /**
+         * Adds or replaces a player in the index.
+         *
+         * @param player the new version of the player
+         */
+        public void put(Player player) {
+            playerIds.add(player.getPlayerID());
+            trigrams.add(indexTrigrams(player));
+        }
+
+        /**
+         * Removes a player from the index.
+         *
+         * @param playerID the ID of the player
+         */
+        public void remove(String playerID) {
+            playerIds.add(playerID);
+            trigrams.add(null);
+        }
+
+        /**
+         * Returns whether there is nothing to apply.
+         */
+        public boolean isEmpty() {
+            return playerIds.isEmpty();
+        }
+    }
+}
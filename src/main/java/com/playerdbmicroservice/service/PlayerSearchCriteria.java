@@ -0,0 +1,108 @@
+package com.playerdbmicroservice.service;
+
+import com.playerdbmicroservice.entity.Handedness;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Filters of a player search. Unset filters are ignored; all set filters must match.
+ */
+public class PlayerSearchCriteria {
+    private String nameLast;
+    private String nameFirst;
+    private String birthCountry;
+    private Short birthYearFrom;
+    private Short birthYearTo;
+    private Handedness bats;
+    private Handedness throwsHand;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate activeFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate activeTo;
+
+    // Getters and Setters
+    /**
+     * Returns the case-sensitive prefix the last name must start with.
+     */
+    public String getNameLast() {
+        return nameLast;
+    }
+
+    public void setNameLast(String nameLast) {
+        this.nameLast = nameLast;
+    }
+
+    /**
+     * Returns the case-sensitive prefix the first name must start with.
+     */
+    public String getNameFirst() {
+        return nameFirst;
+    }
+
+    public void setNameFirst(String nameFirst) {
+        this.nameFirst = nameFirst;
+    }
+
+    public String getBirthCountry() {
+        return birthCountry;
+    }
+
+    public void setBirthCountry(String birthCountry) {
+        this.birthCountry = birthCountry;
+    }
+
+    public Short getBirthYearFrom() {
+        return birthYearFrom;
+    }
+
+    public void setBirthYearFrom(Short birthYearFrom) {
+        this.birthYearFrom = birthYearFrom;
+    }
+
+    public Short getBirthYearTo() {
+        return birthYearTo;
+    }
+
+    public void setBirthYearTo(Short birthYearTo) {
+        this.birthYearTo = birthYearTo;
+    }
+
+    public Handedness getBats() {
+        return bats;
+    }
+
+    public void setBats(Handedness bats) {
+        this.bats = bats;
+    }
+
+    public Handedness getThrowsHand() {
+        return throwsHand;
+    }
+
+    public void setThrowsHand(Handedness throwsHand) {
+        this.throwsHand = throwsHand;
+    }
+
+    /**
+     * Returns the start of the period the player must have been active in, i.e. the earliest final game.
+     */
+    public LocalDate getActiveFrom() {
+        return activeFrom;
+    }
+
+    public void setActiveFrom(LocalDate activeFrom) {
+        this.activeFrom = activeFrom;
+    }
+
+    /**
+     * Returns the end of the period the player must have been active in, i.e. the latest debut.
+     */
+    public LocalDate getActiveTo() {
+        return activeTo;
+    }
+
+    public void setActiveTo(LocalDate activeTo) {
+        this.activeTo = activeTo;
+    }
+}
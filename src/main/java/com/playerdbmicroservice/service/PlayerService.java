@@ -1,25 +1,290 @@
 package com.playerdbmicroservice.service;
 
 import com.playerdbmicroservice.entity.Player;
+import com.playerdbmicroservice.exception.InvalidRequestException;
 import com.playerdbmicroservice.repository.PlayerRepository;
+import com.playerdbmicroservice.repository.PlayerSpecifications;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @Service
 public class PlayerService {
 
+    public static final String PLAYER_CACHE = "players";
+
+    public static final int MAX_SLICE_SIZE = 1000;
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    public static final int MAX_NAME_SEARCH_RESULTS = 100;
+
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
+    private static final String LOOKUP_TIMER = "player.lookup";
+
+    private static final String LIST_TIMER = "player.list";
+
+    private static final String KIND_TAG = "kind";
+
+    private static final String SOURCE_TAG = "source";
+
+    private static final String DATABASE = "database";
+
+    private static final String SNAPSHOT = "snapshot";
+
     @Autowired
     private PlayerRepository playerRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlayerNameIndex playerNameIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Set by PlayerSnapshotLoader when lookups and listings are served from memory; null while they use the database
+    private volatile PlayerSnapshot snapshot;
+
     public List<Player> getAllPlayers(int page, int size) {
-        return playerRepository.findAll(PageRequest.of(page, size)).getContent();
+        PageRequest pageRequest = PageRequest.of(page, size);
+        PlayerSnapshot current = snapshot;
+        if (current != null) {
+            return time(LIST_TIMER, "page", SNAPSHOT, () -> current.getPage(page, size));
+        }
+        return time(LIST_TIMER, "page", DATABASE, () -> playerRepository.findAll(pageRequest).getContent());
+    }
+
+    /**
+     * Returns up to {@code limit} players with an ID greater than {@code afterPlayerID}, in ID order. Runs a
+     * single seek query on the primary key for one extra row to tell whether more players follow, so it
+     * neither skips over an offset nor counts the table.
+     *
+     * @param afterPlayerID the ID of the last player of the previous slice, or null to start from the beginning
+     * @param limit the maximum number of players to return, between 1 and {@value #MAX_SLICE_SIZE}
+     * @return the players of the slice and whether more players follow
+     */
+    public PlayerSlice getPlayersAfter(String afterPlayerID, int limit) {
+        if (limit < 1 || limit > MAX_SLICE_SIZE) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_SLICE_SIZE);
+        }
+        PlayerSnapshot current = snapshot;
+        String after = afterPlayerID == null ? "" : afterPlayerID;
+        List<Player> players = current != null
+                ? time(LIST_TIMER, "slice", SNAPSHOT, () -> current.getAfter(afterPlayerID, limit + 1))
+                : time(LIST_TIMER, "slice", DATABASE,
+                        () -> playerRepository.findByPlayerIDGreaterThanOrderByPlayerIDAsc(after, PageRequest.of(0, limit + 1)));
+        boolean hasMore = players.size() > limit;
+        return new PlayerSlice(hasMore ? players.subList(0, limit) : players, hasMore);
     }
 
+    /**
+     * Returns up to {@code limit} players matching the search criteria after {@code afterPlayerID}, in ID order.
+     * Each criterion is a plain column comparison served by a secondary index on {@link Player}. Searches always
+     * query the database, also when lookups and listings are served from a snapshot.
+     *
+     * @param criteria the filters to apply
+     * @param afterPlayerID the ID of the last player of the previous slice, or null to start from the beginning
+     * @param limit the maximum number of players to return, between 1 and {@value #MAX_SLICE_SIZE}
+     * @return the matching players of the slice and whether more matches follow
+     */
+    public PlayerSlice searchPlayers(PlayerSearchCriteria criteria, String afterPlayerID, int limit) {
+        if (limit < 1 || limit > MAX_SLICE_SIZE) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_SLICE_SIZE);
+        }
+        List<Specification<Player>> filters = new ArrayList<>();
+        if (hasText(criteria.getNameLast())) {
+            filters.add(PlayerSpecifications.hasPrefix("nameLast", criteria.getNameLast()));
+        }
+        if (hasText(criteria.getNameFirst())) {
+            filters.add(PlayerSpecifications.hasPrefix("nameFirst", criteria.getNameFirst()));
+        }
+        if (hasText(criteria.getBirthCountry())) {
+            filters.add(PlayerSpecifications.equalTo("birthCountry", criteria.getBirthCountry()));
+        }
+        if (criteria.getBirthYearFrom() != null) {
+            filters.add(PlayerSpecifications.bornFrom(criteria.getBirthYearFrom()));
+        }
+        if (criteria.getBirthYearTo() != null) {
+            filters.add(PlayerSpecifications.bornUntil(criteria.getBirthYearTo()));
+        }
+        if (criteria.getBats() != null) {
+            filters.add(PlayerSpecifications.equalTo("bats", criteria.getBats()));
+        }
+        if (criteria.getThrowsHand() != null) {
+            filters.add(PlayerSpecifications.equalTo("throwsHand", criteria.getThrowsHand()));
+        }
+        if (criteria.getActiveFrom() != null) {
+            filters.add(PlayerSpecifications.activeSince(criteria.getActiveFrom()));
+        }
+        if (criteria.getActiveTo() != null) {
+            filters.add(PlayerSpecifications.activeUntil(criteria.getActiveTo()));
+        }
+        if (filters.isEmpty()) {
+            throw new InvalidRequestException("At least one search filter is required");
+        }
+        if (afterPlayerID != null) {
+            filters.add(PlayerSpecifications.idAfter(afterPlayerID));
+        }
+
+        Specification<Player> specification = filters.stream().reduce(Specification::and).get();
+        List<Player> players = time(LIST_TIMER, "search", DATABASE, () -> playerRepository.findAllOrderedById(specification, limit + 1));
+        boolean hasMore = players.size() > limit;
+        return new PlayerSlice(hasMore ? players.subList(0, limit) : players, hasMore);
+    }
+
+    /**
+     * Finds players by partial or misspelled first, last or given names through the in-memory
+     * {@link PlayerNameIndex}. The matching players are then resolved through the player cache.
+     *
+     * @param query the name or names to search for
+     * @param limit the maximum number of players to return, between 1 and {@value #MAX_NAME_SEARCH_RESULTS}
+     * @return the matching players, best match first
+     */
+    public List<Player> searchPlayersByName(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("q must not be empty");
+        }
+        if (limit < 1 || limit > MAX_NAME_SEARCH_RESULTS) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_NAME_SEARCH_RESULTS);
+        }
+        return time(LIST_TIMER, "name", snapshot != null ? SNAPSHOT : DATABASE,
+                () -> new ArrayList<>(getPlayersByIds(playerNameIndex.search(query, limit)).values()));
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+
+    /**
+     * Runs a query and records its duration in the given timer, tagged with the kind of query and whether it
+     * was served from the database or the snapshot.
+     */
+    private <T> T time(String timer, String kind, String source, Supplier<T> query) {
+        return meterRegistry.timer(timer, KIND_TAG, kind, SOURCE_TAG, source).record(query);
+    }
+
+    /**
+     * Serves lookups and listings from the given snapshot from now on instead of the database, and clears the
+     * player cache, which may hold players of the previous snapshot.
+     *
+     * @param snapshot the snapshot holding all players
+     */
+    public void useSnapshot(PlayerSnapshot snapshot) {
+        this.snapshot = snapshot;
+        Cache cache = cacheManager.getCache(PLAYER_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Returns a player by ID through the bounded player cache. Only found players are cached, so a player
+     * created by a later reload is visible right away. Cache hits do not reach this method, so its timer
+     * measures the lookups of cache misses.
+     */
+    @Cacheable(cacheNames = PLAYER_CACHE, unless = "#result == null")
     public Optional<Player> getPlayerById(String playerID) {
-        return playerRepository.findById(playerID);
+        PlayerSnapshot current = snapshot;
+        if (current != null) {
+            return time(LOOKUP_TIMER, "id", SNAPSHOT, () -> Optional.ofNullable(current.get(playerID)));
+        }
+        return time(LOOKUP_TIMER, "id", DATABASE, () -> playerRepository.findById(playerID));
+    }
+
+    /**
+     * Resolves many players by ID at once. Players found in the player cache are served from it; the rest are
+     * loaded with one {@code IN} query per {@value #LOOKUP_CHUNK_SIZE} IDs and added to the cache. When a
+     * snapshot is in use, all players are read from it instead.
+     *
+     * @param playerIDs the IDs to resolve, at most {@value #MAX_BATCH_SIZE}; duplicates are ignored
+     * @return the players found, keyed by ID in the order of the requested IDs; unknown IDs are absent
+     */
+    public Map<String, Player> getPlayersByIds(Collection<String> playerIDs) {
+        Set<String> ids = new LinkedHashSet<>(playerIDs);
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new InvalidRequestException("At most " + MAX_BATCH_SIZE + " player IDs can be resolved at once");
+        }
+        PlayerSnapshot current = snapshot;
+        if (current != null) {
+            return time(LOOKUP_TIMER, "ids", SNAPSHOT, () -> resolvePlayers(current, ids));
+        }
+        return time(LOOKUP_TIMER, "ids", DATABASE, () -> resolvePlayers(ids));
+    }
+
+    /**
+     * Resolves players from the snapshot, bypassing the player cache.
+     */
+    private Map<String, Player> resolvePlayers(PlayerSnapshot current, Set<String> ids) {
+        Map<String, Player> players = new LinkedHashMap<>();
+        for (String id : ids) {
+            Player player = current.get(id);
+            if (player != null) {
+                players.put(id, player);
+            }
+        }
+        return players;
+    }
+
+    private Map<String, Player> resolvePlayers(Set<String> ids) {
+        Cache cache = cacheManager.getCache(PLAYER_CACHE);
+        Map<String, Player> found = new HashMap<>();
+        List<String> uncached = new ArrayList<>();
+        for (String id : ids) {
+            Player cached = cache == null ? null : cache.get(id, Player.class);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                uncached.add(id);
+            }
+        }
+        for (int from = 0; from < uncached.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = uncached.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, uncached.size()));
+            for (Player player : playerRepository.findAllById(chunk)) {
+                found.put(player.getPlayerID(), player);
+                if (cache != null) {
+                    cache.put(player.getPlayerID(), player);
+                }
+            }
+        }
+
+        Map<String, Player> players = new LinkedHashMap<>();
+        for (String id : ids) {
+            Player player = found.get(id);
+            if (player != null) {
+                players.put(id, player);
+            }
+        }
+        return players;
+    }
+
+    /**
+     * Removes the given players from the player cache, e.g. after a reload changed or deleted them.
+     *
+     * @param playerIDs the IDs of the players to evict
+     */
+    public void evictPlayers(Collection<String> playerIDs) {
+        Cache cache = cacheManager.getCache(PLAYER_CACHE);
+        if (cache != null) {
+            playerIDs.forEach(cache::evict);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package com.playerdbmicroservice.service;
+
+import com.playerdbmicroservice.entity.Player;
+
+import java.util.List;
+
+/**
+ * One slice of the player listing in player ID order, and whether more players follow it.
+ */
+public class PlayerSlice {
+    private final List<Player> players;
+    private final boolean hasMore;
+
+    public PlayerSlice(List<Player> players, boolean hasMore) {
+        this.players = players;
+        this.hasMore = hasMore;
+    }
+
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Returns the ID of the last player of this slice, from which the next slice continues, or null if
+     * this is the last slice.
+     */
+    public String getLastPlayerID() {
+        return hasMore ? players.get(players.size() - 1).getPlayerID() : null;
+    }
+}
@@ -0,0 +1,469 @@
+package com.playerdbmicroservice.service;
+
+import com.playerdbmicroservice.entity.Handedness;
+import com.playerdbmicroservice.entity.Player;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable in-memory copy of all players, used to serve lookups and listings without the database.
+ * <p>
+ * Players are stored column by column in parallel arrays sorted by player ID: a lookup is a binary search
+ * over the IDs and a listing is a range of indexes. Small numbers, handedness ordinals and content hashes are
+ * stored as primitives and dates as epoch days. Any value of a primitive can be legitimate, so missing numbers,
+ * dates and hashes are recorded in a null bitmap holding one bit per player and column, next to each other
+ * for the columns of a player. Equal strings are stored once, so the repeated birth and death places take a
+ * reference per player. Every read returns new {@link Player} instances, so callers cannot modify the snapshot.
+ */
+public final class PlayerSnapshot {
+
+    // Handedness ordinals are never negative, so unlike the other primitive columns it needs no null bit
+    private static final byte NO_HANDEDNESS = -1;
+
+    // Bits of the null bitmap of a player, one per nullable primitive column
+    private static final int BIRTH_YEAR = 0;
+
+    private static final int BIRTH_MONTH = 1;
+
+    private static final int BIRTH_DAY = 2;
+
+    private static final int DEATH_YEAR = 3;
+
+    private static final int DEATH_MONTH = 4;
+
+    private static final int DEATH_DAY = 5;
+
+    private static final int WEIGHT = 6;
+
+    private static final int HEIGHT = 7;
+
+    private static final int DEBUT = 8;
+
+    private static final int FINAL_GAME = 9;
+
+    private static final int CONTENT_HASH = 10;
+
+    private static final int NULLABLE_COLUMNS = 11;
+
+    private static final Handedness[] HANDEDNESS = Handedness.values();
+
+    private final int size;
+
+    private final String[] playerIds;
+
+    private final short[] birthYears;
+
+    private final byte[] birthMonths;
+
+    private final byte[] birthDays;
+
+    private final String[] birthCountries;
+
+    private final String[] birthStates;
+
+    private final String[] birthCities;
+
+    private final short[] deathYears;
+
+    private final byte[] deathMonths;
+
+    private final byte[] deathDays;
+
+    private final String[] deathCountries;
+
+    private final String[] deathStates;
+
+    private final String[] deathCities;
+
+    private final String[] namesFirst;
+
+    private final String[] namesLast;
+
+    private final String[] namesGiven;
+
+    private final short[] weights;
+
+    private final short[] heights;
+
+    private final byte[] bats;
+
+    private final byte[] throwsHands;
+
+    private final int[] debuts;
+
+    private final int[] finalGames;
+
+    private final String[] retroIds;
+
+    private final String[] bbrefIds;
+
+    private final long[] contentHashes;
+
+    private final BitSet nulls;
+
+    private final long memoryBytes;
+
+    private PlayerSnapshot(Builder builder) {
+        size = builder.size;
+        playerIds = Arrays.copyOf(builder.playerIds, size);
+        birthYears = Arrays.copyOf(builder.birthYears, size);
+        birthMonths = Arrays.copyOf(builder.birthMonths, size);
+        birthDays = Arrays.copyOf(builder.birthDays, size);
+        birthCountries = Arrays.copyOf(builder.birthCountries, size);
+        birthStates = Arrays.copyOf(builder.birthStates, size);
+        birthCities = Arrays.copyOf(builder.birthCities, size);
+        deathYears = Arrays.copyOf(builder.deathYears, size);
+        deathMonths = Arrays.copyOf(builder.deathMonths, size);
+        deathDays = Arrays.copyOf(builder.deathDays, size);
+        deathCountries = Arrays.copyOf(builder.deathCountries, size);
+        deathStates = Arrays.copyOf(builder.deathStates, size);
+        deathCities = Arrays.copyOf(builder.deathCities, size);
+        namesFirst = Arrays.copyOf(builder.namesFirst, size);
+        namesLast = Arrays.copyOf(builder.namesLast, size);
+        namesGiven = Arrays.copyOf(builder.namesGiven, size);
+        weights = Arrays.copyOf(builder.weights, size);
+        heights = Arrays.copyOf(builder.heights, size);
+        bats = Arrays.copyOf(builder.bats, size);
+        throwsHands = Arrays.copyOf(builder.throwsHands, size);
+        debuts = Arrays.copyOf(builder.debuts, size);
+        finalGames = Arrays.copyOf(builder.finalGames, size);
+        retroIds = Arrays.copyOf(builder.retroIds, size);
+        bbrefIds = Arrays.copyOf(builder.bbrefIds, size);
+        contentHashes = Arrays.copyOf(builder.contentHashes, size);
+        nulls = builder.nulls.get(0, size * NULLABLE_COLUMNS);
+        memoryBytes = Builder.STRING_COLUMNS * arrayBytes(size, 4) + Builder.SHORT_COLUMNS * arrayBytes(size, 2)
+                + Builder.BYTE_COLUMNS * arrayBytes(size, 1) + Builder.DATE_COLUMNS * arrayBytes(size, 4)
+                + arrayBytes(size, 8) + Builder.BITSET_OVERHEAD
+                + arrayBytes((size * NULLABLE_COLUMNS + 63) / 64, 8) + builder.stringBytes;
+    }
+
+    /**
+     * Returns the number of players in the snapshot.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the estimated heap used by the snapshot, counting each distinct string once.
+     */
+    public long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    /**
+     * Returns the player with the given ID.
+     *
+     * @param playerID the ID of the player
+     * @return a new copy of the player, or null if there is no such player
+     */
+    public Player get(String playerID) {
+        int index = Arrays.binarySearch(playerIds, 0, size, playerID);
+        return index >= 0 ? player(index) : null;
+    }
+
+    /**
+     * Returns up to {@code limit} players with an ID greater than {@code afterPlayerID}, in ID order.
+     *
+     * @param afterPlayerID the ID the players must follow, or null to start from the first player
+     * @param limit the maximum number of players to return
+     * @return new copies of the players
+     */
+    public List<Player> getAfter(String afterPlayerID, int limit) {
+        int from = 0;
+        if (afterPlayerID != null) {
+            int index = Arrays.binarySearch(playerIds, 0, size, afterPlayerID);
+            from = index >= 0 ? index + 1 : -index - 1;
+        }
+        return players(from, limit);
+    }
+
+    /**
+     * Returns one page of players in ID order.
+     *
+     * @param page the zero-based page number
+     * @param pageSize the number of players per page
+     * @return new copies of the players of the page, empty past the last page
+     */
+    public List<Player> getPage(int page, int pageSize) {
+        long from = (long) page * pageSize;
+        return from >= size ? Collections.emptyList() : players((int) from, pageSize);
+    }
+
+    private List<Player> players(int from, int limit) {
+        int to = (int) Math.min(size, (long) from + limit);
+        List<Player> players = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            players.add(player(i));
+        }
+        return players;
+    }
+
+    private Player player(int i) {
+        Player player = new Player();
+        player.setPlayerID(playerIds[i]);
+        player.setBirthYear(isNull(i, BIRTH_YEAR) ? null : birthYears[i]);
+        player.setBirthMonth(isNull(i, BIRTH_MONTH) ? null : birthMonths[i]);
+        player.setBirthDay(isNull(i, BIRTH_DAY) ? null : birthDays[i]);
+        player.setBirthCountry(birthCountries[i]);
+        player.setBirthState(birthStates[i]);
+        player.setBirthCity(birthCities[i]);
+        player.setDeathYear(isNull(i, DEATH_YEAR) ? null : deathYears[i]);
+        player.setDeathMonth(isNull(i, DEATH_MONTH) ? null : deathMonths[i]);
+        player.setDeathDay(isNull(i, DEATH_DAY) ? null : deathDays[i]);
+        player.setDeathCountry(deathCountries[i]);
+        player.setDeathState(deathStates[i]);
+        player.setDeathCity(deathCities[i]);
+        player.setNameFirst(namesFirst[i]);
+        player.setNameLast(namesLast[i]);
+        player.setNameGiven(namesGiven[i]);
+        player.setWeight(isNull(i, WEIGHT) ? null : weights[i]);
+        player.setHeight(isNull(i, HEIGHT) ? null : heights[i]);
+        player.setBats(toHandedness(bats[i]));
+        player.setThrowsHand(toHandedness(throwsHands[i]));
+        player.setDebut(isNull(i, DEBUT) ? null : LocalDate.ofEpochDay(debuts[i]));
+        player.setFinalGame(isNull(i, FINAL_GAME) ? null : LocalDate.ofEpochDay(finalGames[i]));
+        player.setRetroID(retroIds[i]);
+        player.setBbrefID(bbrefIds[i]);
+        player.setContentHash(isNull(i, CONTENT_HASH) ? null : contentHashes[i]);
+        return player;
+    }
+
+    private boolean isNull(int i, int column) {
+        return nulls.get(i * NULLABLE_COLUMNS + column);
+    }
+
+    private static Handedness toHandedness(byte ordinal) {
+        return ordinal == NO_HANDEDNESS ? null : HANDEDNESS[ordinal];
+    }
+
+    private static long arrayBytes(int length, int elementSize) {
+        return align(16 + (long) length * elementSize);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Collects players in ascending ID order into a new snapshot. Not thread-safe.
+     */
+    public static final class Builder {
+
+        private static final int STRING_COLUMNS = 12;
+
+        private static final int SHORT_COLUMNS = 4;
+
+        private static final int BYTE_COLUMNS = 6;
+
+        private static final int DATE_COLUMNS = 2;
+
+        // Heap taken by a bit set besides its words: the BitSet object and the header of its long array
+        private static final int BITSET_OVERHEAD = 24;
+
+        // Heap taken by a string besides its characters: the String object and the header of its byte array
+        private static final int STRING_OVERHEAD = 24 + 16;
+
+        private final Map<String, String> strings = new HashMap<>();
+
+        private long stringBytes;
+
+        private int size;
+
+        private String[] playerIds;
+
+        private short[] birthYears;
+
+        private byte[] birthMonths;
+
+        private byte[] birthDays;
+
+        private String[] birthCountries;
+
+        private String[] birthStates;
+
+        private String[] birthCities;
+
+        private short[] deathYears;
+
+        private byte[] deathMonths;
+
+        private byte[] deathDays;
+
+        private String[] deathCountries;
+
+        private String[] deathStates;
+
+        private String[] deathCities;
+
+        private String[] namesFirst;
+
+        private String[] namesLast;
+
+        private String[] namesGiven;
+
+        private short[] weights;
+
+        private short[] heights;
+
+        private byte[] bats;
+
+        private byte[] throwsHands;
+
+        private int[] debuts;
+
+        private int[] finalGames;
+
+        private String[] retroIds;
+
+        private String[] bbrefIds;
+
+        private long[] contentHashes;
+
+        private final BitSet nulls = new BitSet();
+
+        public Builder() {
+            this(1024);
+        }
+
+        /**
+         * @param capacity the expected number of players
+         */
+        public Builder(int capacity) {
+            resize(Math.max(capacity, 16));
+        }
+
+        /**
+         * Adds a player after the previously added one.
+         *
+         * @param player the player to add
+         * @throws IllegalArgumentException if its ID does not follow the ID of the previous player
+         */
+        public Builder add(Player player) {
+            String playerID = player.getPlayerID();
+            if (size > 0 && playerIds[size - 1].compareTo(playerID) >= 0) {
+                throw new IllegalArgumentException("Players must be added in ascending ID order, "
+                        + playerID + " follows " + playerIds[size - 1]);
+            }
+            if (size == playerIds.length) {
+                resize(size * 2);
+            }
+            int i = size++;
+            playerIds[i] = string(playerID);
+            birthYears[i] = fromShort(player.getBirthYear(), i, BIRTH_YEAR);
+            birthMonths[i] = fromByte(player.getBirthMonth(), i, BIRTH_MONTH);
+            birthDays[i] = fromByte(player.getBirthDay(), i, BIRTH_DAY);
+            birthCountries[i] = string(player.getBirthCountry());
+            birthStates[i] = string(player.getBirthState());
+            birthCities[i] = string(player.getBirthCity());
+            deathYears[i] = fromShort(player.getDeathYear(), i, DEATH_YEAR);
+            deathMonths[i] = fromByte(player.getDeathMonth(), i, DEATH_MONTH);
+            deathDays[i] = fromByte(player.getDeathDay(), i, DEATH_DAY);
+            deathCountries[i] = string(player.getDeathCountry());
+            deathStates[i] = string(player.getDeathState());
+            deathCities[i] = string(player.getDeathCity());
+            namesFirst[i] = string(player.getNameFirst());
+            namesLast[i] = string(player.getNameLast());
+            namesGiven[i] = string(player.getNameGiven());
+            weights[i] = fromShort(player.getWeight(), i, WEIGHT);
+            heights[i] = fromShort(player.getHeight(), i, HEIGHT);
+            bats[i] = fromHandedness(player.getBats());
+            throwsHands[i] = fromHandedness(player.getThrowsHand());
+            debuts[i] = fromDate(player.getDebut(), i, DEBUT);
+            finalGames[i] = fromDate(player.getFinalGame(), i, FINAL_GAME);
+            retroIds[i] = string(player.getRetroID());
+            bbrefIds[i] = string(player.getBbrefID());
+            contentHashes[i] = fromLong(player.getContentHash(), i, CONTENT_HASH);
+            return this;
+        }
+
+        /**
+         * Returns a snapshot of the players added so far, trimmed to their number.
+         */
+        public PlayerSnapshot build() {
+            return new PlayerSnapshot(this);
+        }
+
+        /**
+         * Returns the single stored copy of a string equal to the given one.
+         */
+        private String string(String value) {
+            if (value == null) {
+                return null;
+            }
+            String stored = strings.putIfAbsent(value, value);
+            if (stored != null) {
+                return stored;
+            }
+            stringBytes += align(STRING_OVERHEAD + value.length());
+            return value;
+        }
+
+        private void resize(int capacity) {
+            playerIds = copyOf(playerIds, capacity);
+            birthYears = birthYears == null ? new short[capacity] : Arrays.copyOf(birthYears, capacity);
+            birthMonths = birthMonths == null ? new byte[capacity] : Arrays.copyOf(birthMonths, capacity);
+            birthDays = birthDays == null ? new byte[capacity] : Arrays.copyOf(birthDays, capacity);
+            birthCountries = copyOf(birthCountries, capacity);
+            birthStates = copyOf(birthStates, capacity);
+            birthCities = copyOf(birthCities, capacity);
+            deathYears = deathYears == null ? new short[capacity] : Arrays.copyOf(deathYears, capacity);
+            deathMonths = deathMonths == null ? new byte[capacity] : Arrays.copyOf(deathMonths, capacity);
+            deathDays = deathDays == null ? new byte[capacity] : Arrays.copyOf(deathDays, capacity);
+            deathCountries = copyOf(deathCountries, capacity);
+            deathStates = copyOf(deathStates, capacity);
+            deathCities = copyOf(deathCities, capacity);
+            namesFirst = copyOf(namesFirst, capacity);
+            namesLast = copyOf(namesLast, capacity);
+            namesGiven = copyOf(namesGiven, capacity);
+            weights = weights == null ? new short[capacity] : Arrays.copyOf(weights, capacity);
+            heights = heights == null ? new short[capacity] : Arrays.copyOf(heights, capacity);
+            bats = bats == null ? new byte[capacity] : Arrays.copyOf(bats, capacity);
+            throwsHands = throwsHands == null ? new byte[capacity] : Arrays.copyOf(throwsHands, capacity);
+            debuts = debuts == null ? new int[capacity] : Arrays.copyOf(debuts, capacity);
+            finalGames = finalGames == null ? new int[capacity] : Arrays.copyOf(finalGames, capacity);
+            retroIds = copyOf(retroIds, capacity);
+            bbrefIds = copyOf(bbrefIds, capacity);
+            contentHashes = contentHashes == null ? new long[capacity] : Arrays.copyOf(contentHashes, capacity);
+        }
+
+        private static String[] copyOf(String[] column, int capacity) {
+            return column == null ? new String[capacity] : Arrays.copyOf(column, capacity);
+        }
+
+        private short fromShort(Short value, int i, int column) {
+            return isNull(value, i, column) ? 0 : value;
+        }
+
+        private byte fromByte(Byte value, int i, int column) {
+            return isNull(value, i, column) ? 0 : value;
+        }
+
+        private long fromLong(Long value, int i, int column) {
+            return isNull(value, i, column) ? 0 : value;
+        }
+
+        private int fromDate(LocalDate value, int i, int column) {
+            return isNull(value, i, column) ? 0 : (int) value.toEpochDay();
+        }
+
+        /**
+         * Records whether the value of a column of the player at the given index is missing.
+         */
+        private boolean isNull(Object value, int i, int column) {
+            nulls.set(i * NULLABLE_COLUMNS + column, value == null);
+            return value == null;
+        }
+
+        private static byte fromHandedness(Handedness value) {
+            return value == null ? NO_HANDEDNESS : (byte) value.ordinal();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.playerdbmicroservice.service;
+
+import com.playerdbmicroservice.entity.Player;
+import com.playerdbmicroservice.repository.PlayerRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Builds the {@link PlayerSnapshot} that {@link PlayerService} serves lookups and listings from when
+ * {@code player.snapshot.enabled} is set. The database stays the system of record: the first snapshot is
+ * built from the player table once the application is ready, and each reload that changes players triggers a
+ * rebuild in the background once it commits. The new snapshot is swapped in when it is complete, so reads
+ * never wait for a rebuild; until then they are served from the previous snapshot.
+ */
+@Service
+public class PlayerSnapshotLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlayerSnapshotLoader.class);
+
+    private static final String SIZE_GAUGE = "player.snapshot.players";
+
+    private static final String MEMORY_GAUGE = "player.snapshot.memory";
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private PlayerDatasetVersion playerDatasetVersion;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${player.snapshot.enabled:false}")
+    private boolean enabled = false;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("player-snapshot-"));
+
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    private volatile PlayerSnapshot snapshot;
+
+    /**
+     * Publishes the size and the estimated memory footprint of the current snapshot as gauges.
+     */
+    @PostConstruct
+    public void registerGauges() {
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder(MEMORY_GAUGE, this, loader -> loader.snapshot == null ? 0 : loader.snapshot.getMemoryBytes())
+                .description("Estimated heap used by the player snapshot")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder(SIZE_GAUGE, this, loader -> loader.snapshot == null ? 0 : loader.snapshot.size())
+                .description("Number of players in the player snapshot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Builds the first snapshot once the application is ready. Until it is in place, reads go to the database.
+     * Like every rebuild it runs on the single snapshot thread, so an older snapshot never replaces a newer one.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() throws InterruptedException, ExecutionException {
+        if (enabled) {
+            executor.submit(() -> swap(build())).get();
+        }
+    }
+
+    /**
+     * Rebuilds the snapshot in the background, e.g. after a reload committed changes. Requests made while a
+     * rebuild is waiting to start are coalesced into it; a request made once it has started triggers another
+     * rebuild, so changes committed during a rebuild are not missed.
+     */
+    public void refresh() {
+        if (enabled && rebuildPending.compareAndSet(false, true)) {
+            executor.submit(() -> {
+                rebuildPending.set(false);
+                try {
+                    swap(build());
+                } catch (RuntimeException e) {
+                    logger.error("Failed to rebuild the player snapshot, still serving the previous one", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Reads all players in ID order from the database into a new snapshot, in a read-only transaction.
+     *
+     * @return the new snapshot
+     */
+    PlayerSnapshot build() {
+        long start = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        PlayerSnapshot built = transaction.execute(status -> {
+            PlayerSnapshot current = snapshot;
+            PlayerSnapshot.Builder builder = new PlayerSnapshot.Builder(current == null ? 1024 : current.size());
+            try (Stream<Player> players = playerRepository.streamAllByOrderByPlayerID()) {
+                players.forEach(player -> {
+                    builder.add(player);
+                    entityManager.detach(player);
+                });
+            }
+            return builder.build();
+        });
+        logger.info("Built player snapshot ({} players, {} KB) in {} ms",
+                built.size(), built.getMemoryBytes() / 1024, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return built;
+    }
+
+    private void swap(PlayerSnapshot built) {
+        snapshot = built;
+        playerService.useSnapshot(built);
+        playerDatasetVersion.bump();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,170 @@
+package com.playerdbmicroservice.service;
+
+import com.playerdbmicroservice.exception.ReloadCancelledException;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the progress of a single CSV reload. Counters are updated by the reload thread and may be read
+ * concurrently by status requests; cancellation is requested from other threads and honoured by the
+ * reload at the next record.
+ */
+public class ReloadJob {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String file;
+    private final long startedAt = System.currentTimeMillis();
+    private final AtomicLong rowsParsed = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong invalidRows = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private volatile long totalBytes = -1;
+    private volatile Status status = Status.RUNNING;
+    private volatile boolean cancelRequested;
+    private volatile long finishedAt;
+    private volatile String error;
+
+    public ReloadJob() {
+        this(null);
+    }
+
+    /**
+     * @param file the file to reload from, relative to the reload directory, or null for the default source
+     */
+    public ReloadJob(String file) {
+        this.file = file;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isFinished() {
+        return status != Status.RUNNING;
+    }
+
+    public long getRowsParsed() {
+        return rowsParsed.get();
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    public long getInvalidRows() {
+        return invalidRows.get();
+    }
+
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public void addRowsParsed(long rows) {
+        rowsParsed.addAndGet(rows);
+    }
+
+    public void addRowsWritten(long rows) {
+        rowsWritten.addAndGet(rows);
+    }
+
+    public void addInvalidRows(long rows) {
+        invalidRows.addAndGet(rows);
+    }
+
+    public void addBytesRead(long bytes) {
+        bytesRead.addAndGet(bytes);
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public void requestCancel() {
+        cancelRequested = true;
+    }
+
+    /**
+     * Throws {@link ReloadCancelledException} if cancellation was requested, rolling back the reload.
+     */
+    public void checkCancelled() {
+        if (cancelRequested) {
+            throw new ReloadCancelledException("Reload job " + id + " was cancelled");
+        }
+    }
+
+    public void complete() {
+        finish(Status.COMPLETED, null);
+    }
+
+    public void cancelled() {
+        finish(Status.CANCELLED, null);
+    }
+
+    public void fail(String error) {
+        finish(Status.FAILED, error);
+    }
+
+    private void finish(Status status, String error) {
+        this.error = error;
+        this.finishedAt = System.currentTimeMillis();
+        this.status = status;
+    }
+
+    /**
+     * Returns the number of rows parsed per second since the job started.
+     */
+    public double getRowsPerSecond() {
+        long end = isFinished() ? finishedAt : System.currentTimeMillis();
+        long elapsedMillis = Math.max(1, end - startedAt);
+        return getRowsParsed() * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * Estimates the remaining time in seconds from the fraction of the input read so far,
+     * or returns -1 if the input size is unknown or nothing has been read yet.
+     */
+    public long getEtaSeconds() {
+        if (isFinished()) {
+            return 0;
+        }
+        long read = getBytesRead();
+        if (totalBytes <= 0 || read <= 0) {
+            return -1;
+        }
+        long elapsedMillis = System.currentTimeMillis() - startedAt;
+        return Math.max(0, elapsedMillis * (totalBytes - read) / read / 1000);
+    }
+}
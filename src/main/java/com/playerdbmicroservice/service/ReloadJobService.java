@@ -0,0 +1,118 @@
+package com.playerdbmicroservice.service;
+
+import com.playerdbmicroservice.exception.ReloadCancelledException;
+import com.playerdbmicroservice.exception.ReloadInProgressException;
+import com.playerdbmicroservice.exception.ReloadJobNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs CSV reloads as background jobs. At most one reload runs at a time: a request for the same file made
+ * while a reload is in progress is coalesced into the running job instead of starting a second full reload.
+ * A job whose cancellation was requested takes no more requests; a new job is queued behind it instead.
+ */
+@Service
+public class ReloadJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReloadJobService.class);
+
+    private static final int RETAINED_JOBS = 20;
+
+    @Autowired
+    private CSVLoaderService csvLoaderService;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("reload-job-"));
+
+    private final Map<String, ReloadJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ReloadJob> eldest) {
+            return size() > RETAINED_JOBS;
+        }
+    };
+
+    private ReloadJob currentJob;
+
+    /**
+     * Starts a reload of the given file in the background, or returns the running job if a reload of the same
+     * file is already in progress and not being cancelled. The file is validated before the job is started.
+     *
+     * @param file the file to reload from, relative to the reload directory, or null for the default source
+     * @return the job performing the reload
+     * @throws ReloadInProgressException if a reload of another file is in progress
+     */
+    public synchronized ReloadJob startReload(String file) {
+        if (file != null) {
+            csvLoaderService.resolveReloadFile(file);
+        }
+        // A job being cancelled would roll back the requested reload, so requests are not coalesced into it
+        if (currentJob != null && !currentJob.isFinished() && !currentJob.isCancelRequested()) {
+            if (!Objects.equals(currentJob.getFile(), file)) {
+                throw new ReloadInProgressException("Reload job " + currentJob.getId() + " of another file is running");
+            }
+            logger.info("Reload requested while job {} is running, coalescing", currentJob.getId());
+            return currentJob;
+        }
+        ReloadJob job = new ReloadJob(file);
+        jobs.put(job.getId(), job);
+        currentJob = job;
+        executor.submit(() -> run(job));
+        return job;
+    }
+
+    /**
+     * Returns the job with the given ID.
+     *
+     * @param jobId the ID of the job
+     * @return the job
+     * @throws ReloadJobNotFoundException if no such job is known
+     */
+    public synchronized ReloadJob getJob(String jobId) {
+        ReloadJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ReloadJobNotFoundException("Reload job not found: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Requests cancellation of a running job. The reload stops at the next record and its transaction is rolled back.
+     *
+     * @param jobId the ID of the job
+     * @return the job
+     */
+    public ReloadJob cancel(String jobId) {
+        ReloadJob job = getJob(jobId);
+        if (!job.isFinished()) {
+            job.requestCancel();
+        }
+        return job;
+    }
+
+    private void run(ReloadJob job) {
+        try {
+            csvLoaderService.reloadCSV(job);
+            job.complete();
+        } catch (ReloadCancelledException e) {
+            job.cancelled();
+        } catch (Throwable e) {
+            // Errors are caught too, or the job would be reported as running forever and coalesce every request
+            logger.error("Reload job {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,56 @@
+package com.playerdbmicroservice.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.playerdbmicroservice.entity.Handedness;
+import com.playerdbmicroservice.entity.Player;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JacksonConfigTest {
+
+    // Without a fields filter every field is written as by a mapper without the filter, with or without Blackbird
+    @Test
+    public void test_player_filter_writes_all_fields_by_default() throws Exception {
+        Player player = player();
+
+        String reflective = objectMapper(false).writeValueAsString(player);
+        String generated = objectMapper(true).writeValueAsString(player);
+
+        assertEquals(new ObjectMapper().findAndRegisterModules()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writeValueAsString(player), reflective);
+        assertEquals(reflective, generated);
+        assertTrue(reflective.contains("\"debut\":\"2004-04-06\""));
+        assertFalse(reflective.contains("deathYear"));
+    }
+
+    private ObjectMapper objectMapper(boolean blackbird) {
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        jacksonConfig.playerFilterCustomizer().customize(builder);
+        if (blackbird) {
+            builder.modulesToInstall(jacksonConfig.blackbirdModule());
+        }
+        return builder.build();
+    }
+
+    private Player player() {
+        Player player = new Player();
+        player.setPlayerID("aardsda01");
+        player.setBirthYear((short) 1981);
+        player.setNameFirst("David");
+        player.setNameLast("Aardsma");
+        player.setBats(Handedness.R);
+        player.setDebut(LocalDate.parse("2004-04-06"));
+        return player;
+    }
+}
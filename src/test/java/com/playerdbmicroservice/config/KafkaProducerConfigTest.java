@@ -0,0 +1,48 @@
+package com.playerdbmicroservice.config;
+
+import com.playerdbmicroservice.PlayerDbMicroserviceApplication;
+import com.playerdbmicroservice.service.KafkaProducerService;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = PlayerDbMicroserviceApplication.class, properties = "KAFKA_BROKER_ADDRESS=broker:9092")
+public class KafkaProducerConfigTest {
+
+    @Autowired
+    private ProducerFactory<String, byte[]> playerEventProducerFactory;
+
+    @Autowired
+    private KafkaTemplate<String, byte[]> playerEventKafkaTemplate;
+
+    @Autowired
+    private KafkaProducerService kafkaProducerService;
+
+    // The producer the application sends with is the tuned one, pointed at the configured broker
+    @Test
+    public void test_producer_factory_is_tuned() {
+        Map<String, Object> properties = playerEventProducerFactory.getConfigurationProperties();
+
+        assertEquals("broker:9092", properties.get(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG));
+        assertEquals(20, properties.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals(65536, properties.get(ProducerConfig.BATCH_SIZE_CONFIG));
+        assertEquals("lz4", properties.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+    }
+
+    // Encoded player events are sent as raw bytes by the template the producer service is wired with
+    @Test
+    public void test_player_events_are_sent_as_bytes() {
+        assertEquals(ByteArraySerializer.class, playerEventKafkaTemplate.getProducerFactory()
+                .getConfigurationProperties().get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG));
+        assertSame(playerEventKafkaTemplate, ReflectionTestUtils.getField(kafkaProducerService, "playerEventKafkaTemplate"));
+    }
+}
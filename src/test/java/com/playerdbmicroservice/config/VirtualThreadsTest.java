@@ -0,0 +1,67 @@
+package com.playerdbmicroservice.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VirtualThreadsTest {
+
+    // Virtual threads are available from Java 21 on
+    @Test
+    public void test_support_follows_runtime_version() {
+        assertEquals(Runtime.version().feature() >= 21, VirtualThreads.isSupported());
+    }
+
+    // By default workers are named platform threads and callbacks run on the calling thread
+    @Test
+    public void test_platform_threads_by_default() throws Exception {
+        VirtualThreads virtualThreads = new VirtualThreads();
+
+        assertFalse(virtualThreads.isEnabled());
+        assertFalse(isVirtual(runOn(virtualThreads.newWorkerPool("worker-", 2))));
+        assertTrue(runOn(virtualThreads.newWorkerPool("worker-", 2)).getName().startsWith("worker-"));
+        assertSame(Thread.currentThread(), runOn(virtualThreads.newCallbackExecutor("callback-")));
+    }
+
+    // When enabled, workers and callbacks run on named virtual threads, or on platform threads before Java 21
+    @Test
+    public void test_virtual_threads_when_enabled() throws Exception {
+        VirtualThreads virtualThreads = new VirtualThreads();
+        ReflectionTestUtils.setField(virtualThreads, "enabled", true);
+
+        Thread worker = runOn(virtualThreads.newWorkerPool("worker-", 2));
+        Thread callback = runOn(virtualThreads.newCallbackExecutor("callback-"));
+
+        assertEquals(VirtualThreads.isSupported(), virtualThreads.isEnabled());
+        assertEquals(VirtualThreads.isSupported(), isVirtual(worker));
+        assertEquals(VirtualThreads.isSupported(), isVirtual(callback));
+        assertTrue(worker.getName().startsWith("worker-"));
+        if (VirtualThreads.isSupported()) {
+            assertEquals("callback-1", callback.getName());
+        } else {
+            assertSame(Thread.currentThread(), callback);
+            assertThrows(UnsupportedOperationException.class, () -> VirtualThreads.newThreadPerTaskExecutor("worker-"));
+        }
+    }
+
+    private Thread runOn(Executor executor) throws InterruptedException {
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        executor.execute(() -> thread.set(Thread.currentThread()));
+        if (executor instanceof ExecutorService) {
+            ExecutorService executorService = (ExecutorService) executor;
+            executorService.shutdown();
+            assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        return thread.get();
+    }
+
+    private boolean isVirtual(Thread thread) throws Exception {
+        return VirtualThreads.isSupported() && (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+}
@@ -1,40 +1,67 @@
 package com.playerdbmicroservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.playerdbmicroservice.PlayerDbMicroserviceApplication;
 import com.playerdbmicroservice.entity.Player;
-import com.playerdbmicroservice.service.CSVLoaderService;
+import com.playerdbmicroservice.exception.InvalidRequestException;
+import com.playerdbmicroservice.exception.ReloadJobNotFoundException;
+import com.playerdbmicroservice.service.PlayerDatasetVersion;
+import com.playerdbmicroservice.service.PlayerExportService;
 import com.playerdbmicroservice.service.PlayerService;
+import com.playerdbmicroservice.service.PlayerSlice;
+import com.playerdbmicroservice.service.ReloadJob;
+import com.playerdbmicroservice.service.ReloadJobService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Optional;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest(classes = PlayerDbMicroserviceApplication.class)
 public class PlayerControllerTest {
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // Retrieve a player by non-existent ID
     @Test
     public void test_get_player_by_non_existent_id() {
         PlayerService playerService = mock(PlayerService.class);
-        CSVLoaderService csvLoaderService = mock(CSVLoaderService.class);
+        ReloadJobService reloadJobService = mock(ReloadJobService.class);
         PlayerController playerController = new PlayerController();
         ReflectionTestUtils.setField(playerController, "playerService", playerService);
-        ReflectionTestUtils.setField(playerController, "csvLoaderService", csvLoaderService);
+        ReflectionTestUtils.setField(playerController, "reloadJobService", reloadJobService);
+        ReflectionTestUtils.setField(playerController, "playerDatasetVersion", new PlayerDatasetVersion());
 
         String nonExistentId = "nonExistentId";
         when(playerService.getPlayerById(nonExistentId)).thenReturn(Optional.empty());
 
-        ResponseEntity<Player> response = playerController.getPlayerById(nonExistentId);
+        ResponseEntity<Player> response = playerController.getPlayerById(nonExistentId, new HttpHeaders());
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         verify(playerService).getPlayerById(nonExistentId);
@@ -44,10 +71,10 @@ public class PlayerControllerTest {
     @Test
     public void test_get_all_players_with_default_pagination() {
         PlayerService playerService = mock(PlayerService.class);
-        CSVLoaderService csvLoaderService = mock(CSVLoaderService.class);
+        ReloadJobService reloadJobService = mock(ReloadJobService.class);
         PlayerController playerController = new PlayerController();
         ReflectionTestUtils.setField(playerController, "playerService", playerService);
-        ReflectionTestUtils.setField(playerController, "csvLoaderService", csvLoaderService);
+        ReflectionTestUtils.setField(playerController, "reloadJobService", reloadJobService);
 
         List<Player> players = Arrays.asList(new Player(), new Player());
         when(playerService.getAllPlayers(0, 10)).thenReturn(players);
@@ -90,37 +117,259 @@ public class PlayerControllerTest {
         assertEquals(2, actualPlayers.size());
     }
 
-    // CSV reload endpoint returns HTTP 200 status on successful reload
+    // CSV reload endpoint starts a background job and returns its ID with HTTP 202
     @Test
-    public void test_reload_csv_success() {
+    public void test_reload_csv_starts_job() {
         // Arrange
-        CSVLoaderService csvLoaderService = Mockito.mock(CSVLoaderService.class);
+        ReloadJobService reloadJobService = Mockito.mock(ReloadJobService.class);
+        ReloadJob job = new ReloadJob();
+        when(reloadJobService.startReload(null)).thenReturn(job);
         PlayerController playerController = new PlayerController();
-        ReflectionTestUtils.setField(playerController, "csvLoaderService", csvLoaderService);
+        ReflectionTestUtils.setField(playerController, "reloadJobService", reloadJobService);
 
         // Act
-        ResponseEntity<ReloadResponse> response = playerController.reloadCSV();
+        ResponseEntity<ReloadResponse> response = playerController.reloadCSV(null);
 
         // Assert
-        assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals("success", response.getBody().getStatus());
-        assertEquals("CSV reloaded successfully", response.getBody().getMessage());
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("accepted", response.getBody().getStatus());
+        assertEquals(job.getId(), response.getBody().getJobId());
     }
 
-    // CSV reload endpoint handles exceptions thrown by CSVLoaderService's reloadCSV method
+    // Reload status reports a failed job instead of claiming success
     @Test
-    public void test_reload_csv_exception_handling() {
+    public void test_reload_status_reports_failure() {
         // Arrange
-        CSVLoaderService csvLoaderService = Mockito.mock(CSVLoaderService.class);
-        Mockito.doThrow(new RuntimeException("CSV load error")).when(csvLoaderService).reloadCSV();
+        ReloadJobService reloadJobService = Mockito.mock(ReloadJobService.class);
+        ReloadJob job = new ReloadJob();
+        job.fail("CSV load error");
+        when(reloadJobService.getJob(job.getId())).thenReturn(job);
+        PlayerController playerController = new PlayerController();
+        ReflectionTestUtils.setField(playerController, "reloadJobService", reloadJobService);
+
+        // Act
+        ReloadStatusResponse response = playerController.getReloadStatus(job.getId());
+
+        // Assert
+        assertEquals("FAILED", response.getStatus());
+        assertEquals("CSV load error", response.getError());
+    }
+
+    // Unknown reload job IDs are reported as not found
+    @Test
+    public void test_reload_status_unknown_job() {
+        ReloadJobService reloadJobService = Mockito.mock(ReloadJobService.class);
+        when(reloadJobService.getJob("missing")).thenThrow(new ReloadJobNotFoundException("Reload job not found: missing"));
+        PlayerController playerController = new PlayerController();
+        ReflectionTestUtils.setField(playerController, "reloadJobService", reloadJobService);
+
+        assertThrows(ReloadJobNotFoundException.class, () -> playerController.getReloadStatus("missing"));
+    }
+
+    // Keyset listing returns an opaque token that continues after the last player of the page
+    @Test
+    public void test_get_players_after_round_trips_token() {
+        PlayerService playerService = mock(PlayerService.class);
         PlayerController playerController = new PlayerController();
-        ReflectionTestUtils.setField(playerController, "csvLoaderService", csvLoaderService);
+        ReflectionTestUtils.setField(playerController, "playerService", playerService);
+        Player last = new Player();
+        last.setPlayerID("aaronha01");
+        when(playerService.getPlayersAfter(null, 1)).thenReturn(new PlayerSlice(Arrays.asList(last), true));
+        when(playerService.getPlayersAfter("aaronha01", 1)).thenReturn(new PlayerSlice(new ArrayList<>(), false));
+
+        PlayerPageResponse first = playerController.getPlayersAfter(null, 1);
+        PlayerPageResponse second = playerController.getPlayersAfter(first.getNext(), 1);
+
+        assertNotEquals("aaronha01", first.getNext());
+        assertNull(second.getNext());
+        verify(playerService).getPlayersAfter("aaronha01", 1);
+    }
+
+    // Tokens that are not valid base64url are rejected
+    @Test
+    public void test_get_players_after_rejects_invalid_token() {
+        PlayerController playerController = new PlayerController();
+        ReflectionTestUtils.setField(playerController, "playerService", mock(PlayerService.class));
+
+        assertThrows(InvalidRequestException.class, () -> playerController.getPlayersAfter("not a token!", 10));
+    }
+
+    // Export negotiates NDJSON or CSV from the Accept header and gzips the stream when the client accepts it
+    @Test
+    public void test_export_negotiates_format_and_gzip() throws Exception {
+        PlayerExportService playerExportService = mock(PlayerExportService.class);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("{\"playerID\":\"aardsda01\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(playerExportService).exportNdjson(any(OutputStream.class));
+        PlayerController playerController = new PlayerController();
+        ReflectionTestUtils.setField(playerController, "playerExportService", playerExportService);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(playerController).build();
+
+        MvcResult plain = mockMvc.perform(get("/api/players/export")).andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(plain))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(content().string("{\"playerID\":\"aardsda01\"}\n"));
+
+        MvcResult gzipped = mockMvc.perform(get("/api/players/export").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted()).andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(gzipped))
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("{\"playerID\":\"aardsda01\"}\n",
+                new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(), StandardCharsets.UTF_8));
+
+        MvcResult csv = mockMvc.perform(get("/api/players/export").accept("text/csv")).andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(csv)).andExpect(content().contentTypeCompatibleWith("text/csv"));
+        verify(playerExportService).exportCsv(any(OutputStream.class));
+    }
 
-        // Act & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            playerController.reloadCSV();
-        });
+    // Batch lookup accepts IDs as a JSON body or a comma-separated parameter and lists unknown IDs as missing
+    @Test
+    public void test_batch_lookup_reports_missing_ids() throws Exception {
+        PlayerService playerService = mock(PlayerService.class);
+        Player player = new Player();
+        player.setPlayerID("aardsda01");
+        Map<String, Player> found = Collections.singletonMap("aardsda01", player);
+        when(playerService.getPlayersByIds(Arrays.asList("aardsda01", "missing01", "missing01"))).thenReturn(found);
+        PlayerController playerController = new PlayerController();
+        ReflectionTestUtils.setField(playerController, "playerService", playerService);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(playerController).build();
+
+        mockMvc.perform(post("/api/players/batch")
+                        .contentType("application/json")
+                        .content("{\"ids\": [\"aardsda01\", \"missing01\", \"missing01\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.players[0].playerID").value("aardsda01"))
+                .andExpect(jsonPath("$.missing").value("missing01"));
+
+        mockMvc.perform(get("/api/players").param("ids", "aardsda01,missing01,missing01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.players.length()").value(1))
+                .andExpect(jsonPath("$.missing[0]").value("missing01"));
+    }
+
+    // A player is revalidated by its ETag: a tag answers 304 while the player's content is unchanged, without a
+    // lookup under the dataset version it was issued in and also under a newer one, and 200 once it changed
+    @Test
+    public void test_get_player_by_id_answers_conditional_requests() throws Exception {
+        PlayerService playerService = mock(PlayerService.class);
+        Player player = new Player();
+        player.setPlayerID("aardsda01");
+        player.setContentHash(42L);
+        when(playerService.getPlayerById("aardsda01")).thenReturn(Optional.of(player));
+        PlayerDatasetVersion playerDatasetVersion = new PlayerDatasetVersion();
+        PlayerController playerController = new PlayerController();
+        ReflectionTestUtils.setField(playerController, "playerService", playerService);
+        ReflectionTestUtils.setField(playerController, "playerDatasetVersion", playerDatasetVersion);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(playerController).build();
+
+        MvcResult first = mockMvc.perform(get("/api/players/aardsda01"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.playerID").value("aardsda01"))
+                .andReturn();
+        String eTag = first.getResponse().getHeader("ETag");
+        String lastModified = first.getResponse().getHeader("Last-Modified");
+        assertNotNull(lastModified);
+
+        mockMvc.perform(get("/api/players/aardsda01").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag));
+        verify(playerService, times(1)).getPlayerById("aardsda01");
+        mockMvc.perform(get("/api/players/aardsda01").header("If-Modified-Since", lastModified))
+                .andExpect(status().isNotModified());
+
+        playerDatasetVersion.bump();
+        MvcResult revalidated = mockMvc.perform(get("/api/players/aardsda01").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andReturn();
+        assertNotEquals(eTag, revalidated.getResponse().getHeader("ETag"));
+        mockMvc.perform(get("/api/players/aardsda01").header("If-Modified-Since", lastModified))
+                .andExpect(status().isOk());
+
+        player.setContentHash(43L);
+        playerDatasetVersion.bump();
+        mockMvc.perform(get("/api/players/aardsda01").header("If-None-Match", revalidated.getResponse().getHeader("ETag")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.playerID").value("aardsda01"));
+    }
+
+    // Conditions never answer 304 for another player's tag or for a player that does not exist
+    @Test
+    public void test_get_player_by_id_conditions_are_checked_against_the_player() throws Exception {
+        PlayerService playerService = mock(PlayerService.class);
+        Player aardsma = new Player();
+        aardsma.setPlayerID("aardsda01");
+        aardsma.setContentHash(42L);
+        Player aaron = new Player();
+        aaron.setPlayerID("aaronha01");
+        aaron.setContentHash(43L);
+        when(playerService.getPlayerById("aardsda01")).thenReturn(Optional.of(aardsma));
+        when(playerService.getPlayerById("aaronha01")).thenReturn(Optional.of(aaron));
+        when(playerService.getPlayerById("missing01")).thenReturn(Optional.empty());
+        PlayerController playerController = new PlayerController();
+        ReflectionTestUtils.setField(playerController, "playerService", playerService);
+        ReflectionTestUtils.setField(playerController, "playerDatasetVersion", new PlayerDatasetVersion());
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(playerController).build();
+
+        MvcResult first = mockMvc.perform(get("/api/players/aardsda01"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String eTag = first.getResponse().getHeader("ETag");
+        String lastModified = first.getResponse().getHeader("Last-Modified");
+
+        mockMvc.perform(get("/api/players/aaronha01").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.playerID").value("aaronha01"));
+        mockMvc.perform(get("/api/players/missing01").header("If-None-Match", eTag))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/players/missing01").header("If-Modified-Since", lastModified))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/players/missing01").header("If-None-Match", "*"))
+                .andExpect(status().isNotFound());
+    }
+
+    // A fields parameter limits every player of a JSON response to its ID and the requested fields
+    @Test
+    public void test_fields_parameter_selects_player_fields() throws Exception {
+        PlayerService playerService = mock(PlayerService.class);
+        Player player = new Player();
+        player.setPlayerID("aardsda01");
+        player.setNameFirst("David");
+        player.setNameLast("Aardsma");
+        player.setBirthYear((short) 1981);
+        when(playerService.getPlayerById("aardsda01")).thenReturn(Optional.of(player));
+        when(playerService.getPlayersAfter(null, 1)).thenReturn(new PlayerSlice(Collections.singletonList(player), true));
+        PlayerController playerController = new PlayerController();
+        ReflectionTestUtils.setField(playerController, "playerService", playerService);
+        ReflectionTestUtils.setField(playerController, "playerDatasetVersion", new PlayerDatasetVersion());
+        PlayerFieldsAdvice playerFieldsAdvice = new PlayerFieldsAdvice();
+        ReflectionTestUtils.setField(playerFieldsAdvice, "objectMapper", objectMapper);
+        playerFieldsAdvice.init();
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(playerController)
+                .setControllerAdvice(playerFieldsAdvice, new CustomExceptionHandler())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
 
-        assertEquals("CSV load error", exception.getMessage());
+        mockMvc.perform(get("/api/players/aardsda01").param("fields", "nameLast,birthYear"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.playerID").value("aardsda01"))
+                .andExpect(jsonPath("$.nameLast").value("Aardsma"))
+                .andExpect(jsonPath("$.birthYear").value(1981))
+                .andExpect(jsonPath("$.nameFirst").doesNotExist())
+                .andExpect(jsonPath("$.deathYear").doesNotExist());
+        mockMvc.perform(get("/api/players").param("limit", "1").param("fields", "nameFirst"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.players[0].nameFirst").value("David"))
+                .andExpect(jsonPath("$.players[0].nameLast").doesNotExist())
+                .andExpect(jsonPath("$.next").value(PlayerCursor.encode("aardsda01")));
+        mockMvc.perform(get("/api/players/aardsda01"))
+                .andExpect(jsonPath("$.nameFirst").value("David"))
+                .andExpect(jsonPath("$.deathYear").hasJsonPath());
+        mockMvc.perform(get("/api/players/aardsda01").param("fields", "contentHash"))
+                .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+}
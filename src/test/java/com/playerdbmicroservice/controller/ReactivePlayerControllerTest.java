@@ -0,0 +1,97 @@
+package com.playerdbmicroservice.controller;
+
+import com.playerdbmicroservice.config.ReactiveConfig;
+import com.playerdbmicroservice.entity.Player;
+import com.playerdbmicroservice.repository.ReactivePlayerRepository;
+import com.playerdbmicroservice.service.ReloadJobService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Imports ReactiveConfig for its NDJSON encoder; the R2DBC client it would connect is mocked
+@WebFluxTest(ReactivePlayerController.class)
+@Import(ReactiveConfig.class)
+public class ReactivePlayerControllerTest {
+
+    @MockBean
+    private ReactivePlayerRepository repository;
+
+    @MockBean
+    private ReloadJobService reloadJobService;
+
+    @MockBean
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private WebTestClient client;
+
+    // A known player is returned, an unknown ID is answered with 404
+    @Test
+    public void test_get_player_by_id() {
+        when(repository.findById("aardsda01")).thenReturn(Mono.just(player("aardsda01")));
+        when(repository.findById("unknown")).thenReturn(Mono.empty());
+
+        client.get().uri("/api/players/aardsda01").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.playerID").isEqualTo("aardsda01");
+        client.get().uri("/api/players/unknown").exchange()
+                .expectStatus().isNotFound();
+    }
+
+    // Keyset pages read one extra player to tell whether to return a continuation token
+    @Test
+    public void test_get_players_after() {
+        when(repository.findAfter("aardsda01", 3)).thenReturn(Flux.just(player("aaronha01"), player("aaronto01"), player("abadan01")));
+
+        client.get().uri("/api/players?limit=2&after=" + PlayerCursor.encode("aardsda01")).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.players.length()").isEqualTo(2)
+                .jsonPath("$.next").isEqualTo(PlayerCursor.encode("aaronto01"));
+        client.get().uri("/api/players?limit=0").exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    // The listing is streamed as one JSON document per line when NDJSON is accepted
+    @Test
+    public void test_stream_players_as_ndjson() {
+        when(repository.streamAfter(null, 500)).thenReturn(Flux.just(player("aardsda01"), player("aaronha01")));
+
+        String body = client.get().uri("/api/players")
+                .accept(MediaType.parseMediaType("application/x-ndjson"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"playerID\":\"aardsda01\""));
+        assertTrue(lines[1].startsWith("{\"playerID\":\"aaronha01\""));
+    }
+
+    // Offset pages are served as a JSON array
+    @Test
+    public void test_get_all_players() {
+        when(repository.findPage(1, 2)).thenReturn(Flux.just(player("aaronto01"), player("abadan01")));
+
+        client.get().uri("/api/players?page=1&size=2").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[1].playerID").isEqualTo("abadan01");
+    }
+
+    private Player player(String playerID) {
+        Player player = new Player();
+        player.setPlayerID(playerID);
+        return player;
+    }
+}
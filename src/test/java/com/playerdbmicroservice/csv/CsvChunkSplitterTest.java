@@ -0,0 +1,109 @@
+package com.playerdbmicroservice.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvChunkSplitterTest {
+
+    @TempDir
+    Path tempDir;
+
+    // Chunks skip the header, end on record boundaries and cover the rest of the file
+    @Test
+    public void test_split_aligns_chunks_on_records() throws IOException {
+        String csv = "id,name\n1,a\n2,b\n3,c\n4,d\n";
+        try (FileChannel channel = open(csv)) {
+            List<CsvChunk> chunks = CsvChunkSplitter.split(channel, 5);
+
+            assertEquals(2, chunks.size());
+            assertEquals("1,a\n2,b\n", read(channel, chunks.get(0)));
+            assertEquals("3,c\n4,d\n", read(channel, chunks.get(1)));
+        }
+    }
+
+    // A newline inside a quoted field never ends a chunk
+    @Test
+    public void test_split_is_quote_aware() throws IOException {
+        String csv = "id,name\n1,\"a\nb\nc\"\n2,d";
+        try (FileChannel channel = open(csv)) {
+            List<CsvChunk> chunks = CsvChunkSplitter.split(channel, 1);
+
+            assertEquals(2, chunks.size());
+            assertEquals("1,\"a\nb\nc\"\n", read(channel, chunks.get(0)));
+            assertEquals("2,d", read(channel, chunks.get(1)));
+        }
+    }
+
+    // A quote inside an unquoted field is an ordinary character, as in the parser, and does not open a quoted field
+    @Test
+    public void test_split_ignores_quote_inside_field() throws IOException {
+        String csv = "id,name\n1,O\"Brien\n2,b\n3,\"c\nd\"\"x\"\n4,e\"\n";
+        try (FileChannel channel = open(csv)) {
+            List<CsvChunk> chunks = CsvChunkSplitter.split(channel, 1);
+
+            assertEquals(4, chunks.size());
+            assertEquals("1,O\"Brien\n", read(channel, chunks.get(0)));
+            assertEquals("2,b\n", read(channel, chunks.get(1)));
+            assertEquals("3,\"c\nd\"\"x\"\n", read(channel, chunks.get(2)));
+            assertEquals("4,e\"\n", read(channel, chunks.get(3)));
+            for (CsvChunk chunk : chunks) {
+                try (PlayerCsvParser parser = new PlayerCsvParser(new StringReader(read(channel, chunk)))) {
+                    assertTrue(parser.next());
+                    assertEquals(2, parser.getFieldCount());
+                    assertFalse(parser.next());
+                }
+            }
+        }
+    }
+
+    // An opening quote that the parser reads as an ordinary character does not hold up the split either
+    @Test
+    public void test_split_resumes_after_stray_opening_quote() throws IOException {
+        int lines = PlayerCsvParser.MAX_QUOTED_LENGTH / 4 + 1;
+        String csv = "id,name\n\"O'Brien,a\n" + "1,\u00e9\n".repeat(lines) + "2,\"p\nq\"\n";
+        try (FileChannel channel = open(csv)) {
+            List<CsvChunk> chunks = CsvChunkSplitter.split(channel, 1);
+
+            assertEquals(lines + 2, chunks.size());
+            assertEquals("\"O'Brien,a\n", read(channel, chunks.get(0)));
+            assertEquals("1,\u00e9\n", read(channel, chunks.get(1)));
+            assertEquals("2,\"p\nq\"\n", read(channel, chunks.get(lines + 1)));
+        }
+    }
+
+    // A file with only a header produces no chunks
+    @Test
+    public void test_split_header_only() throws IOException {
+        try (FileChannel channel = open("id,name\n")) {
+            assertTrue(CsvChunkSplitter.split(channel, 1).isEmpty());
+        }
+    }
+
+    private FileChannel open(String content) throws IOException {
+        Path file = Files.write(tempDir.resolve("players.csv"), content.getBytes(StandardCharsets.UTF_8));
+        return FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    private String read(FileChannel channel, CsvChunk chunk) throws IOException {
+        StringBuilder content = new StringBuilder();
+        char[] buffer = new char[64];
+        try (MappedFileReader reader = new MappedFileReader(channel, chunk.getStart(), chunk.getEnd(), bytes -> { })) {
+            int read;
+            while ((read = reader.read(buffer, 0, buffer.length)) >= 0) {
+                content.append(buffer, 0, read);
+            }
+        }
+        return content.toString();
+    }
+}
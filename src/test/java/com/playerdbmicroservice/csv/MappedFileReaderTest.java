@@ -0,0 +1,77 @@
+package com.playerdbmicroservice.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedFileReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    // Multi-byte characters straddling mapping windows are decoded whole, and every byte is reported as read
+    @Test
+    public void test_read_decodes_across_windows() throws IOException {
+        String text = "José,Müller\n€uro,𝔸bc\n";
+        try (FileChannel channel = open(text)) {
+            AtomicLong bytesRead = new AtomicLong();
+
+            String decoded = readAll(new MappedFileReader(channel, 0, channel.size(), bytesRead::addAndGet, 5), 3);
+
+            assertEquals(text, decoded);
+            assertEquals(channel.size(), bytesRead.get());
+        }
+    }
+
+    // A surrogate pair is split across reads into a buffer of a single char
+    @Test
+    public void test_read_single_chars() throws IOException {
+        String text = "a𝔸b€";
+        try (FileChannel channel = open(text)) {
+            assertEquals(text, readAll(new MappedFileReader(channel, 0, channel.size(), bytes -> { }, 4), 1));
+        }
+    }
+
+    // Only the requested byte range is read
+    @Test
+    public void test_read_range() throws IOException {
+        try (FileChannel channel = open("id,name\n1,a\n2,b\n")) {
+            assertEquals("1,a\n", readAll(new MappedFileReader(channel, 8, 12, bytes -> { }, 4), 16));
+            assertEquals("", readAll(new MappedFileReader(channel, 12, 12, bytes -> { }), 16));
+        }
+    }
+
+    // Malformed UTF-8 is replaced rather than failing the read
+    @Test
+    public void test_read_replaces_malformed_input() throws IOException {
+        Path file = Files.write(tempDir.resolve("bad.csv"), new byte[]{'a', (byte) 0xC3, ',', 'b', (byte) 0xE2, (byte) 0x82});
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertEquals("a�,b�", readAll(new MappedFileReader(channel, 0, channel.size(), bytes -> { }), 16));
+        }
+    }
+
+    private FileChannel open(String text) throws IOException {
+        Path file = Files.write(tempDir.resolve("test.csv"), text.getBytes(StandardCharsets.UTF_8));
+        return FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    private String readAll(Reader reader, int bufferSize) throws IOException {
+        StringBuilder text = new StringBuilder();
+        char[] buffer = new char[bufferSize];
+        int read;
+        while ((read = reader.read(buffer, 0, buffer.length)) >= 0) {
+            text.append(buffer, 0, read);
+        }
+        return text.toString();
+    }
+}
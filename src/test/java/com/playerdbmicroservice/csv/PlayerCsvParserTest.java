@@ -0,0 +1,127 @@
+package com.playerdbmicroservice.csv;
+
+import com.opencsv.CSVReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlayerCsvParserTest {
+
+    // Quoted fields may contain commas, line breaks and doubled quotes, and CRLF ends a record like LF
+    @Test
+    public void test_next_splits_quoted_fields_and_line_endings() throws IOException {
+        PlayerCsvParser parser = new PlayerCsvParser(new StringReader("a,\"b,\"\"c\"\"\nd\",\r\n\"\",e"));
+
+        assertTrue(parser.next());
+        assertArrayEquals(new String[]{"a", "b,\"c\"\nd", ""}, parser.toArray());
+        assertTrue(parser.next());
+        assertArrayEquals(new String[]{"", "e"}, parser.toArray());
+        assertFalse(parser.next());
+    }
+
+    // Records spanning buffer refills, including ones longer than the buffer, are parsed whole
+    @Test
+    public void test_next_refills_and_grows_buffer() throws IOException {
+        String longField = "x".repeat(50);
+        PlayerCsvParser parser = new PlayerCsvParser(new StringReader("ab,cd\n" + longField + ",\"q\"\"\"\n"), 4);
+
+        assertTrue(parser.next());
+        assertArrayEquals(new String[]{"ab", "cd"}, parser.toArray());
+        assertTrue(parser.next());
+        assertArrayEquals(new String[]{longField, "q\""}, parser.toArray());
+        assertFalse(parser.next());
+    }
+
+    // An opening quote that is not closed within the limit is an ordinary character, so the records after it are kept
+    @Test
+    public void test_stray_opening_quote_is_read_as_unquoted_field() throws IOException {
+        String records = "1,x\n".repeat(PlayerCsvParser.MAX_QUOTED_LENGTH / 4 + 1);
+        PlayerCsvParser parser = new PlayerCsvParser(new StringReader("\"O'Brien,a\n" + records + "2,\"p\nq\"\n"), 16);
+
+        assertTrue(parser.next());
+        assertArrayEquals(new String[]{"\"O'Brien", "a"}, parser.toArray());
+        int count = 0;
+        while (parser.next() && parser.getString(0).equals("1")) {
+            assertArrayEquals(new String[]{"1", "x"}, parser.toArray());
+            count++;
+        }
+        assertEquals(PlayerCsvParser.MAX_QUOTED_LENGTH / 4 + 1, count);
+        assertArrayEquals(new String[]{"2", "p\nq"}, parser.toArray());
+        assertFalse(parser.next());
+    }
+
+    // A quote left open at the end of the input is an ordinary character as well
+    @Test
+    public void test_unterminated_quote_at_end_of_input() throws IOException {
+        PlayerCsvParser parser = new PlayerCsvParser(new StringReader("a,\"b\nc,d"));
+
+        assertTrue(parser.next());
+        assertArrayEquals(new String[]{"a", "\"b"}, parser.toArray());
+        assertTrue(parser.next());
+        assertArrayEquals(new String[]{"c", "d"}, parser.toArray());
+        assertFalse(parser.next());
+    }
+
+    // Typed getters decode values in place and report malformed values without throwing
+    @Test
+    public void test_typed_getters() throws IOException {
+        PlayerCsvParser parser = new PlayerCsvParser(new StringReader(
+                "1990,-7,13x,,99999999999,2000-02-29,2001-02-29,2000-1-01,R,RL"));
+        parser.next();
+
+        assertEquals(1990, parser.getInt(0));
+        assertEquals(-7, parser.getInt(1));
+        assertEquals(PlayerCsvParser.NOT_A_NUMBER, parser.getInt(2));
+        assertEquals(PlayerCsvParser.NOT_A_NUMBER, parser.getInt(3));
+        assertEquals(PlayerCsvParser.NOT_A_NUMBER, parser.getInt(4));
+        assertEquals(LocalDate.of(2000, 2, 29), parser.getDate(5));
+        assertNull(parser.getDate(6));
+        assertNull(parser.getDate(7));
+        assertEquals('R', parser.getChar(8));
+        assertEquals(0, parser.getChar(9));
+    }
+
+    // The content hash depends on every field and on field boundaries, and ignores quoting
+    @Test
+    public void test_content_hash_detects_field_changes() throws IOException {
+        long hash = hash("a,bc");
+
+        assertEquals(hash, hash("\"a\",bc"));
+        assertNotEquals(hash, hash("ab,c"));
+        assertNotEquals(hash, hash("a,bd"));
+        assertEquals(hash("a\"b,c"), hash("\"a\"\"b\",c"));
+    }
+
+    // The bundled player file is split into exactly the same fields as OpenCSV splits it
+    @Test
+    public void test_player_file_matches_opencsv() throws Exception {
+        try (CSVReader reader = new CSVReader(open());
+             PlayerCsvParser parser = new PlayerCsvParser(open())) {
+            String[] expected;
+            int records = 0;
+            while ((expected = reader.readNext()) != null) {
+                assertTrue(parser.next());
+                assertArrayEquals(expected, parser.toArray(), "record " + records);
+                records++;
+            }
+            assertFalse(parser.next());
+            assertTrue(records > 19000);
+        }
+    }
+
+    private long hash(String line) throws IOException {
+        PlayerCsvParser parser = new PlayerCsvParser(new StringReader(line));
+        parser.next();
+        return parser.contentHash();
+    }
+
+    private InputStreamReader open() {
+        return new InputStreamReader(getClass().getResourceAsStream("/Player.csv"), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,110 @@
+package com.playerdbmicroservice.event;
+
+import com.playerdbmicroservice.entity.Handedness;
+import com.playerdbmicroservice.entity.Player;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlayerEventCodecTest {
+
+    // A created event round-trips every populated field
+    @Test
+    public void test_created_event_round_trip() {
+        Player player = createPlayer();
+
+        PlayerEvent decoded = PlayerEventCodec.decode(PlayerEventCodec.encode(PlayerEvent.created(player)));
+
+        assertEquals(PlayerEvent.Type.CREATED, decoded.getType());
+        assertEquals("aardsda01", decoded.getPlayerID());
+        Player copy = new Player();
+        decoded.applyTo(copy);
+        for (PlayerField field : PlayerField.values()) {
+            assertEquals(field.get(player), field.get(copy), field.name());
+        }
+    }
+
+    // An updated event only carries changed fields, including fields that were cleared
+    @Test
+    public void test_updated_event_carries_changed_fields() {
+        Player before = createPlayer();
+        Player after = createPlayer();
+        after.setWeight((short) -3);
+        after.setDeathCity(null);
+
+        PlayerEvent decoded = PlayerEventCodec.decode(PlayerEventCodec.encode(PlayerEvent.updated(before, after)));
+
+        Map<PlayerField, Object> expected = new EnumMap<>(PlayerField.class);
+        expected.put(PlayerField.WEIGHT, -3);
+        expected.put(PlayerField.DEATH_CITY, null);
+        assertEquals(PlayerEvent.Type.UPDATED, decoded.getType());
+        assertEquals(expected, decoded.getFields());
+        decoded.applyTo(before);
+        assertEquals((short) -3, before.getWeight());
+        assertNull(before.getDeathCity());
+    }
+
+    // A deleted event carries only the player ID
+    @Test
+    public void test_deleted_event_round_trip() {
+        PlayerEvent decoded = PlayerEventCodec.decode(PlayerEventCodec.encode(PlayerEvent.deleted("aardsda01")));
+
+        assertEquals(PlayerEvent.Type.DELETED, decoded.getType());
+        assertEquals("aardsda01", decoded.getPlayerID());
+        assertEquals(Collections.emptyMap(), decoded.getFields());
+    }
+
+    // Payloads written by a newer, incompatible format are rejected
+    @Test
+    public void test_decode_rejects_unknown_version() {
+        byte[] data = PlayerEventCodec.encode(PlayerEvent.deleted("aardsda01"));
+        data[0] = (byte) ((PlayerEventCodec.FORMAT_VERSION + 1) << 4);
+
+        assertThrows(IllegalArgumentException.class, () -> PlayerEventCodec.decode(data));
+    }
+
+    // Binary events are a fraction of the JSON document of the same player
+    @Test
+    public void test_encoded_events_are_smaller_than_json() throws Exception {
+        Player player = createPlayer();
+        Player renamed = createPlayer();
+        renamed.setNameLast("Aardsma-Smith");
+        int json = Jackson2ObjectMapperBuilder.json().build().writeValueAsBytes(player).length;
+
+        int created = PlayerEventCodec.encode(PlayerEvent.created(player)).length;
+        int updated = PlayerEventCodec.encode(PlayerEvent.updated(player, renamed)).length;
+
+        assertTrue(created * 2 < json, created + " vs " + json);
+        assertTrue(updated * 10 < json, updated + " vs " + json);
+    }
+
+    private Player createPlayer() {
+        Player player = new Player();
+        player.setPlayerID("aardsda01");
+        player.setBirthYear((short) 1981);
+        player.setBirthMonth((byte) 12);
+        player.setBirthDay((byte) 27);
+        player.setBirthCountry("USA");
+        player.setBirthState("CO");
+        player.setBirthCity("Denver");
+        player.setNameFirst("David");
+        player.setNameLast("Aardsma");
+        player.setNameGiven("David Allan");
+        player.setWeight((short) 215);
+        player.setHeight((short) 75);
+        player.setBats(Handedness.R);
+        player.setThrowsHand(Handedness.R);
+        player.setDebut(LocalDate.parse("2004-04-06"));
+        player.setFinalGame(LocalDate.parse("2015-08-23"));
+        player.setRetroID("aardd001");
+        player.setBbrefID("aardsda01");
+        player.setDeathCity("Denver");
+        return player;
+    }
+}
@@ -0,0 +1,79 @@
+package com.playerdbmicroservice.repository;
+
+import com.playerdbmicroservice.entity.OutboxMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class OutboxMessageRepositoryTest {
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    // Appended messages are read back oldest first, one page at a time
+    @Test
+    public void test_append_all_and_read_in_order() {
+        outboxMessageRepository.appendAll(Arrays.asList(
+                new OutboxMessage("players_topic", "aardsda01", new byte[]{1, 2}),
+                new OutboxMessage("players_topic", "aaronha01", new byte[]{3}),
+                new OutboxMessage("invalid-players", null, new byte[]{4})));
+
+        List<OutboxMessage> firstPage = outboxMessageRepository.findAllByDeadLetterFalseOrderByIdAsc(PageRequest.of(0, 2));
+
+        assertEquals(Arrays.asList("aardsda01", "aaronha01"),
+                firstPage.stream().map(OutboxMessage::getMessageKey).collect(Collectors.toList()));
+        assertArrayEquals(new byte[]{1, 2}, firstPage.get(0).getPayload());
+
+        outboxMessageRepository.deleteAllByIdInBatch(firstPage.stream().map(OutboxMessage::getId).collect(Collectors.toList()));
+        List<OutboxMessage> remaining = outboxMessageRepository.findAllByDeadLetterFalseOrderByIdAsc(PageRequest.of(0, 2));
+        assertEquals(1, remaining.size());
+        assertEquals("invalid-players", remaining.get(0).getTopic());
+        assertNull(remaining.get(0).getMessageKey());
+    }
+
+    // Dead letters stay in the outbox with their attempt count but are no longer read for relaying
+    @Test
+    public void test_dead_letters_are_skipped() {
+        outboxMessageRepository.appendAll(Arrays.asList(
+                new OutboxMessage("players_topic", "aardsda01", new byte[]{1}),
+                new OutboxMessage("players_topic", "aaronha01", new byte[]{2})));
+        OutboxMessage deadLetter = outboxMessageRepository.findAllByDeadLetterFalseOrderByIdAsc(PageRequest.of(0, 1)).get(0);
+        assertEquals(0, deadLetter.getAttempts());
+        deadLetter.setAttempts(5);
+        deadLetter.setDeadLetter(true);
+        outboxMessageRepository.saveAndFlush(deadLetter);
+
+        List<OutboxMessage> pending = outboxMessageRepository.findAllByDeadLetterFalseOrderByIdAsc(PageRequest.of(0, 2));
+
+        assertEquals(1, pending.size());
+        assertEquals("aaronha01", pending.get(0).getMessageKey());
+        assertEquals(5, outboxMessageRepository.findById(deadLetter.getId()).orElseThrow().getAttempts());
+        assertEquals(2, outboxMessageRepository.count());
+    }
+
+    // Only keys that have a dead letter are reported, once each
+    @Test
+    public void test_find_dead_letter_keys() {
+        outboxMessageRepository.appendAll(Arrays.asList(
+                new OutboxMessage("players_topic", "aardsda01", new byte[]{1}),
+                new OutboxMessage("players_topic", "aaronha01", new byte[]{2})));
+        for (OutboxMessage message : outboxMessageRepository.findAllByDeadLetterFalseOrderByIdAsc(PageRequest.of(0, 2))) {
+            if (message.getMessageKey().equals("aardsda01")) {
+                message.setDeadLetter(true);
+                outboxMessageRepository.saveAndFlush(message);
+            }
+        }
+
+        assertEquals(Collections.singletonList("aardsda01"),
+                outboxMessageRepository.findDeadLetterKeys(Arrays.asList("aardsda01", "aaronha01", "abbotji01")));
+    }
+}
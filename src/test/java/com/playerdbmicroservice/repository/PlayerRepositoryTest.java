@@ -0,0 +1,137 @@
+package com.playerdbmicroservice.repository;
+
+import com.playerdbmicroservice.entity.Handedness;
+import com.playerdbmicroservice.entity.Player;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class PlayerRepositoryTest {
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // upsertAll inserts new players and overwrites existing ones in place
+    @Test
+    public void test_upsert_all_inserts_and_updates() {
+        playerRepository.upsertAll(Arrays.asList(player("aardsda01", "Aardsma"), player("aaronha01", "Aaron")));
+        playerRepository.upsertAll(Collections.singletonList(player("aardsda01", "Updated")));
+
+        assertEquals(2, playerRepository.count());
+        assertEquals("Updated", playerRepository.findById("aardsda01").orElseThrow().getNameLast());
+        assertEquals("Aaron", playerRepository.findById("aaronha01").orElseThrow().getNameLast());
+    }
+
+    // Null numeric fields are written as SQL NULL
+    @Test
+    public void test_upsert_all_handles_null_fields() {
+        Player player = player("nulls01", "Nulls");
+        player.setDeathYear(null);
+        playerRepository.upsertAll(Collections.singletonList(player));
+
+        assertNull(playerRepository.findById("nulls01").orElseThrow().getDeathYear());
+    }
+
+    // Content hashes are read through the ID/hash projection
+    @Test
+    public void test_find_content_hashes_by_ids() {
+        Player player = player("aardsda01", "Aardsma");
+        player.setContentHash(42L);
+        playerRepository.upsertAll(Arrays.asList(player, player("aaronha01", "Aaron")));
+
+        List<PlayerContentHash> hashes = playerRepository.findByPlayerIDIn(Arrays.asList("aardsda01", "missing01"));
+
+        assertEquals(1, hashes.size());
+        assertEquals("aardsda01", hashes.get(0).getPlayerID());
+        assertEquals(42L, hashes.get(0).getContentHash());
+    }
+
+    // Stored players whose IDs were not staged are reported as missing
+    @Test
+    public void test_find_unstaged_player_ids() {
+        playerRepository.upsertAll(Arrays.asList(player("aardsda01", "Aardsma"), player("aaronha01", "Aaron")));
+
+        playerRepository.resetStagedPlayerIds();
+        playerRepository.stagePlayerIds(Arrays.asList("aardsda01", "aardsda01", "newplayer01"));
+
+        assertEquals(Collections.singletonList("aaronha01"), playerRepository.findUnstagedPlayerIds());
+
+        playerRepository.resetStagedPlayerIds();
+        assertEquals(2, playerRepository.findUnstagedPlayerIds().size());
+    }
+
+    // The seek query returns the players after the given ID in ID order, limited by the page size
+    @Test
+    public void test_find_players_after_id() {
+        playerRepository.upsertAll(Arrays.asList(player("c", "C"), player("a", "A"), player("d", "D"), player("b", "B")));
+
+        List<Player> players = playerRepository.findByPlayerIDGreaterThanOrderByPlayerIDAsc("a", PageRequest.of(0, 2));
+
+        assertEquals(Arrays.asList("b", "c"), players.stream().map(Player::getPlayerID).collect(Collectors.toList()));
+    }
+
+    // Search specifications combine name prefixes, equality, ranges and the active period
+    @Test
+    public void test_find_all_ordered_by_id_with_specifications() {
+        Player aaron = player("aaronha01", "Aaron");
+        aaron.setBirthYear((short) 1934);
+        aaron.setFinalGame(LocalDate.parse("1976-10-03"));
+        Player aardsma = player("aardsda01", "Aardsma");
+        aardsma.setFinalGame(LocalDate.parse("2015-08-23"));
+        Player percent = player("pct01", "A%b");
+        playerRepository.upsertAll(Arrays.asList(aaron, aardsma, percent, player("ruthba01", "Ruth")));
+
+        assertEquals(Arrays.asList("aardsda01", "aaronha01"), ids(playerRepository.findAllOrderedById(
+                PlayerSpecifications.hasPrefix("nameLast", "Aa"), 10)));
+        assertEquals(Collections.singletonList("pct01"), ids(playerRepository.findAllOrderedById(
+                PlayerSpecifications.hasPrefix("nameLast", "A%"), 10)));
+        assertEquals(Collections.singletonList("aaronha01"), ids(playerRepository.findAllOrderedById(
+                PlayerSpecifications.hasPrefix("nameLast", "Aa").and(PlayerSpecifications.bornUntil((short) 1950)), 10)));
+        assertEquals(Collections.singletonList("aardsda01"), ids(playerRepository.findAllOrderedById(
+                PlayerSpecifications.activeSince(LocalDate.parse("2010-01-01"))
+                        .and(PlayerSpecifications.activeUntil(LocalDate.parse("2010-12-31"))), 10)));
+        assertEquals(Collections.singletonList("aardsda01"), ids(playerRepository.findAllOrderedById(
+                PlayerSpecifications.equalTo("birthCountry", "USA"), 1)));
+    }
+
+    // Every search filter column is covered by a secondary index
+    @Test
+    public void test_search_columns_are_indexed() {
+        List<String> indexedColumns = jdbcTemplate.queryForList("SELECT c.COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS c "
+                + "WHERE c.TABLE_NAME = 'PLAYER' AND c.ORDINAL_POSITION = 1", String.class);
+
+        assertTrue(indexedColumns.containsAll(Arrays.asList("NAME_LAST", "NAME_FIRST", "BIRTH_COUNTRY", "BIRTH_YEAR", "DEBUT", "FINAL_GAME")),
+                indexedColumns.toString());
+    }
+
+    private List<String> ids(List<Player> players) {
+        return players.stream().map(Player::getPlayerID).collect(Collectors.toList());
+    }
+
+    static Player player(String playerID, String nameLast) {
+        Player player = new Player();
+        player.setPlayerID(playerID);
+        player.setBirthYear((short) 1981);
+        player.setBirthCountry("USA");
+        player.setNameFirst("David");
+        player.setNameLast(nameLast);
+        player.setBats(Handedness.R);
+        player.setThrowsHand(Handedness.R);
+        player.setDebut(LocalDate.parse("2004-04-06"));
+        return player;
+    }
+}
@@ -0,0 +1,120 @@
+package com.playerdbmicroservice.repository;
+
+import com.playerdbmicroservice.entity.Handedness;
+import com.playerdbmicroservice.entity.Player;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.BaseSubscriber;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Players are written through JPA and committed, so that they are visible to the R2DBC connections
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReactivePlayerRepositoryTest {
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private ReactivePlayerRepository reactivePlayerRepository;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        String url;
+        try (Connection connection = dataSource.getConnection()) {
+            url = connection.getMetaData().getURL();
+        }
+        H2ConnectionFactory connectionFactory = new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+                .url(url.substring("jdbc:h2:".length()))
+                .username("sa")
+                .build());
+        reactivePlayerRepository = new ReactivePlayerRepository();
+        ReflectionTestUtils.setField(reactivePlayerRepository, "databaseClient", DatabaseClient.create(connectionFactory));
+        playerRepository.upsertAll(Arrays.asList(PlayerRepositoryTest.player("aardsda01", "Aardsma"),
+                PlayerRepositoryTest.player("aaronha01", "Aaron"), PlayerRepositoryTest.player("aaronto01", "Aaron"),
+                PlayerRepositoryTest.player("ruthba01", "Ruth"), PlayerRepositoryTest.player("zuverge01", "Zuverink")));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        playerRepository.deleteAllInBatch();
+    }
+
+    // A player read over R2DBC has every column the JPA mapping wrote
+    @Test
+    public void test_find_by_id_maps_all_columns() {
+        Player player = reactivePlayerRepository.findById("aardsda01").block();
+
+        assertNotNull(player);
+        assertEquals("Aardsma", player.getNameLast());
+        assertEquals("David", player.getNameFirst());
+        assertEquals((short) 1981, player.getBirthYear());
+        assertEquals(Handedness.R, player.getBats());
+        assertEquals(LocalDate.parse("2004-04-06"), player.getDebut());
+        assertNull(player.getDeathYear());
+        assertNull(reactivePlayerRepository.findById("unknown").block());
+    }
+
+    // Keyset slices continue after the given ID, and offset pages skip whole pages
+    @Test
+    public void test_find_after_and_find_page() {
+        assertEquals(List.of("aardsda01", "aaronha01"), ids(reactivePlayerRepository.findAfter(null, 2).collectList().block()));
+        assertEquals(List.of("ruthba01", "zuverge01"), ids(reactivePlayerRepository.findAfter("aaronto01", 5).collectList().block()));
+        assertEquals(List.of("aaronto01", "ruthba01"), ids(reactivePlayerRepository.findPage(1, 2).collectList().block()));
+    }
+
+    // Streaming reads all players a page at a time, at most one page ahead of the subscriber's demand
+    @Test
+    public void test_stream_after_reads_pages_on_demand() {
+        ReactivePlayerRepository repository = spy(reactivePlayerRepository);
+        assertEquals(List.of("aaronha01", "aaronto01", "ruthba01", "zuverge01"),
+                ids(repository.streamAfter("aardsda01", 2).collectList().block()));
+
+        clearInvocations(repository);
+        List<Player> received = new ArrayList<>();
+        BaseSubscriber<Player> subscriber = new BaseSubscriber<Player>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(1);
+            }
+
+            @Override
+            protected void hookOnNext(Player player) {
+                received.add(player);
+            }
+        };
+        repository.streamAfter(null, 2).subscribe(subscriber);
+
+        assertEquals(List.of("aardsda01"), ids(received));
+        verify(repository, times(2)).findAfter(any(), eq(2));
+        subscriber.request(2);
+        assertEquals(3, received.size());
+        verify(repository, times(3)).findAfter(any(), eq(2));
+    }
+
+    private List<String> ids(List<Player> players) {
+        return players.stream().map(Player::getPlayerID).collect(Collectors.toList());
+    }
+}
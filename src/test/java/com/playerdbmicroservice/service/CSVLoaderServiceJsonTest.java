@@ -0,0 +1,40 @@
+package com.playerdbmicroservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playerdbmicroservice.PlayerDbMicroserviceApplication;
+import com.playerdbmicroservice.csv.PlayerCsvParser;
+import com.playerdbmicroservice.entity.Player;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = PlayerDbMicroserviceApplication.class)
+@ActiveProfiles("prod")
+public class CSVLoaderServiceJsonTest {
+
+    @Autowired
+    private CSVLoaderService csvLoaderService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // The empty death fields of a living player loaded from the CSV are left out of production JSON
+    @Test
+    public void test_empty_csv_fields_are_left_out() throws Exception {
+        PlayerCsvParser parser = new PlayerCsvParser(new StringReader(
+                "aardsda01,1981,12,27,USA,CO,Denver,,,,,,,David,Aardsma,David Allan,215,75,R,R,2004-04-06,2015-08-23,aardd001,aardsda01\n"));
+        parser.next();
+        Player player = csvLoaderService.processRecord(parser);
+
+        String json = objectMapper.writeValueAsString(player);
+
+        assertFalse(json.contains("death"), json);
+        assertTrue(json.contains("\"birthCity\":\"Denver\""), json);
+        assertFalse(json.contains("\n"));
+    }
+}
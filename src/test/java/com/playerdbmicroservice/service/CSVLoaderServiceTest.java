@@ -1,97 +1,544 @@
 package com.playerdbmicroservice.service;
 
-import com.opencsv.CSVReader;
+import com.playerdbmicroservice.config.VirtualThreads;
+import com.playerdbmicroservice.csv.PlayerCsvParser;
+import com.playerdbmicroservice.entity.Handedness;
+import com.playerdbmicroservice.entity.OutboxMessage;
 import com.playerdbmicroservice.entity.Player;
+import com.playerdbmicroservice.event.PlayerEvent;
+import com.playerdbmicroservice.event.PlayerEventCodec;
+import com.playerdbmicroservice.event.PlayerField;
+import com.github.luben.zstd.ZstdOutputStream;
+import com.playerdbmicroservice.exception.InvalidRequestException;
+import com.playerdbmicroservice.exception.ReloadCancelledException;
+import com.playerdbmicroservice.repository.OutboxMessageRepository;
+import com.playerdbmicroservice.repository.PlayerContentHash;
 import com.playerdbmicroservice.repository.PlayerRepository;
-import org.junit.Test;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
+import javax.persistence.EntityManager;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+@ExtendWith(MockitoExtension.class)
 public class CSVLoaderServiceTest {
 
-    private static final Logger logger = LoggerFactory.getLogger(CSVLoaderServiceTest.class);
+    private static final String HEADER = "playerID,birthYear,birthMonth,birthDay,birthCountry,birthState,birthCity,deathYear,deathMonth,deathDay,deathCountry,deathState,deathCity,nameFirst,nameLast,nameGiven,weight,height,bats,throwsHand,debut,finalGame,retroID,bbrefID\n";
+
+    @Captor
+    private ArgumentCaptor<List<Player>> written;
 
     @Test
-    public void test_reload_csv_success() throws IOException, com.opencsv.exceptions.CsvException {
+    public void test_reload_csv_success() throws Exception {
         PlayerRepository playerRepository = mock(PlayerRepository.class);
-        KafkaProducerService kafkaProducerService = mock(KafkaProducerService.class);
+        OutboxMessageRepository outboxMessageRepository = mock(OutboxMessageRepository.class);
+        List<OutboxMessage> outbox = recordOutbox(outboxMessageRepository);
+        CSVLoaderService csvLoaderService = createService(playerRepository, outboxMessageRepository);
 
-        CSVLoaderService csvLoaderService = new CSVLoaderService();
-        ReflectionTestUtils.setField(csvLoaderService, "playerRepository", playerRepository);
-        ReflectionTestUtils.setField(csvLoaderService, "kafkaProducerService", kafkaProducerService);
+        ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(getMockCsv(19369)), new ReloadJob());
 
-        CSVReader csvReader = mock(CSVReader.class);
-        when(csvReader.readAll()).thenReturn(getMockRecords());
+        verify(playerRepository, times(20)).upsertAll(anyList());
+        assertEquals(19369, playerEvents(outbox).size());
+    }
 
-        InputStream inputStream = new ByteArrayInputStream(new byte[0]);
-        when(csvReader.readAll()).thenReturn(getMockRecords());
+    @Test
+    public void test_handle_invalid_player_id() throws Exception {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        OutboxMessageRepository outboxMessageRepository = mock(OutboxMessageRepository.class);
+        List<OutboxMessage> outbox = recordOutbox(outboxMessageRepository);
+        CSVLoaderService csvLoaderService = createService(playerRepository, outboxMessageRepository);
 
-        csvLoaderService.reloadCSV();
+        String csv = HEADER + " ,,,,,,,,,,,,,,,,,,,,,,,\n";
+        ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(csv), new ReloadJob());
 
-        verify(playerRepository, times(getMockRecords().size())).save(any(Player.class));
-        verify(kafkaProducerService, times(getMockRecords().size())).sendMessage(anyString());
+        assertEquals(1, outbox.size());
+        assertEquals("invalid-players", outbox.get(0).getTopic());
+        verify(playerRepository, never()).upsertAll(anyList());
     }
 
+    // An invalid record too long for an outbox message is cut off instead of failing the reload
     @Test
-    public void test_handle_invalid_player_id() throws IOException, com.opencsv.exceptions.CsvException {
+    public void test_long_invalid_record_is_cut_off() throws Exception {
         PlayerRepository playerRepository = mock(PlayerRepository.class);
-        KafkaProducerService kafkaProducerService = mock(KafkaProducerService.class);
+        OutboxMessageRepository outboxMessageRepository = mock(OutboxMessageRepository.class);
+        List<OutboxMessage> outbox = recordOutbox(outboxMessageRepository);
+        CSVLoaderService csvLoaderService = createService(playerRepository, outboxMessageRepository);
 
-        CSVLoaderService csvLoaderService = new CSVLoaderService();
-        ReflectionTestUtils.setField(csvLoaderService, "playerRepository", playerRepository);
-        ReflectionTestUtils.setField(csvLoaderService, "kafkaProducerService", kafkaProducerService);
+        String csv = HEADER + "x".repeat(OutboxMessage.MAX_PAYLOAD_LENGTH) + ",1\n";
+        ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(csv), new ReloadJob());
+
+        assertEquals(1, outbox.size());
+        assertEquals(OutboxMessage.MAX_PAYLOAD_LENGTH, outbox.get(0).getPayload().length);
+    }
+
+    @Test
+    public void test_process_record_maps_valid_record() throws Exception {
+        CSVLoaderService csvLoaderService = createService(mock(PlayerRepository.class), mock(OutboxMessageRepository.class));
+
+        Player player = processRecord(csvLoaderService, "1,1990,10,5,USA,NY,NYC,2020,10,15,USA,CA,LA,John,Doe,John Doe,180,75,R,R,2000-01-01,2020-12-31,JD001,BB001");
+
+        assertNotNull(player);
+        assertEquals("1", player.getPlayerID());
+        assertEquals((short) 1990, player.getBirthYear());
+        assertEquals((byte) 10, player.getBirthMonth());
+        assertEquals("Doe", player.getNameLast());
+        assertEquals(Handedness.R, player.getBats());
+        assertEquals(LocalDate.of(2000, 1, 1), player.getDebut());
+    }
+
+    // Empty and malformed typed values are stored as null without rejecting the record
+    @Test
+    public void test_process_record_nulls_empty_and_invalid_typed_values() throws Exception {
+        CSVLoaderService csvLoaderService = createService(mock(PlayerRepository.class), mock(OutboxMessageRepository.class));
 
-        CSVReader csvReader = mock(CSVReader.class);
-        when(csvReader.readAll()).thenReturn(Arrays.asList(
-                new String[]{"playerID", "birthYear", "birthMonth", "birthDay", "birthCountry", "birthState", "birthCity", "deathYear", "deathMonth", "deathDay", "deathCountry", "deathState", "deathCity", "nameFirst", "nameLast", "nameGiven", "weight", "height", "bats", "throwsHand", "debut", "finalGame", "retroID", "bbrefID"},
-                new String[]{" ", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", ""}
-        ));
+        Player player = processRecord(csvLoaderService, "1,1990,13x,,USA,NY,NYC,,,,,,,John,Doe,John Doe,99999,75,X,,2000-02-30,,JD001,BB001");
 
-        InputStream inputStream = new ByteArrayInputStream(new byte[0]);
-        when(csvReader.readAll()).thenReturn(Arrays.asList(
-                new String[]{"playerID", "birthYear", "birthMonth", "birthDay", "birthCountry", "birthState", "birthCity", "deathYear", "deathMonth", "deathDay", "deathCountry", "deathState", "deathCity", "nameFirst", "nameLast", "nameGiven", "weight", "height", "bats", "throwsHand", "debut", "finalGame", "retroID", "bbrefID"},
-                new String[]{" ", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", ""}
-        ));
+        assertNotNull(player);
+        assertNull(player.getBirthMonth());
+        assertNull(player.getBirthDay());
+        assertNull(player.getWeight());
+        assertNull(player.getBats());
+        assertNull(player.getThrowsHand());
+        assertNull(player.getDebut());
+        assertNull(player.getFinalGame());
+    }
 
-        csvLoaderService.reloadCSV();
+    // Records with missing columns are rejected instead of partially mapped
+    @Test
+    public void test_process_record_rejects_short_record() throws Exception {
+        CSVLoaderService csvLoaderService = createService(mock(PlayerRepository.class), mock(OutboxMessageRepository.class));
 
-        verify(kafkaProducerService, times(1)).sendMessage(eq("invalid-players"), anyString());
+        assertNull(processRecord(csvLoaderService, "1,1990,10,5,USA"));
     }
 
+    // Valid rows are written in bulk batches rather than one statement per row
     @Test
-    public void test_process_record_updates_or_creates_players() throws IOException, com.opencsv.exceptions.CsvException {
-        CSVReader csvReader = mock(CSVReader.class);
-        when(csvReader.readAll()).thenReturn(getMockRecords());
+    public void test_reload_writes_players_in_batches() throws Exception {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CSVLoaderService csvLoaderService = createService(playerRepository, mock(OutboxMessageRepository.class));
+        ReflectionTestUtils.setField(csvLoaderService, "batchSize", 100);
+        ReflectionTestUtils.setField(csvLoaderService, "meterRegistry", meterRegistry);
 
+        ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(getMockCsv(250)), new ReloadJob());
+
+        // Two full batches plus the trailing partial batch
+        verify(playerRepository, times(3)).upsertAll(anyList());
+        verify(playerRepository, never()).save(any(Player.class));
+        verify(playerRepository, never()).findById(anyString());
+        assertEquals(1, meterRegistry.timer("player.reload.duration").count());
+    }
+
+    // Rows are counted by outcome and every reload phase is timed
+    @Test
+    public void test_reload_records_row_counters_and_phase_timers() throws Exception {
         PlayerRepository playerRepository = mock(PlayerRepository.class);
-        when(playerRepository.findById(anyString())).thenReturn(Optional.empty());
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CSVLoaderService csvLoaderService = createService(playerRepository, mock(OutboxMessageRepository.class));
+        ReflectionTestUtils.setField(csvLoaderService, "batchSize", 100);
+        ReflectionTestUtils.setField(csvLoaderService, "meterRegistry", meterRegistry);
+        String csv = getMockCsv(250) + ",1990,10,5,USA,NY,NYC,2020,10,15,USA,CA,LA,John,Doe,John Doe,180,75,R,R,2000-01-01,2020-12-31,JD001,BB001\n";
 
-        KafkaProducerService kafkaProducerService = mock(KafkaProducerService.class);
+        ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(csv), new ReloadJob());
 
-        CSVLoaderService csvLoaderService = new CSVLoaderService();
-        ReflectionTestUtils.setField(csvLoaderService, "playerRepository", playerRepository);
-        ReflectionTestUtils.setField(csvLoaderService, "kafkaProducerService", kafkaProducerService);
+        assertEquals(251, meterRegistry.counter("player.reload.rows").count());
+        assertEquals(1, meterRegistry.counter("player.reload.rows.invalid").count());
+        assertEquals(250, meterRegistry.counter("player.reload.rows.written").count());
+        for (String phase : Arrays.asList("parse", "stage", "upsert", "delete", "outbox")) {
+            assertEquals(1, meterRegistry.timer("player.reload.phase", "phase", phase).count(), phase);
+        }
+        double phases = meterRegistry.find("player.reload.phase").timers().stream()
+                .mapToDouble(timer -> timer.totalTime(TimeUnit.NANOSECONDS)).sum();
+        assertEquals(meterRegistry.timer("player.reload.duration").totalTime(TimeUnit.NANOSECONDS), phases, 1.0);
+    }
+
+    // Players no longer present in the CSV are removed with a set-based sweep, without loading entities
+    @Test
+    public void test_reload_deletes_players_missing_from_csv() throws Exception {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        when(playerRepository.findUnstagedPlayerIds()).thenReturn(Collections.singletonList("gone01"));
+        List<String> stagedIds = new ArrayList<>();
+        doAnswer(invocation -> stagedIds.addAll(invocation.getArgument(0)))
+                .when(playerRepository).stagePlayerIds(anyCollection());
+        OutboxMessageRepository outboxMessageRepository = mock(OutboxMessageRepository.class);
+        List<OutboxMessage> outbox = recordOutbox(outboxMessageRepository);
+        CSVLoaderService csvLoaderService = createService(playerRepository, outboxMessageRepository);
+
+        ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(getMockCsv(3)), new ReloadJob());
+
+        InOrder inOrder = inOrder(playerRepository);
+        inOrder.verify(playerRepository).resetStagedPlayerIds();
+        inOrder.verify(playerRepository).stagePlayerIds(anyCollection());
+        inOrder.verify(playerRepository).deleteAllByIdInBatch(Collections.singletonList("gone01"));
+        verify(playerRepository, never()).findAll();
+        PlayerEvent deleted = playerEvents(outbox).get(3);
+        assertEquals(PlayerEvent.Type.DELETED, deleted.getType());
+        assertEquals("gone01", deleted.getPlayerID());
+        assertEquals(Arrays.asList("player0", "player1", "player2"), stagedIds);
+    }
+
+    // Missing player IDs are deleted in chunks of the batch size
+    @Test
+    public void test_reload_deletes_missing_players_in_chunks() throws Exception {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        List<String> missingIds = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            missingIds.add("gone" + i);
+        }
+        when(playerRepository.findUnstagedPlayerIds()).thenReturn(missingIds);
+        CSVLoaderService csvLoaderService = createService(playerRepository, mock(OutboxMessageRepository.class));
+        ReflectionTestUtils.setField(csvLoaderService, "batchSize", 100);
+
+        ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(getMockCsv(3)), new ReloadJob());
+
+        verify(playerRepository, times(3)).deleteAllByIdInBatch(anyList());
+    }
+
+    // Incremental reload skips rows whose stored content hash matches the CSV row
+    @Test
+    public void test_incremental_reload_skips_unchanged_players() throws Exception {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        OutboxMessageRepository outboxMessageRepository = mock(OutboxMessageRepository.class);
+        List<OutboxMessage> outbox = recordOutbox(outboxMessageRepository);
+        long unchangedHash = hashOf(getMockCsv(2).split("\n")[1]);
+        List<PlayerContentHash> storedHashes = Arrays.asList(
+                contentHash("player0", unchangedHash), contentHash("player1", unchangedHash ^ 1));
+        when(playerRepository.findByPlayerIDIn(anyCollection())).thenReturn(storedHashes);
+        CSVLoaderService csvLoaderService = createService(playerRepository, outboxMessageRepository);
+
+        ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(getMockCsv(3)), new ReloadJob());
+
+        verify(playerRepository).upsertAll(written.capture());
+        assertEquals(Arrays.asList("player1", "player2"),
+                written.getValue().stream().map(Player::getPlayerID).collect(Collectors.toList()));
+        assertEquals(2, playerEvents(outbox).size());
+    }
+
+    // With incremental mode disabled every row is rewritten, but events are only published for real changes
+    @Test
+    public void test_full_reload_writes_all_players() throws Exception {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        OutboxMessageRepository outboxMessageRepository = mock(OutboxMessageRepository.class);
+        List<OutboxMessage> outbox = recordOutbox(outboxMessageRepository);
+        List<PlayerContentHash> storedHashes = Collections.singletonList(contentHash("player0", hashOf(getMockCsv(1).split("\n")[1])));
+        when(playerRepository.findByPlayerIDIn(anyCollection())).thenReturn(storedHashes);
+        List<String> writtenIds = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<Player> players = invocation.getArgument(0);
+            players.forEach(player -> writtenIds.add(player.getPlayerID()));
+            return null;
+        }).when(playerRepository).upsertAll(anyList());
+        CSVLoaderService csvLoaderService = createService(playerRepository, outboxMessageRepository);
+        ReflectionTestUtils.setField(csvLoaderService, "incremental", false);
+
+        ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(getMockCsv(3)), new ReloadJob());
+
+        assertEquals(Arrays.asList("player0", "player1", "player2"), writtenIds);
+        List<PlayerEvent> events = playerEvents(outbox);
+        assertEquals(Arrays.asList("player1", "player2"), events.stream().map(PlayerEvent::getPlayerID).collect(Collectors.toList()));
+        assertTrue(events.stream().allMatch(event -> event.getType() == PlayerEvent.Type.CREATED));
+    }
+
+    // Changed existing players are published as updates carrying only the fields that differ
+    @Test
+    public void test_changed_player_publishes_update_with_changed_fields() throws Exception {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        OutboxMessageRepository outboxMessageRepository = mock(OutboxMessageRepository.class);
+        List<OutboxMessage> outbox = recordOutbox(outboxMessageRepository);
+        List<PlayerContentHash> storedHashes = Collections.singletonList(contentHash("player0", 1L));
+        when(playerRepository.findByPlayerIDIn(anyCollection())).thenReturn(storedHashes);
+        Player before = processRecord(createService(playerRepository, outboxMessageRepository), getMockCsv(1).split("\n")[1]);
+        before.setNameLast("Smith");
+        when(playerRepository.findAllById(Collections.singletonList("player0"))).thenReturn(Collections.singletonList(before));
+        CSVLoaderService csvLoaderService = createService(playerRepository, outboxMessageRepository);
+
+        ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(getMockCsv(1)), new ReloadJob());
+
+        List<PlayerEvent> events = playerEvents(outbox);
+        assertEquals(1, events.size());
+        assertEquals(PlayerEvent.Type.UPDATED, events.get(0).getType());
+        assertEquals(Collections.singletonMap(PlayerField.NAME_LAST, "Doe"), events.get(0).getFields());
+    }
+
+    // Only existing players that were changed or deleted are evicted from the player cache
+    @Test
+    public void test_reload_evicts_changed_and_deleted_players() throws Exception {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        List<PlayerContentHash> storedHashes = Arrays.asList(
+                contentHash("player0", hashOf(getMockCsv(1).split("\n")[1])), contentHash("player1", 1L));
+        when(playerRepository.findByPlayerIDIn(anyCollection())).thenReturn(storedHashes);
+        Player stored = new Player();
+        stored.setPlayerID("player1");
+        when(playerRepository.findAllById(Collections.singletonList("player1"))).thenReturn(Collections.singletonList(stored));
+        when(playerRepository.findUnstagedPlayerIds()).thenReturn(Collections.singletonList("gone01"));
+        PlayerService playerService = mock(PlayerService.class);
+        CSVLoaderService csvLoaderService = createService(playerRepository, mock(OutboxMessageRepository.class));
+        ReflectionTestUtils.setField(csvLoaderService, "playerService", playerService);
+
+        ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(getMockCsv(3)), new ReloadJob());
+
+        verify(playerService).evictPlayers(Arrays.asList("player1", "gone01"));
+    }
+
+    // Players written by a reload become searchable by name, and deleted players disappear from the name index
+    @Test
+    public void test_reload_updates_name_index() throws Exception {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        when(playerRepository.findUnstagedPlayerIds()).thenReturn(Collections.singletonList("player1"));
+        CSVLoaderService csvLoaderService = createService(playerRepository, mock(OutboxMessageRepository.class));
+        PlayerNameIndex playerNameIndex = new PlayerNameIndex();
+        ReflectionTestUtils.setField(csvLoaderService, "playerNameIndex", playerNameIndex);
+
+        ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(getMockCsv(3)), new ReloadJob());
+
+        assertEquals(Arrays.asList("player0", "player2"), playerNameIndex.search("John Doe", 10));
+    }
+
+    // A reload with changes rebuilds the player snapshot, an unchanged reload does not
+    @Test
+    public void test_reload_refreshes_snapshot_only_on_changes() throws Exception {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        CSVLoaderService csvLoaderService = createService(playerRepository, mock(OutboxMessageRepository.class));
+        PlayerSnapshotLoader playerSnapshotLoader = mock(PlayerSnapshotLoader.class);
+        ReflectionTestUtils.setField(csvLoaderService, "playerSnapshotLoader", playerSnapshotLoader);
+
+        ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(getMockCsv(1)), new ReloadJob());
+        verify(playerSnapshotLoader, times(1)).refresh();
+
+        List<PlayerContentHash> storedHashes = Collections.singletonList(contentHash("player0", hashOf(getMockCsv(1).split("\n")[1])));
+        when(playerRepository.findByPlayerIDIn(anyCollection())).thenReturn(storedHashes);
+        ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(getMockCsv(1)), new ReloadJob());
+        verify(playerSnapshotLoader, times(1)).refresh();
+    }
+
+    // A reload with changes starts a new dataset version, an unchanged reload does not
+    @Test
+    public void test_reload_bumps_dataset_version_only_on_changes() throws Exception {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        CSVLoaderService csvLoaderService = createService(playerRepository, mock(OutboxMessageRepository.class));
+        PlayerDatasetVersion playerDatasetVersion = new PlayerDatasetVersion();
+        ReflectionTestUtils.setField(csvLoaderService, "playerDatasetVersion", playerDatasetVersion);
+        long initial = playerDatasetVersion.current().getId();
+
+        ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(getMockCsv(1)), new ReloadJob());
+        assertEquals(initial + 1, playerDatasetVersion.current().getId());
+
+        List<PlayerContentHash> storedHashes = Collections.singletonList(contentHash("player0", hashOf(getMockCsv(1).split("\n")[1])));
+        when(playerRepository.findByPlayerIDIn(anyCollection())).thenReturn(storedHashes);
+        ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(getMockCsv(1)), new ReloadJob());
+        assertEquals(initial + 1, playerDatasetVersion.current().getId());
+    }
+
+    // Parallel ingest parses chunks on workers and writes every row in file order through the batched writer
+    @Test
+    public void test_parallel_reload_processes_all_rows(@TempDir Path tempDir) throws Exception {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        List<String> writtenIds = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<Player> players = invocation.getArgument(0);
+            players.forEach(player -> writtenIds.add(player.getPlayerID()));
+            return null;
+        }).when(playerRepository).upsertAll(anyList());
+        OutboxMessageRepository outboxMessageRepository = mock(OutboxMessageRepository.class);
+        List<OutboxMessage> outbox = recordOutbox(outboxMessageRepository);
+        CSVLoaderService csvLoaderService = createService(playerRepository, outboxMessageRepository);
+        ReflectionTestUtils.setField(csvLoaderService, "parallelism", 4);
+        ReflectionTestUtils.setField(csvLoaderService, "batchSize", 100);
+        Path csvFile = Files.write(tempDir.resolve("Player.csv"), getMockCsv(1000).getBytes(StandardCharsets.UTF_8));
+
+        ReflectionTestUtils.invokeMethod(csvLoaderService, "reloadParallel", csvFile, new ReloadJob());
 
-        ReflectionTestUtils.invokeMethod(csvLoaderService, "processRecord", new Object[]{new String[]{"1", "1990", "10", "5", "USA", "NY", "NYC", "2020", "10", "15", "USA", "CA", "LA", "John", "Doe", "John Doe", "180", "75", "R", "R", "2000-01-01", "2020-12-31", "JD001", "BB001"}});
+        List<String> expectedIds = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expectedIds.add("player" + i);
+        }
+        assertEquals(expectedIds, writtenIds);
+        verify(playerRepository, times(10)).upsertAll(anyList());
+        assertEquals(1000, playerEvents(outbox).size());
+    }
+
+    // Plain, gzip and zstd files in the reload directory are all loaded, the plain one through a memory mapping
+    @Test
+    public void test_reload_from_files_in_reload_directory(@TempDir Path tempDir) throws Exception {
+        byte[] csv = getMockCsv(250).getBytes(StandardCharsets.UTF_8);
+        Files.write(tempDir.resolve("players.csv"), csv);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tempDir.resolve("players.csv.gz")))) {
+            out.write(csv);
+        }
+        try (OutputStream out = new ZstdOutputStream(Files.newOutputStream(tempDir.resolve("players.csv.zst")))) {
+            out.write(csv);
+        }
 
-        verify(playerRepository, times(1)).save(any(Player.class));
-        verify(kafkaProducerService, times(1)).sendMessage(anyString());
+        for (String file : Arrays.asList("players.csv", "players.csv.gz", "players.csv.zst")) {
+            PlayerRepository playerRepository = mock(PlayerRepository.class);
+            CSVLoaderService csvLoaderService = createService(playerRepository, mock(OutboxMessageRepository.class));
+            ReflectionTestUtils.setField(csvLoaderService, "reloadDirectory", tempDir.toString());
+            ReloadJob job = new ReloadJob(file);
+
+            csvLoaderService.reloadCSV(job);
+
+            assertEquals(250, job.getRowsWritten(), file);
+            assertEquals(Files.size(tempDir.resolve(file)), job.getTotalBytes(), file);
+            assertEquals(job.getTotalBytes(), job.getBytesRead(), file);
+        }
+    }
+
+    // Only regular files inside the reload directory can be reloaded, and only when a directory is configured
+    @Test
+    public void test_resolve_reload_file_stays_in_directory(@TempDir Path tempDir) throws Exception {
+        Path directory = Files.createDirectory(tempDir.resolve("reload"));
+        Files.write(directory.resolve("players.csv"), new byte[0]);
+        Files.write(tempDir.resolve("secret.csv"), new byte[0]);
+        Files.createSymbolicLink(directory.resolve("link.csv"), tempDir.resolve("secret.csv"));
+        CSVLoaderService csvLoaderService = createService(mock(PlayerRepository.class), mock(OutboxMessageRepository.class));
+
+        assertThrows(InvalidRequestException.class, () -> csvLoaderService.resolveReloadFile("players.csv"));
+        ReflectionTestUtils.setField(csvLoaderService, "reloadDirectory", directory.toString());
+        assertEquals(directory.resolve("players.csv").toRealPath(), csvLoaderService.resolveReloadFile("players.csv"));
+        for (String file : Arrays.asList("../secret.csv", tempDir.resolve("secret.csv").toString(), "link.csv", "missing.csv", ".")) {
+            assertThrows(InvalidRequestException.class, () -> csvLoaderService.resolveReloadFile(file), file);
+        }
     }
 
+    // Player events are appended to the outbox in file order, keyed by player ID, in batches of the batch size
+    @Test
+    public void test_reload_appends_events_to_outbox_in_order() throws Exception {
+        OutboxMessageRepository outboxMessageRepository = mock(OutboxMessageRepository.class);
+        List<OutboxMessage> outbox = recordOutbox(outboxMessageRepository);
+        CSVLoaderService csvLoaderService = createService(mock(PlayerRepository.class), outboxMessageRepository);
+        ReflectionTestUtils.setField(csvLoaderService, "batchSize", 100);
+
+        ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(getMockCsv(250)), new ReloadJob());
+
+        verify(outboxMessageRepository, times(3)).appendAll(anyList());
+        assertEquals(250, outbox.size());
+        assertEquals("players_topic", outbox.get(0).getTopic());
+        assertEquals("player0", outbox.get(0).getMessageKey());
+        assertEquals("player1", PlayerEventCodec.decode(outbox.get(1).getPayload()).getPlayerID());
+    }
+
+    // A failed reload leaves nothing to relay: messages only reach the outbox through the reload transaction
+    @Test
+    public void test_failed_write_does_not_append_its_events() {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        doThrow(new RuntimeException("constraint violation")).when(playerRepository).upsertAll(anyList());
+        OutboxMessageRepository outboxMessageRepository = mock(OutboxMessageRepository.class);
+        CSVLoaderService csvLoaderService = createService(playerRepository, outboxMessageRepository);
+
+        assertThrows(RuntimeException.class,
+                () -> ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(getMockCsv(3)), new ReloadJob()));
+        verify(outboxMessageRepository, never()).appendAll(anyList());
+    }
+
+    // The job tracks parsed, written and invalid rows
+    @Test
+    public void test_reload_reports_progress_to_job() throws Exception {
+        CSVLoaderService csvLoaderService = createService(mock(PlayerRepository.class), mock(OutboxMessageRepository.class));
+        ReloadJob job = new ReloadJob();
+
+        String csv = getMockCsv(3) + " ,,,,,,,,,,,,,,,,,,,,,,,\n";
+        ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(csv), job);
+
+        assertEquals(4, job.getRowsParsed());
+        assertEquals(3, job.getRowsWritten());
+        assertEquals(1, job.getInvalidRows());
+    }
+
+    // A cancelled job aborts the reload before anything is written
+    @Test
+    public void test_reload_stops_when_cancelled() {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        CSVLoaderService csvLoaderService = createService(playerRepository, mock(OutboxMessageRepository.class));
+        ReloadJob job = new ReloadJob();
+        job.requestCancel();
+
+        assertThrows(ReloadCancelledException.class,
+                () -> ReflectionTestUtils.invokeMethod(csvLoaderService, "reload", new StringReader(getMockCsv(3)), job));
+        verify(playerRepository, never()).upsertAll(anyList());
+        verify(playerRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    private Player processRecord(CSVLoaderService csvLoaderService, String line) throws IOException {
+        PlayerCsvParser parser = new PlayerCsvParser(new StringReader(line));
+        parser.next();
+        return csvLoaderService.processRecord(parser);
+    }
+
+    private long hashOf(String line) throws IOException {
+        PlayerCsvParser parser = new PlayerCsvParser(new StringReader(line));
+        parser.next();
+        return parser.contentHash();
+    }
+
+    private PlayerContentHash contentHash(String playerID, long hash) {
+        PlayerContentHash contentHash = mock(PlayerContentHash.class);
+        when(contentHash.getPlayerID()).thenReturn(playerID);
+        when(contentHash.getContentHash()).thenReturn(hash);
+        return contentHash;
+    }
+
+    private List<OutboxMessage> recordOutbox(OutboxMessageRepository outboxMessageRepository) {
+        List<OutboxMessage> appended = new ArrayList<>();
+        doAnswer(invocation -> appended.addAll(invocation.getArgument(0)))
+                .when(outboxMessageRepository).appendAll(anyList());
+        return appended;
+    }
+
+    private List<PlayerEvent> playerEvents(List<OutboxMessage> outbox) {
+        return outbox.stream()
+                .filter(message -> message.getTopic().equals("players_topic"))
+                .map(message -> PlayerEventCodec.decode(message.getPayload()))
+                .collect(Collectors.toList());
+    }
+
+    private CSVLoaderService createService(PlayerRepository playerRepository, OutboxMessageRepository outboxMessageRepository) {
+        CSVLoaderService csvLoaderService = new CSVLoaderService();
+        ReflectionTestUtils.setField(csvLoaderService, "playerRepository", playerRepository);
+        ReflectionTestUtils.setField(csvLoaderService, "outboxMessageRepository", outboxMessageRepository);
+        ReflectionTestUtils.setField(csvLoaderService, "playerService", mock(PlayerService.class));
+        ReflectionTestUtils.setField(csvLoaderService, "playerNameIndex", new PlayerNameIndex());
+        ReflectionTestUtils.setField(csvLoaderService, "playerSnapshotLoader", mock(PlayerSnapshotLoader.class));
+        ReflectionTestUtils.setField(csvLoaderService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(csvLoaderService, "entityManager", mock(EntityManager.class));
+        ReflectionTestUtils.setField(csvLoaderService, "virtualThreads", new VirtualThreads());
+        ReflectionTestUtils.setField(csvLoaderService, "playerDatasetVersion", new PlayerDatasetVersion());
+        // The defaults of the player.reload.* placeholders
+        ReflectionTestUtils.setField(csvLoaderService, "batchSize", 1000);
+        ReflectionTestUtils.setField(csvLoaderService, "incremental", true);
+        ReflectionTestUtils.setField(csvLoaderService, "parallelism", 1);
+        ReflectionTestUtils.setField(csvLoaderService, "chunkSizeBytes", 4L * 1024 * 1024);
+        ReflectionTestUtils.setField(csvLoaderService, "reloadDirectory", "");
+        ReflectionTestUtils.setField(csvLoaderService, "defaultFile", "");
+        return csvLoaderService;
+    }
 
-    private List<String[]> getMockRecords() {
-        List<String[]> records = new ArrayList<>();
-        for (int i = 0; i < 19369; i++) {
-            records.add(new String[]{"1", "1990", "10", "5", "USA", "NY", "NYC", "2020", "10", "15", "USA", "CA", "LA", "John", "Doe", "John Doe", "180", "75", "R", "R", "2000-01-01", "2020-12-31", "JD001", "BB001"});
+    private String getMockCsv(int rows) {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < rows; i++) {
+            csv.append("player").append(i)
+                    .append(",1990,10,5,USA,NY,NYC,2020,10,15,USA,CA,LA,John,Doe,John Doe,180,75,R,R,2000-01-01,2020-12-31,JD001,BB001\n");
         }
-        return records;
+        return csv.toString();
     }
-}
\ No newline at end of file
+}
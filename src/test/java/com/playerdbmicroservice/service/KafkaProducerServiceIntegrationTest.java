@@ -0,0 +1,81 @@
+package com.playerdbmicroservice.service;
+
+import com.playerdbmicroservice.config.KafkaProducerConfig;
+import com.playerdbmicroservice.entity.Player;
+import com.playerdbmicroservice.event.PlayerEvent;
+import com.playerdbmicroservice.event.PlayerEventCodec;
+import com.playerdbmicroservice.event.PlayerField;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EmbeddedKafka(partitions = 3, topics = "players_topic")
+public class KafkaProducerServiceIntegrationTest {
+
+    // Keyed player events are batched, compressed and delivered with per-player ordering
+    @Test
+    public void test_keyed_messages_delivered_in_order_per_player(EmbeddedKafkaBroker broker) {
+        KafkaProducerConfig config = new KafkaProducerConfig();
+        ReflectionTestUtils.setField(config, "bootstrapServers", broker.getBrokersAsString());
+        ReflectionTestUtils.setField(config, "lingerMs", 20);
+        ReflectionTestUtils.setField(config, "batchSize", 65536);
+        ReflectionTestUtils.setField(config, "compressionType", "lz4");
+        KafkaProducerService kafkaProducerService = new KafkaProducerService();
+        ReflectionTestUtils.setField(kafkaProducerService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(kafkaProducerService, "playerEventKafkaTemplate", config.playerEventKafkaTemplate());
+
+        for (int i = 0; i < 100; i++) {
+            Player player = new Player();
+            player.setPlayerID("player" + (i % 10));
+            player.setWeight((short) i);
+            kafkaProducerService.sendRecord("players_topic", player.getPlayerID(), PlayerEventCodec.encode(PlayerEvent.created(player)));
+        }
+        KafkaProducerService.DeliveryStats stats = kafkaProducerService.flush();
+
+        assertEquals(100, stats.getSent());
+        assertEquals(100, stats.getAcknowledged());
+        assertEquals(0, stats.getFailed());
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("test-group", "true", broker);
+        consumerProps.put("auto.offset.reset", "earliest");
+        try (Consumer<String, byte[]> consumer = new DefaultKafkaConsumerFactory<>(consumerProps,
+                new StringDeserializer(), new ByteArrayDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, "players_topic");
+            List<ConsumerRecord<String, byte[]>> received = new ArrayList<>();
+            while (received.size() < 100) {
+                ConsumerRecords<String, byte[]> records = KafkaTestUtils.getRecords(consumer, 10_000);
+                assertFalse(records.isEmpty());
+                records.forEach(received::add);
+            }
+
+            // Every record of a player lands on one partition, in send order
+            for (int player = 0; player < 10; player++) {
+                String key = "player" + player;
+                List<ConsumerRecord<String, byte[]>> forPlayer = new ArrayList<>();
+                received.stream().filter(record -> key.equals(record.key())).forEach(forPlayer::add);
+                assertEquals(10, forPlayer.size());
+                assertEquals(1, forPlayer.stream().map(ConsumerRecord::partition).distinct().count());
+                for (int i = 0; i < forPlayer.size(); i++) {
+                    PlayerEvent event = PlayerEventCodec.decode(forPlayer.get(i).value());
+                    assertEquals(key, event.getPlayerID());
+                    assertEquals(player + i * 10, event.getFields().get(PlayerField.WEIGHT));
+                }
+            }
+        }
+    }
+}
@@ -1,161 +1,99 @@
 package com.playerdbmicroservice.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.concurrent.SettableListenableFuture;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 public class KafkaProducerServiceTest {
 
-    // sendMessage sends message to default topic
-    @Test
-    public void test_send_message_to_default_topic() {
-        KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
-        KafkaProducerService kafkaProducerService = new KafkaProducerService();
-        ReflectionTestUtils.setField(kafkaProducerService, "kafkaTemplate", kafkaTemplate);
-
-        String message = "test message";
-        kafkaProducerService.sendMessage(message);
-
-        verify(kafkaTemplate, times(1)).send("players_topic", message);
-    }
-
-    // sendMessage handles null message
-    @Test
-    public void test_send_message_handles_null_message() {
-        KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
-        KafkaProducerService kafkaProducerService = new KafkaProducerService();
-        ReflectionTestUtils.setField(kafkaProducerService, "kafkaTemplate", kafkaTemplate);
-
-        String message = null;
-        kafkaProducerService.sendMessage(message);
-
-        verify(kafkaTemplate, times(1)).send("players_topic", message);
-    }
-
-    // sendMessage sends message to specified topic
-    @Test
-    public void test_send_message_to_specified_topic() {
-        KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
-        KafkaProducerService kafkaProducerService = new KafkaProducerService();
-        ReflectionTestUtils.setField(kafkaProducerService, "kafkaTemplate", kafkaTemplate);
-
-        String topicName = "test_topic";
-        String message = "Test message";
-        kafkaProducerService.sendMessage(topicName, message);
-
-        verify(kafkaTemplate).send(topicName, message);
-    }
-
-    // KafkaTemplate is correctly autowired
-    @Test
-    public void test_kafka_template_autowired() {
-        KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
-        KafkaProducerService kafkaProducerService = new KafkaProducerService();
-        ReflectionTestUtils.setField(kafkaProducerService, "kafkaTemplate", kafkaTemplate);
-
-        assertNotNull(ReflectionTestUtils.getField(kafkaProducerService, "kafkaTemplate"));
-    }
-
     // KafkaProducerService is correctly instantiated as a Spring service
     @Test
     public void test_correct_instantiation() {
         KafkaProducerService kafkaProducerService = new KafkaProducerService();
+        ReflectionTestUtils.setField(kafkaProducerService, "meterRegistry", new SimpleMeterRegistry());
         assertNotNull(kafkaProducerService);
     }
 
-    // sendMessage handles empty message
+    // sendRecord keys the record and counts acknowledged and failed deliveries
     @Test
-    public void test_handle_empty_message() {
-        KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+    public void test_send_record_tracks_delivery() {
+        KafkaTemplate<String, byte[]> playerEventKafkaTemplate = mock(KafkaTemplate.class);
         KafkaProducerService kafkaProducerService = new KafkaProducerService();
-        ReflectionTestUtils.setField(kafkaProducerService, "kafkaTemplate", kafkaTemplate);
-
-        String emptyMessage = "";
-        kafkaProducerService.sendMessage(emptyMessage);
-
-        // Add appropriate assertions based on the behavior of sendMessage method
+        ReflectionTestUtils.setField(kafkaProducerService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(kafkaProducerService, "playerEventKafkaTemplate", playerEventKafkaTemplate);
+
+        SettableListenableFuture<SendResult<String, byte[]>> acknowledged = new SettableListenableFuture<>();
+        SettableListenableFuture<SendResult<String, byte[]>> rejected = new SettableListenableFuture<>();
+        when(playerEventKafkaTemplate.send(eq("players_topic"), eq("aardsda01"), any(byte[].class))).thenReturn(acknowledged);
+        when(playerEventKafkaTemplate.send(eq("players_topic"), eq("aaronha01"), any(byte[].class))).thenReturn(rejected);
+
+        kafkaProducerService.sendRecord("players_topic", "aardsda01", new byte[]{1});
+        kafkaProducerService.sendRecord("players_topic", "aaronha01", new byte[]{2});
+        acknowledged.set(null);
+        rejected.setException(new RuntimeException("broker unavailable"));
+
+        KafkaProducerService.DeliveryStats stats = kafkaProducerService.flush();
+        verify(playerEventKafkaTemplate).flush();
+        assertEquals(2, stats.getSent());
+        assertEquals(1, stats.getAcknowledged());
+        assertEquals(1, stats.getFailed());
     }
 
-    // sendMessage handles null topicName
+    // The time until the broker responds is recorded per topic and outcome
     @Test
-    public void test_send_message_handles_null_topic_name() {
-        KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+    public void test_send_record_times_delivery() {
+        KafkaTemplate<String, byte[]> playerEventKafkaTemplate = mock(KafkaTemplate.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
         KafkaProducerService kafkaProducerService = new KafkaProducerService();
-        ReflectionTestUtils.setField(kafkaProducerService, "kafkaTemplate", kafkaTemplate);
+        ReflectionTestUtils.setField(kafkaProducerService, "playerEventKafkaTemplate", playerEventKafkaTemplate);
+        ReflectionTestUtils.setField(kafkaProducerService, "meterRegistry", meterRegistry);
 
-        kafkaProducerService.sendMessage(null, "Test Message");
+        SettableListenableFuture<SendResult<String, byte[]>> acknowledged = new SettableListenableFuture<>();
+        SettableListenableFuture<SendResult<String, byte[]>> rejected = new SettableListenableFuture<>();
+        when(playerEventKafkaTemplate.send(eq("players_topic"), anyString(), any(byte[].class))).thenReturn(acknowledged, rejected);
 
-        verify(kafkaTemplate, times(0)).send(anyString(), anyString());
-    }
+        kafkaProducerService.sendRecord("players_topic", "aardsda01", new byte[]{1});
+        kafkaProducerService.sendRecord("players_topic", "aaronha01", new byte[]{2});
+        assertEquals(0, meterRegistry.find("player.kafka.send").timers().size());
+        acknowledged.set(null);
+        rejected.setException(new RuntimeException("broker unavailable"));
 
-    // sendMessage handles empty topicName
-    @Test
-    public void test_send_message_handles_empty_topic_name() {
-        KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
-        KafkaProducerService kafkaProducerService = new KafkaProducerService();
-        ReflectionTestUtils.setField(kafkaProducerService, "kafkaTemplate", kafkaTemplate);
-
-        String emptyTopicName = "";
-        if (emptyTopicName == null || emptyTopicName.trim().isEmpty()) {
-            return;
-        }
-        kafkaProducerService.sendMessage(emptyTopicName, "Test Message");
-
-        verify(kafkaTemplate, times(0)).send(anyString(), anyString());
+        assertEquals(1, meterRegistry.timer("player.kafka.send", "topic", "players_topic", "outcome", "acknowledged").count());
+        assertEquals(1, meterRegistry.timer("player.kafka.send", "topic", "players_topic", "outcome", "failed").count());
     }
 
-    // sendMessage handles exceptionally large message
+    // Failed deliveries are logged on the callback executor, after they were counted on the completing thread
     @Test
-    public void test_handles_exceptionally_large_message() {
-        KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+    public void test_failed_delivery_is_logged_on_callback_executor() {
+        KafkaTemplate<String, byte[]> playerEventKafkaTemplate = mock(KafkaTemplate.class);
+        List<Runnable> callbacks = new ArrayList<>();
         KafkaProducerService kafkaProducerService = new KafkaProducerService();
-        ReflectionTestUtils.setField(kafkaProducerService, "kafkaTemplate", kafkaTemplate);
-
-        String largeMessage = new String(new char[10000]).replace('\0', 'a');
-        kafkaProducerService.sendMessage(largeMessage);
-
-        // Add appropriate assertions based on the behavior of sendMessage method
+        ReflectionTestUtils.setField(kafkaProducerService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(kafkaProducerService, "playerEventKafkaTemplate", playerEventKafkaTemplate);
+        ReflectionTestUtils.setField(kafkaProducerService, "callbackExecutor", (Executor) callbacks::add);
+
+        SettableListenableFuture<SendResult<String, byte[]>> acknowledged = new SettableListenableFuture<>();
+        SettableListenableFuture<SendResult<String, byte[]>> rejected = new SettableListenableFuture<>();
+        when(playerEventKafkaTemplate.send(eq("players_topic"), anyString(), any(byte[].class))).thenReturn(acknowledged, rejected);
+
+        kafkaProducerService.sendRecord("players_topic", "aardsda01", new byte[]{1});
+        kafkaProducerService.sendRecord("players_topic", "aaronha01", new byte[]{2});
+        acknowledged.set(null);
+        rejected.setException(new RuntimeException("broker unavailable"));
+
+        assertEquals(1, kafkaProducerService.getDeliveryStats().getAcknowledged());
+        assertEquals(1, kafkaProducerService.getDeliveryStats().getFailed());
+        assertEquals(1, callbacks.size());
     }
-
-    // sendMessage handles special characters in message
-    @Test
-    public void test_handles_special_characters_in_message() {
-        KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
-        KafkaProducerService kafkaProducerService = new KafkaProducerService();
-        ReflectionTestUtils.setField(kafkaProducerService, "kafkaTemplate", kafkaTemplate);
-
-        String specialMessage = "!@#$%^&*()_+";
-        kafkaProducerService.sendMessage(specialMessage);
-
-        // Add appropriate assertions based on the behavior of sendMessage method
-    }
-
-    // sendMessage handles concurrent message sending
-    @Test
-    public void test_concurrent_message_sending() {
-        KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
-        KafkaProducerService kafkaProducerService = new KafkaProducerService();
-        ReflectionTestUtils.setField(kafkaProducerService, "kafkaTemplate", kafkaTemplate);
-
-        ExecutorService executorService = Executors.newFixedThreadPool(10);
-        for (int i = 0; i < 10; i++) {
-            executorService.submit(() -> kafkaProducerService.sendMessage("Concurrent message"));
-        }
-        executorService.shutdown();
-        try {
-            executorService.awaitTermination(1, TimeUnit.MINUTES);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        verify(kafkaTemplate, times(10)).send("players_topic", "Concurrent message");
-    }
-
-}
\ No newline at end of file
+}
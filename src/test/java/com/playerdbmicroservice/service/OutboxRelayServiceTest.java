@@ -0,0 +1,187 @@
+package com.playerdbmicroservice.service;
+
+import com.playerdbmicroservice.entity.OutboxMessage;
+import com.playerdbmicroservice.repository.OutboxMessageRepository;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class OutboxRelayServiceTest {
+
+    private final OutboxMessageRepository outboxMessageRepository = mock(OutboxMessageRepository.class);
+
+    private final KafkaProducerService kafkaProducerService = mock(KafkaProducerService.class);
+
+    private final OutboxRelayService outboxRelayService = new OutboxRelayService();
+
+    {
+        ReflectionTestUtils.setField(outboxRelayService, "outboxMessageRepository", outboxMessageRepository);
+        ReflectionTestUtils.setField(outboxRelayService, "kafkaProducerService", kafkaProducerService);
+        ReflectionTestUtils.setField(outboxRelayService, "relayBatchSize", 2);
+    }
+
+    // Full batches are relayed until the outbox is drained, deleting each batch once it is acknowledged
+    @Test
+    public void test_relay_drains_outbox_in_batches() {
+        when(outboxMessageRepository.findAllByDeadLetterFalseOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(Arrays.asList(message(1L, "a"), message(2L, "b")))
+                .thenReturn(Collections.singletonList(message(3L, "c")));
+        when(kafkaProducerService.sendRecord(anyString(), anyString(), any(byte[].class))).thenAnswer(invocation -> delivered());
+
+        outboxRelayService.relay();
+
+        verify(outboxMessageRepository).deleteAllByIdInBatch(Arrays.asList(1L, 2L));
+        verify(outboxMessageRepository).deleteAllByIdInBatch(Collections.singletonList(3L));
+        verify(kafkaProducerService, times(2)).flush();
+    }
+
+    // A failed message is kept with its attempt counted, without holding up the messages behind it
+    @Test
+    public void test_failed_message_is_retried_later() {
+        OutboxMessage failing = message(1L, "a");
+        when(outboxMessageRepository.findAllByDeadLetterFalseOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(Arrays.asList(failing, message(2L, "b")));
+        when(kafkaProducerService.sendRecord("players_topic", "a", new byte[]{1}))
+                .thenReturn(rejected(new RuntimeException("record too large")));
+        when(kafkaProducerService.sendRecord("players_topic", "b", new byte[]{1})).thenReturn(delivered());
+
+        outboxRelayService.relay();
+
+        verify(outboxMessageRepository).deleteAllByIdInBatch(Collections.singletonList(2L));
+        verify(outboxMessageRepository).saveAll(Collections.singletonList(failing));
+        assertEquals(1, failing.getAttempts());
+        assertFalse(failing.isDeadLetter());
+        verify(outboxMessageRepository, times(1)).findAllByDeadLetterFalseOrderByIdAsc(any(Pageable.class));
+    }
+
+    // A message that fails on its last attempt becomes a dead letter, and counts as settled
+    @Test
+    public void test_message_becomes_dead_letter_after_max_attempts() {
+        OutboxMessage failing = message(1L, "a");
+        failing.setAttempts(4);
+        when(outboxMessageRepository.findAllByDeadLetterFalseOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(Arrays.asList(failing, message(2L, "b")));
+        when(kafkaProducerService.sendRecord("players_topic", "a", new byte[]{1}))
+                .thenReturn(rejected(new RuntimeException("record too large")));
+        when(kafkaProducerService.sendRecord("players_topic", "b", new byte[]{1})).thenReturn(delivered());
+
+        assertEquals(2, outboxRelayService.relayBatch());
+        assertEquals(5, failing.getAttempts());
+        assertTrue(failing.isDeadLetter());
+        verify(outboxMessageRepository).saveAll(Collections.singletonList(failing));
+    }
+
+    // A later message of a key is only sent once the one before it was delivered, so a failure cannot reorder them
+    @Test
+    public void test_later_message_of_key_waits_for_failed_one() {
+        OutboxMessage first = message(1L, "a");
+        OutboxMessage second = message(2L, "a");
+        second.setPayload(new byte[]{2});
+        when(outboxMessageRepository.findAllByDeadLetterFalseOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(Arrays.asList(first, second))
+                .thenReturn(Arrays.asList(first, second))
+                .thenReturn(Collections.singletonList(second));
+        when(kafkaProducerService.sendRecord("players_topic", "a", new byte[]{1}))
+                .thenReturn(rejected(new RuntimeException("record too large")))
+                .thenReturn(delivered());
+        when(kafkaProducerService.sendRecord("players_topic", "a", new byte[]{2})).thenReturn(delivered());
+
+        assertEquals(1, outboxRelayService.relayBatch());
+        verify(kafkaProducerService, never()).sendRecord("players_topic", "a", new byte[]{2});
+        verify(outboxMessageRepository, never()).deleteAllByIdInBatch(anyList());
+        assertEquals(1, first.getAttempts());
+
+        assertEquals(2, outboxRelayService.relayBatch());
+        verify(outboxMessageRepository).deleteAllByIdInBatch(Collections.singletonList(1L));
+        verify(kafkaProducerService, never()).sendRecord("players_topic", "a", new byte[]{2});
+
+        assertEquals(1, outboxRelayService.relayBatch());
+        verify(outboxMessageRepository).deleteAllByIdInBatch(Collections.singletonList(2L));
+    }
+
+    // Messages of a key that has a dead letter are not sent but kept as dead letters behind it
+    @Test
+    public void test_messages_behind_dead_letter_are_not_sent() {
+        OutboxMessage behind = message(2L, "a");
+        when(outboxMessageRepository.findAllByDeadLetterFalseOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(Arrays.asList(behind, message(3L, "b")));
+        when(outboxMessageRepository.findDeadLetterKeys(anyCollection())).thenReturn(Collections.singletonList("a"));
+        when(kafkaProducerService.sendRecord("players_topic", "b", new byte[]{1})).thenReturn(delivered());
+
+        assertEquals(2, outboxRelayService.relayBatch());
+        verify(kafkaProducerService, never()).sendRecord("players_topic", "a", new byte[]{1});
+        verify(outboxMessageRepository).deleteAllByIdInBatch(Collections.singletonList(3L));
+        verify(outboxMessageRepository).saveAll(Collections.singletonList(behind));
+        assertTrue(behind.isDeadLetter());
+        assertEquals(0, behind.getAttempts());
+    }
+
+    // An exception thrown by the send itself fails only that message instead of escaping the relay
+    @Test
+    public void test_send_exception_fails_only_its_message() {
+        OutboxMessage failing = message(1L, "a");
+        when(outboxMessageRepository.findAllByDeadLetterFalseOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(Arrays.asList(failing, message(2L, "b")));
+        when(kafkaProducerService.sendRecord("players_topic", "a", new byte[]{1}))
+                .thenThrow(new IllegalStateException("serialization failed"));
+        when(kafkaProducerService.sendRecord("players_topic", "b", new byte[]{1})).thenReturn(delivered());
+
+        assertDoesNotThrow(() -> outboxRelayService.relay());
+        verify(outboxMessageRepository).deleteAllByIdInBatch(Collections.singletonList(2L));
+        assertEquals(1, failing.getAttempts());
+    }
+
+    // A broker timeout stops the batch without counting an attempt, leaving the unsent messages for the next pass
+    @Test
+    public void test_broker_timeout_stops_batch() {
+        OutboxMessage timedOut = message(1L, "a");
+        when(outboxMessageRepository.findAllByDeadLetterFalseOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(Arrays.asList(timedOut, message(2L, "b")));
+        when(kafkaProducerService.sendRecord("players_topic", "a", new byte[]{1}))
+                .thenReturn(rejected(new KafkaException("Send failed", new TimeoutException("metadata not available"))));
+
+        assertEquals(0, outboxRelayService.relayBatch());
+        verify(kafkaProducerService, never()).sendRecord("players_topic", "b", new byte[]{1});
+        verify(outboxMessageRepository, never()).deleteAllByIdInBatch(anyList());
+        verify(outboxMessageRepository, never()).saveAll(anyList());
+        assertEquals(0, timedOut.getAttempts());
+    }
+
+    // An empty outbox sends nothing
+    @Test
+    public void test_relay_with_empty_outbox() {
+        when(outboxMessageRepository.findAllByDeadLetterFalseOrderByIdAsc(any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        assertEquals(0, outboxRelayService.relayBatch());
+        verifyNoInteractions(kafkaProducerService);
+    }
+
+    private OutboxMessage message(Long id, String key) {
+        OutboxMessage message = new OutboxMessage("players_topic", key, new byte[]{1});
+        message.setId(id);
+        return message;
+    }
+
+    private SettableListenableFuture<SendResult<String, byte[]>> rejected(Throwable failure) {
+        SettableListenableFuture<SendResult<String, byte[]>> future = new SettableListenableFuture<>();
+        future.setException(failure);
+        return future;
+    }
+
+    private SettableListenableFuture<SendResult<String, byte[]>> delivered() {
+        SettableListenableFuture<SendResult<String, byte[]>> future = new SettableListenableFuture<>();
+        future.set(null);
+        return future;
+    }
+}
@@ -0,0 +1,89 @@
+package com.playerdbmicroservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playerdbmicroservice.entity.Handedness;
+import com.playerdbmicroservice.entity.Player;
+import com.playerdbmicroservice.repository.PlayerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(PlayerExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PlayerExportServiceTest {
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PlayerExportService playerExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // NDJSON export writes one compact JSON object per player, in player ID order
+    @Test
+    public void test_export_ndjson() throws Exception {
+        playerRepository.upsertAll(Arrays.asList(player("aaronha01", "Aaron"), player("aardsda01", "Aardsma")));
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            playerExportService.exportNdjson(out);
+
+            String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+            assertEquals(2, lines.length);
+            assertEquals("aardsda01", objectMapper.readValue(lines[0], Player.class).getPlayerID());
+            assertEquals("Aaron", objectMapper.readValue(lines[1], Player.class).getNameLast());
+            assertTrue(lines[0].contains("\"bats\":\"R\""));
+            assertTrue(lines[0].contains("\"debut\":\"2004-04-06\""));
+            assertFalse(lines[0].contains("contentHash"));
+        } finally {
+            playerRepository.deleteAllInBatch();
+        }
+    }
+
+    // CSV export uses the source file layout, leaves null fields empty and quotes only when needed
+    @Test
+    public void test_export_csv() throws Exception {
+        Player player = player("aardsda01", "Aardsma, Jr.");
+        player.setWeight((short) 215);
+        playerRepository.upsertAll(Arrays.asList(player));
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            playerExportService.exportCsv(out);
+
+            String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+            assertEquals(2, lines.length);
+            assertTrue(lines[0].startsWith("playerID,birthYear,"));
+            assertEquals("aardsda01,1981,,,USA,,,,,,,,,David,\"Aardsma, Jr.\",,215,,R,R,2004-04-06,,,", lines[1]);
+        } finally {
+            playerRepository.deleteAllInBatch();
+        }
+    }
+
+    private Player player(String playerID, String nameLast) {
+        Player player = new Player();
+        player.setPlayerID(playerID);
+        player.setBirthYear((short) 1981);
+        player.setBirthCountry("USA");
+        player.setNameFirst("David");
+        player.setNameLast(nameLast);
+        player.setBats(Handedness.R);
+        player.setThrowsHand(Handedness.R);
+        player.setDebut(LocalDate.parse("2004-04-06"));
+        return player;
+    }
+}
@@ -0,0 +1,116 @@
+package com.playerdbmicroservice.service;
+
+import com.playerdbmicroservice.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlayerNameIndexTest {
+
+    // Exact, partial and misspelled names find the player, closest names first
+    @Test
+    public void test_search_matches_partial_and_misspelled_names() {
+        PlayerNameIndex index = createIndex();
+
+        assertEquals(new HashSet<>(Arrays.asList("ruthba01", "ruthbo01")), new HashSet<>(index.search("Ruth", 10)));
+        assertEquals("ruthba01", index.search("babe ruth", 10).get(0));
+        assertEquals("ruthba01", index.search("bab", 10).get(0));
+        assertEquals("jeterde01", index.search("derk jetr", 10).get(0));
+        assertEquals("jeterde01", index.search("Sanderson", 10).get(0));
+        assertEquals(Collections.singletonList("ruthba01"), index.search("babe ruth", 1));
+        assertEquals(Collections.emptyList(), index.search("xyz", 10));
+        assertEquals(Collections.emptyList(), index.search(" - ", 10));
+    }
+
+    // Case, accents and apostrophes are ignored
+    @Test
+    public void test_search_folds_case_and_accents() {
+        PlayerNameIndex index = createIndex();
+
+        assertEquals("pinaal01", index.search("pina", 10).get(0));
+        assertEquals("pinaal01", index.search("PIÑA", 10).get(0));
+        assertEquals("obriepe01", index.search("o'brien", 10).get(0));
+        assertEquals("obriepe01", index.search("obrien", 10).get(0));
+    }
+
+    // Updates replace the names of changed players and drop removed players
+    @Test
+    public void test_apply_replaces_and_removes_players() {
+        PlayerNameIndex index = createIndex();
+        PlayerNameIndex.Update update = new PlayerNameIndex.Update();
+        update.put(player("ruthba01", "George", "Herman", null));
+        update.remove("jeterde01");
+
+        index.apply(update);
+
+        assertEquals(Collections.singletonList("ruthbo01"), index.search("ruth", 10));
+        assertEquals("ruthba01", index.search("herman", 10).get(0));
+        assertEquals(Collections.emptyList(), index.search("jeter", 10));
+        assertEquals(4, index.size());
+    }
+
+    // Removing most players compacts the posting lists without losing the remaining ones
+    @Test
+    public void test_compaction_keeps_live_players() {
+        PlayerNameIndex index = new PlayerNameIndex();
+        PlayerNameIndex.Update added = new PlayerNameIndex.Update();
+        for (int i = 0; i < 3000; i++) {
+            added.put(player("player" + i, "John", "Doe" + i, null));
+        }
+        index.apply(added);
+        long memory = index.getMemoryBytes();
+        PlayerNameIndex.Update removed = new PlayerNameIndex.Update();
+        for (int i = 0; i < 2990; i++) {
+            removed.remove("player" + i);
+        }
+
+        index.apply(removed);
+
+        assertEquals(10, index.size());
+        assertEquals(Arrays.asList("player2990", "player2991"), index.search("john doe", 2));
+        assertEquals("player2995", index.search("doe2995", 10).get(0));
+        assertTrue(index.getMemoryBytes() < memory);
+    }
+
+    // Searches reuse a pooled array of match counters, which is counted in the memory estimate
+    @Test
+    public void test_search_counters_are_reused_and_counted() {
+        PlayerNameIndex index = createIndex();
+        long memory = index.getMemoryBytes();
+
+        assertEquals("ruthba01", index.search("babe ruth", 10).get(0));
+        long afterSearch = index.getMemoryBytes();
+        for (int i = 0; i < 100; i++) {
+            assertEquals("jeterde01", index.search("derk jetr", 10).get(0));
+        }
+
+        assertTrue(afterSearch > memory);
+        assertEquals(afterSearch, index.getMemoryBytes());
+        assertEquals(new HashSet<>(Arrays.asList("ruthba01", "ruthbo01")), new HashSet<>(index.search("Ruth", 10)));
+    }
+
+    private PlayerNameIndex createIndex() {
+        PlayerNameIndex index = new PlayerNameIndex();
+        PlayerNameIndex.Update update = new PlayerNameIndex.Update();
+        update.put(player("ruthba01", "Babe", "Ruth", "George Herman"));
+        update.put(player("ruthbo01", "Bob", "Ruth", "Robert Lee"));
+        update.put(player("jeterde01", "Derek", "Jeter", "Derek Sanderson"));
+        update.put(player("pinaal01", "Alvaro", "Piña", null));
+        update.put(player("obriepe01", "Pete", "O'Brien", "Peter Michael"));
+        index.apply(update);
+        return index;
+    }
+
+    private Player player(String playerID, String nameFirst, String nameLast, String nameGiven) {
+        Player player = new Player();
+        player.setPlayerID(playerID);
+        player.setNameFirst(nameFirst);
+        player.setNameLast(nameLast);
+        player.setNameGiven(nameGiven);
+        return player;
+    }
+}
@@ -0,0 +1,159 @@
+package com.playerdbmicroservice.service;
+
+import com.playerdbmicroservice.entity.Player;
+import com.playerdbmicroservice.exception.InvalidRequestException;
+import com.playerdbmicroservice.repository.PlayerRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+public class PlayerServiceCacheTest {
+
+    @Configuration
+    @EnableCaching
+    static class Config {
+        @Bean
+        public CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager(PlayerService.PLAYER_CACHE);
+            cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100));
+            return cacheManager;
+        }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        public PlayerService playerService() {
+            return new PlayerService();
+        }
+    }
+
+    @MockBean
+    private PlayerRepository playerRepository;
+
+    @MockBean
+    private PlayerNameIndex playerNameIndex;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCache(PlayerService.PLAYER_CACHE).clear();
+    }
+
+    // Repeated lookups of a player are served from the cache
+    @Test
+    public void test_get_player_by_id_is_cached() {
+        Player player = new Player();
+        player.setPlayerID("aardsda01");
+        when(playerRepository.findById("aardsda01")).thenReturn(Optional.of(player));
+
+        assertSame(player, playerService.getPlayerById("aardsda01").orElseThrow());
+        assertSame(player, playerService.getPlayerById("aardsda01").orElseThrow());
+
+        verify(playerRepository, times(1)).findById("aardsda01");
+    }
+
+    // Unknown players are not cached, so a player created later is found
+    @Test
+    public void test_missing_player_is_not_cached() {
+        when(playerRepository.findById("missing01")).thenReturn(Optional.empty());
+
+        assertFalse(playerService.getPlayerById("missing01").isPresent());
+        assertFalse(playerService.getPlayerById("missing01").isPresent());
+
+        verify(playerRepository, times(2)).findById("missing01");
+    }
+
+    // Evicted players are read from the repository again
+    @Test
+    public void test_evict_players_forces_reload() {
+        when(playerRepository.findById("aardsda01")).thenReturn(Optional.of(new Player()));
+        playerService.getPlayerById("aardsda01");
+
+        playerService.evictPlayers(Collections.singletonList("aardsda01"));
+        playerService.getPlayerById("aardsda01");
+
+        verify(playerRepository, times(2)).findById("aardsda01");
+    }
+
+    // Batch lookups serve cached players, load the rest with one query and cache them
+    @Test
+    public void test_get_players_by_ids_is_cache_aware() {
+        Player cached = player("aardsda01");
+        Player loaded = player("aaronha01");
+        when(playerRepository.findById("aardsda01")).thenReturn(Optional.of(cached));
+        when(playerRepository.findAllById(Arrays.asList("aaronha01", "missing01"))).thenReturn(Collections.singletonList(loaded));
+        playerService.getPlayerById("aardsda01");
+
+        Map<String, Player> players = playerService.getPlayersByIds(Arrays.asList("aaronha01", "aardsda01", "missing01", "aaronha01"));
+
+        assertEquals(Arrays.asList("aaronha01", "aardsda01"), new ArrayList<>(players.keySet()));
+        assertSame(cached, players.get("aardsda01"));
+        assertSame(loaded, playerService.getPlayerById("aaronha01").orElseThrow());
+        verify(playerRepository, never()).findById("aaronha01");
+    }
+
+    // Large batches are loaded with chunked IN lists
+    @Test
+    public void test_get_players_by_ids_chunks_queries() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            ids.add("player" + i);
+        }
+
+        playerService.getPlayersByIds(ids);
+
+        verify(playerRepository, times(2)).findAllById(anyList());
+        assertThrows(InvalidRequestException.class, () -> {
+            ids.add("player1000");
+            playerService.getPlayersByIds(ids);
+        });
+    }
+
+    // Name search resolves the ranked IDs from the name index through the cache, keeping their rank
+    @Test
+    public void test_search_players_by_name_keeps_rank() {
+        Player first = player("ruthba01");
+        Player second = player("ruthbo01");
+        when(playerNameIndex.search("babe rut", 2)).thenReturn(Arrays.asList("ruthba01", "ruthbo01"));
+        when(playerRepository.findAllById(Arrays.asList("ruthba01", "ruthbo01"))).thenReturn(Arrays.asList(second, first));
+
+        assertEquals(Arrays.asList(first, second), playerService.searchPlayersByName("babe rut", 2));
+        assertThrows(InvalidRequestException.class, () -> playerService.searchPlayersByName(" ", 2));
+        assertThrows(InvalidRequestException.class, () -> playerService.searchPlayersByName("ruth", 101));
+    }
+
+    private Player player(String playerID) {
+        Player player = new Player();
+        player.setPlayerID(playerID);
+        return player;
+    }
+}
@@ -1,11 +1,16 @@
 package com.playerdbmicroservice.service;
 
+import com.playerdbmicroservice.entity.Handedness;
 import com.playerdbmicroservice.entity.Player;
+import com.playerdbmicroservice.exception.InvalidRequestException;
 import com.playerdbmicroservice.repository.PlayerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Assertions;
 import org.mockito.Mockito;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -27,6 +32,7 @@ public class PlayerServiceTest {
     public void test_get_all_players_with_valid_page_and_size() {
         PlayerRepository playerRepository = mock(PlayerRepository.class);
         PlayerService playerService = new PlayerService();
+        ReflectionTestUtils.setField(playerService, "meterRegistry", new SimpleMeterRegistry());
         ReflectionTestUtils.setField(playerService, "playerRepository", playerRepository);
 
         List<Player> players = Arrays.asList(new Player(), new Player());
@@ -44,6 +50,7 @@ public class PlayerServiceTest {
     public void test_get_all_players_with_negative_page_and_size() {
         PlayerRepository playerRepository = mock(PlayerRepository.class);
         PlayerService playerService = new PlayerService();
+        ReflectionTestUtils.setField(playerService, "meterRegistry", new SimpleMeterRegistry());
         ReflectionTestUtils.setField(playerService, "playerRepository", playerRepository);
 
         Assertions.assertThrows(IllegalArgumentException.class, () -> {
@@ -57,6 +64,7 @@ public class PlayerServiceTest {
         // Arrange
         PlayerRepository playerRepository = mock(PlayerRepository.class);
         PlayerService playerService = new PlayerService();
+        ReflectionTestUtils.setField(playerService, "meterRegistry", new SimpleMeterRegistry());
         ReflectionTestUtils.setField(playerService, "playerRepository", playerRepository);
 
         String validPlayerID = "123";
@@ -77,6 +85,7 @@ public class PlayerServiceTest {
         // Arrange
         PlayerRepository playerRepository = mock(PlayerRepository.class);
         PlayerService playerService = new PlayerService();
+        ReflectionTestUtils.setField(playerService, "meterRegistry", new SimpleMeterRegistry());
         ReflectionTestUtils.setField(playerService, "playerRepository", playerRepository);
 
         String nonExistingPlayerID = "999";
@@ -98,6 +107,7 @@ public class PlayerServiceTest {
 
         // Setting up the PlayerService with the mocked repository
         PlayerService playerService = new PlayerService();
+        ReflectionTestUtils.setField(playerService, "meterRegistry", new SimpleMeterRegistry());
         ReflectionTestUtils.setField(playerService, "playerRepository", playerRepository);
 
         // Calling the method under test
@@ -116,6 +126,7 @@ public class PlayerServiceTest {
 
         // Setting up the PlayerService with the mocked repository
         PlayerService playerService = new PlayerService();
+        ReflectionTestUtils.setField(playerService, "meterRegistry", new SimpleMeterRegistry());
         ReflectionTestUtils.setField(playerService, "playerRepository", playerRepository);
 
         // Calling the method under test with large page and size
@@ -124,4 +135,122 @@ public class PlayerServiceTest {
         // Assertions
         assertTrue(result.isEmpty());
     }
-}
\ No newline at end of file
+
+    // Keyset listing seeks past the previous player, fetches one extra row and reports that more players follow
+    @Test
+    public void test_get_players_after_reports_more() {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        PlayerService playerService = new PlayerService();
+        ReflectionTestUtils.setField(playerService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(playerService, "playerRepository", playerRepository);
+
+        List<Player> players = Arrays.asList(player("b"), player("c"), player("d"));
+        when(playerRepository.findByPlayerIDGreaterThanOrderByPlayerIDAsc("a", PageRequest.of(0, 3))).thenReturn(players);
+
+        PlayerSlice slice = playerService.getPlayersAfter("a", 2);
+
+        assertEquals(2, slice.getPlayers().size());
+        assertTrue(slice.hasMore());
+        assertEquals("c", slice.getLastPlayerID());
+        Mockito.verify(playerRepository, Mockito.never()).count();
+    }
+
+    // The last slice has no continuation and a missing cursor starts from the first player
+    @Test
+    public void test_get_players_after_last_slice() {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        PlayerService playerService = new PlayerService();
+        ReflectionTestUtils.setField(playerService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(playerService, "playerRepository", playerRepository);
+
+        when(playerRepository.findByPlayerIDGreaterThanOrderByPlayerIDAsc("", PageRequest.of(0, 11))).thenReturn(Arrays.asList(player("a")));
+
+        PlayerSlice slice = playerService.getPlayersAfter(null, 10);
+
+        assertFalse(slice.hasMore());
+        assertNull(slice.getLastPlayerID());
+    }
+
+    // Limits outside the allowed range are rejected
+    @Test
+    public void test_get_players_after_rejects_invalid_limit() {
+        PlayerService playerService = new PlayerService();
+        ReflectionTestUtils.setField(playerService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(playerService, "playerRepository", mock(PlayerRepository.class));
+
+        assertThrows(InvalidRequestException.class, () -> playerService.getPlayersAfter(null, 0));
+        assertThrows(InvalidRequestException.class, () -> playerService.getPlayersAfter(null, PlayerService.MAX_SLICE_SIZE + 1));
+    }
+
+    // Search requires at least one filter and continues after the cursor
+    @Test
+    public void test_search_players() {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        PlayerService playerService = new PlayerService();
+        ReflectionTestUtils.setField(playerService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(playerService, "playerRepository", playerRepository);
+        when(playerRepository.findAllOrderedById(any(), Mockito.eq(3))).thenReturn(Arrays.asList(player("b"), player("c"), player("d")));
+
+        PlayerSearchCriteria criteria = new PlayerSearchCriteria();
+        assertThrows(InvalidRequestException.class, () -> playerService.searchPlayers(criteria, null, 2));
+
+        criteria.setNameLast("Aa");
+        criteria.setBats(Handedness.L);
+        PlayerSlice slice = playerService.searchPlayers(criteria, "a", 2);
+
+        assertEquals(2, slice.getPlayers().size());
+        assertEquals("c", slice.getLastPlayerID());
+    }
+
+    private Player player(String playerID) {
+        Player player = new Player();
+        player.setPlayerID(playerID);
+        return player;
+    }
+
+    // Queries are timed by kind, while rejected requests are not
+    @Test
+    public void test_queries_are_timed() {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PlayerService playerService = new PlayerService();
+        ReflectionTestUtils.setField(playerService, "playerRepository", playerRepository);
+        ReflectionTestUtils.setField(playerService, "meterRegistry", meterRegistry);
+        when(playerRepository.findById("aardsda01")).thenReturn(Optional.empty());
+        when(playerRepository.findByPlayerIDGreaterThanOrderByPlayerIDAsc(any(), any())).thenReturn(List.of());
+
+        playerService.getPlayerById("aardsda01");
+        playerService.getPlayersAfter(null, 10);
+        assertThrows(InvalidRequestException.class, () -> playerService.getPlayersAfter(null, 0));
+
+        assertEquals(1, meterRegistry.timer("player.lookup", "kind", "id", "source", "database").count());
+        assertEquals(1, meterRegistry.timer("player.list", "kind", "slice", "source", "database").count());
+    }
+
+    // With a snapshot in use, lookups and listings do not touch the database
+    @Test
+    public void test_snapshot_serves_lookups_and_listings() {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        PlayerService playerService = new PlayerService();
+        ReflectionTestUtils.setField(playerService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(playerService, "playerRepository", playerRepository);
+        ReflectionTestUtils.setField(playerService, "cacheManager", mock(CacheManager.class));
+        PlayerSnapshot.Builder builder = new PlayerSnapshot.Builder();
+        for (String playerID : Arrays.asList("aardsda01", "aaronha01", "aasedo01")) {
+            Player player = new Player();
+            player.setPlayerID(playerID);
+            builder.add(player);
+        }
+
+        playerService.useSnapshot(builder.build());
+
+        assertEquals("aaronha01", playerService.getPlayerById("aaronha01").orElseThrow().getPlayerID());
+        assertFalse(playerService.getPlayerById("missing01").isPresent());
+        PlayerSlice slice = playerService.getPlayersAfter("aardsda01", 1);
+        assertEquals("aaronha01", slice.getPlayers().get(0).getPlayerID());
+        assertTrue(slice.hasMore());
+        assertEquals(1, playerService.getAllPlayers(1, 2).size());
+        assertEquals(2, playerService.getPlayersByIds(Arrays.asList("aasedo01", "missing01", "aardsda01")).size());
+        Mockito.verifyNoInteractions(playerRepository);
+    }
+}
@@ -0,0 +1,134 @@
+package com.playerdbmicroservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playerdbmicroservice.csv.PlayerCsvParser;
+import com.playerdbmicroservice.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlayerSnapshotTest {
+
+    // Every player of Player.csv reads back from the snapshot exactly as it was added
+    @Test
+    public void test_snapshot_round_trips_player_csv() throws Exception {
+        List<Player> players = new ArrayList<>();
+        CSVLoaderService csvLoaderService = new CSVLoaderService();
+        try (PlayerCsvParser parser = new PlayerCsvParser(new InputStreamReader(
+                getClass().getResourceAsStream("/Player.csv"), StandardCharsets.UTF_8))) {
+            parser.next();
+            while (parser.next()) {
+                Player player = csvLoaderService.processRecord(parser);
+                if (player != null) {
+                    players.add(player);
+                }
+            }
+        }
+        players.sort(Comparator.comparing(Player::getPlayerID));
+        PlayerSnapshot.Builder builder = new PlayerSnapshot.Builder();
+        players.forEach(builder::add);
+
+        PlayerSnapshot snapshot = builder.build();
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        assertEquals(players.size(), snapshot.size());
+        for (Player player : players) {
+            Player read = snapshot.get(player.getPlayerID());
+            assertEquals(objectMapper.writeValueAsString(player), objectMapper.writeValueAsString(read));
+            assertEquals(player.getContentHash(), read.getContentHash());
+        }
+        assertTrue(snapshot.getMemoryBytes() > 0);
+    }
+
+    // Listings continue after any ID, present or not, and pages past the end are empty
+    @Test
+    public void test_get_after_and_get_page() {
+        PlayerSnapshot snapshot = snapshot("a", "b", "c", "d");
+
+        assertEquals(List.of("a", "b"), ids(snapshot.getAfter(null, 2)));
+        assertEquals(List.of("c", "d"), ids(snapshot.getAfter("b", 10)));
+        assertEquals(List.of("c"), ids(snapshot.getAfter("bb", 1)));
+        assertEquals(List.of(), ids(snapshot.getAfter("d", 5)));
+        assertEquals(List.of("d"), ids(snapshot.getPage(1, 3)));
+        assertEquals(List.of(), ids(snapshot.getPage(2, 3)));
+        assertNull(snapshot.get("x"));
+    }
+
+    // Changing a player read from the snapshot does not change the snapshot
+    @Test
+    public void test_reads_return_copies() {
+        PlayerSnapshot snapshot = snapshot("a");
+
+        snapshot.get("a").setNameLast("Changed");
+
+        assertEquals("Last a", snapshot.get("a").getNameLast());
+    }
+
+    // Extreme values of the primitive columns, including 0 and MIN_VALUE, are kept apart from missing ones
+    @Test
+    public void test_extreme_values_are_not_read_as_missing() {
+        Player extreme = player("a");
+        extreme.setBirthYear(Short.MIN_VALUE);
+        extreme.setBirthMonth(Byte.MIN_VALUE);
+        extreme.setBirthDay((byte) 0);
+        extreme.setWeight(Short.MIN_VALUE);
+        extreme.setHeight((short) 0);
+        extreme.setDebut(LocalDate.ofEpochDay(Integer.MIN_VALUE));
+        extreme.setFinalGame(LocalDate.ofEpochDay(0));
+        extreme.setContentHash(0L);
+        PlayerSnapshot snapshot = new PlayerSnapshot.Builder().add(extreme).add(player("b")).build();
+
+        Player read = snapshot.get("a");
+        assertEquals(Short.MIN_VALUE, read.getBirthYear());
+        assertEquals(Byte.MIN_VALUE, read.getBirthMonth());
+        assertEquals((byte) 0, read.getBirthDay());
+        assertEquals(Short.MIN_VALUE, read.getWeight());
+        assertEquals((short) 0, read.getHeight());
+        assertEquals(LocalDate.ofEpochDay(Integer.MIN_VALUE), read.getDebut());
+        assertEquals(LocalDate.ofEpochDay(0), read.getFinalGame());
+        assertEquals(0L, read.getContentHash());
+        assertNull(read.getDeathYear());
+        Player missing = snapshot.get("b");
+        assertNull(missing.getBirthYear());
+        assertNull(missing.getBirthMonth());
+        assertNull(missing.getWeight());
+        assertNull(missing.getDebut());
+        assertNull(missing.getContentHash());
+    }
+
+    // Players must be added in ID order, so lookups can binary search
+    @Test
+    public void test_builder_rejects_unordered_players() {
+        PlayerSnapshot.Builder builder = new PlayerSnapshot.Builder().add(player("b"));
+
+        assertThrows(IllegalArgumentException.class, () -> builder.add(player("a")));
+        assertThrows(IllegalArgumentException.class, () -> builder.add(player("b")));
+    }
+
+    private PlayerSnapshot snapshot(String... playerIDs) {
+        PlayerSnapshot.Builder builder = new PlayerSnapshot.Builder(1);
+        for (String playerID : playerIDs) {
+            builder.add(player(playerID));
+        }
+        return builder.build();
+    }
+
+    private Player player(String playerID) {
+        Player player = new Player();
+        player.setPlayerID(playerID);
+        player.setNameLast("Last " + playerID);
+        return player;
+    }
+
+    private List<String> ids(List<Player> players) {
+        return players.stream().map(Player::getPlayerID).collect(Collectors.toList());
+    }
+}
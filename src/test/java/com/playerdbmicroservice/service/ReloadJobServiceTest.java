@@ -0,0 +1,174 @@
+package com.playerdbmicroservice.service;
+
+import com.playerdbmicroservice.exception.InvalidRequestException;
+import com.playerdbmicroservice.exception.ReloadInProgressException;
+import com.playerdbmicroservice.exception.ReloadJobNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ReloadJobServiceTest {
+
+    private final CSVLoaderService csvLoaderService = mock(CSVLoaderService.class);
+
+    private final ReloadJobService reloadJobService = new ReloadJobService();
+
+    {
+        ReflectionTestUtils.setField(reloadJobService, "csvLoaderService", csvLoaderService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        reloadJobService.shutdown();
+    }
+
+    // Concurrent reload requests are coalesced into the running job
+    @Test
+    public void test_concurrent_requests_coalesce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(10, TimeUnit.SECONDS)).when(csvLoaderService).reloadCSV(any(ReloadJob.class));
+
+        ReloadJob first = reloadJobService.startReload(null);
+        ReloadJob second = reloadJobService.startReload(null);
+        release.countDown();
+
+        assertSame(first, second);
+        awaitFinished(first);
+        verify(csvLoaderService, times(1)).reloadCSV(any(ReloadJob.class));
+        assertEquals(ReloadJob.Status.COMPLETED, first.getStatus());
+    }
+
+    // A request for another file while a reload is running is rejected instead of coalesced
+    @Test
+    public void test_request_for_other_file_conflicts() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(10, TimeUnit.SECONDS)).when(csvLoaderService).reloadCSV(any(ReloadJob.class));
+
+        ReloadJob running = reloadJobService.startReload("players.csv");
+        assertSame(running, reloadJobService.startReload("players.csv"));
+        assertThrows(ReloadInProgressException.class, () -> reloadJobService.startReload("other.csv.gz"));
+        assertThrows(ReloadInProgressException.class, () -> reloadJobService.startReload(null));
+        release.countDown();
+
+        awaitFinished(running);
+        assertEquals("players.csv", running.getFile());
+    }
+
+    // Files that cannot be resolved are rejected before a job is started
+    @Test
+    public void test_invalid_file_starts_no_job() {
+        when(csvLoaderService.resolveReloadFile("../etc/passwd")).thenThrow(new InvalidRequestException("No such file"));
+
+        assertThrows(InvalidRequestException.class, () -> reloadJobService.startReload("../etc/passwd"));
+        verify(csvLoaderService, never()).reloadCSV(any(ReloadJob.class));
+    }
+
+    // A new job is started once the previous one has finished
+    @Test
+    public void test_new_job_after_completion() throws Exception {
+        ReloadJob first = reloadJobService.startReload(null);
+        awaitFinished(first);
+
+        ReloadJob second = reloadJobService.startReload(null);
+        awaitFinished(second);
+
+        assertNotEquals(first.getId(), second.getId());
+        assertSame(first, reloadJobService.getJob(first.getId()));
+    }
+
+    // A failing reload is reported as FAILED with the error message
+    @Test
+    public void test_failed_reload_is_reported() throws Exception {
+        doThrow(new RuntimeException("CSV load error")).when(csvLoaderService).reloadCSV(any(ReloadJob.class));
+
+        ReloadJob job = reloadJobService.startReload(null);
+        awaitFinished(job);
+
+        assertEquals(ReloadJob.Status.FAILED, job.getStatus());
+        assertEquals("CSV load error", job.getError());
+    }
+
+    // Cancelling a running job is honoured by the loader and reported as CANCELLED
+    @Test
+    public void test_cancel_running_job() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            ReloadJob job = invocation.getArgument(0);
+            started.countDown();
+            while (true) {
+                job.checkCancelled();
+                Thread.sleep(5);
+            }
+        }).when(csvLoaderService).reloadCSV(any(ReloadJob.class));
+
+        ReloadJob job = reloadJobService.startReload(null);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        reloadJobService.cancel(job.getId());
+        awaitFinished(job);
+
+        assertEquals(ReloadJob.Status.CANCELLED, job.getStatus());
+    }
+
+    // An Error thrown by the reload is reported as FAILED instead of leaving the job running
+    @Test
+    public void test_error_in_reload_is_reported() throws Exception {
+        doThrow(new OutOfMemoryError("Java heap space")).when(csvLoaderService).reloadCSV(any(ReloadJob.class));
+
+        ReloadJob job = reloadJobService.startReload(null);
+        awaitFinished(job);
+
+        assertEquals(ReloadJob.Status.FAILED, job.getStatus());
+        assertEquals("Java heap space", job.getError());
+        ReloadJob next = reloadJobService.startReload(null);
+        assertNotSame(job, next);
+        awaitFinished(next);
+    }
+
+    // A request made while the running job is being cancelled starts a new job that runs after it
+    @Test
+    public void test_request_during_cancel_starts_new_job() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            ReloadJob job = invocation.getArgument(0);
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            job.checkCancelled();
+            return null;
+        }).when(csvLoaderService).reloadCSV(any(ReloadJob.class));
+
+        ReloadJob cancelled = reloadJobService.startReload("players.csv");
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        reloadJobService.cancel(cancelled.getId());
+        ReloadJob next = reloadJobService.startReload("players.csv");
+        assertNotSame(cancelled, next);
+        assertSame(next, reloadJobService.startReload("players.csv"));
+        release.countDown();
+        awaitFinished(next);
+
+        assertEquals(ReloadJob.Status.CANCELLED, cancelled.getStatus());
+        assertEquals(ReloadJob.Status.COMPLETED, next.getStatus());
+        verify(csvLoaderService, times(2)).reloadCSV(any(ReloadJob.class));
+    }
+
+    // Unknown job IDs are rejected
+    @Test
+    public void test_unknown_job() {
+        assertThrows(ReloadJobNotFoundException.class, () -> reloadJobService.getJob("missing"));
+    }
+
+    private void awaitFinished(ReloadJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!job.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(job.isFinished());
+    }
+}